@@ -0,0 +1,160 @@
+package co.edu.icesi.planeacionpostgrados.config;
+
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.enums.UserChangeType;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeEvent;
+import co.edu.icesi.planeacionpostgrados.event.UserInvalidationEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Short-lived, bounded cache of successful HTTP Basic authentications.
+ *
+ * Entries are keyed by an HMAC-SHA256 of the credentials under a random per-process key,
+ * so neither the password nor an offline-guessable hash of it is ever kept in memory.
+ * The cached Authentication has its credentials erased.
+ *
+ * Entries expire after a fixed TTL and the oldest entries are evicted beyond the size limit.
+ * Each entry keeps its principal name, so a user updated or deleted on this instance only
+ * drops the logins under its old and new document IDs. Invalidations from other instances
+ * carry user IDs and no names; they still drop every entry.
+ *
+ * Lookups do not lock: the entries live in a ConcurrentHashMap, and a queue of keys in
+ * insertion order decides which entries go once the limit is exceeded.
+ */
+@Component
+@Slf4j
+public class AuthenticationResultCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final SecretKeySpec hmacKey;
+    private final ThreadLocal<Mac> macs;
+    private final ConcurrentHashMap<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<ByteBuffer> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    public AuthenticationResultCache(@Value("${security.auth-cache.enabled:true}") boolean enabled,
+                                     @Value("${security.auth-cache.ttl-seconds:30}") long ttlSeconds,
+                                     @Value("${security.auth-cache.max-entries:10000}") int maxEntries) {
+        this.enabled = enabled;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxEntries = maxEntries;
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.hmacKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * @return The cached authentication for these credentials, or null if there is none or it expired
+     */
+    public Authentication get(String username, String password) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(keyFor(username, password));
+        // An expired entry stays until the next successful login replaces it or it is evicted
+        if (entry == null || System.nanoTime() - entry.createdAtNanos() > ttlNanos) {
+            return null;
+        }
+        return entry.authentication();
+    }
+
+    public void put(String username, String password, Authentication authentication) {
+        if (!enabled) {
+            return;
+        }
+        ByteBuffer key = keyFor(username, password);
+        if (entries.put(key, new Entry(username, authentication, System.nanoTime())) != null) {
+            return;
+        }
+        insertionOrder.add(key);
+        while (entries.size() > maxEntries) {
+            ByteBuffer oldest = insertionOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            entries.remove(oldest);
+        }
+    }
+
+    /**
+     * Drops every cached login of a principal, e.g. after its password changed.
+     */
+    public void evictUser(String username) {
+        if (entries.values().removeIf(entry -> entry.username().equals(username))) {
+            insertionOrder.removeIf(key -> !entries.containsKey(key));
+        }
+    }
+
+    public void evictAll() {
+        entries.clear();
+        insertionOrder.clear();
+    }
+
+    /**
+     * Users sign in with their document ID; both the old and the new one are dropped.
+     */
+    @TransactionalEventListener
+    public void onUserChange(UserChangeEvent event) {
+        if (event.type() == UserChangeType.CREATED) {
+            return;
+        }
+        evictPrincipalOf(event.before());
+        evictPrincipalOf(event.after());
+    }
+
+    /**
+     * Changes committed on other instances.
+     */
+    @EventListener
+    public void onUserInvalidation(UserInvalidationEvent event) {
+        evictAll();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictPrincipalOf(UserDTO user) {
+        if (user != null && user.documentId() != null) {
+            evictUser(user.documentId());
+        }
+    }
+
+    private ByteBuffer keyFor(String username, String password) {
+        Mac mac = macs.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return ByteBuffer.wrap(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private record Entry(String username, Authentication authentication, long createdAtNanos) {
+    }
+}
@@ -0,0 +1,51 @@
+package co.edu.icesi.planeacionpostgrados.config;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.CredentialsContainer;
+
+/**
+ * Authentication provider that answers repeated logins with the same credentials from
+ * AuthenticationResultCache, so the user lookup and password hash check only run on a miss.
+ * Failed authentications are never cached, and successful ones are cached with their
+ * credentials erased.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final AuthenticationResultCache cache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, AuthenticationResultCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (username == null || !(credentials instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        Authentication cached = cache.get(username, password);
+        if (cached != null) {
+            return cached;
+        }
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            if (result instanceof CredentialsContainer container) {
+                container.eraseCredentials();
+            }
+            cache.put(username, password, result);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+}
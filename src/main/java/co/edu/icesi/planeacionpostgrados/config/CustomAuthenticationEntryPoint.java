@@ -4,6 +4,7 @@ import co.edu.icesi.planeacionpostgrados.dto.RestResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -18,10 +19,12 @@ import java.io.IOException;
  * for non-existent endpoints to avoid revealing endpoint existence.
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // The application mapper, so the error envelope goes through the same serializers as MVC
+    private final ObjectMapper objectMapper;
 
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response,
@@ -39,7 +42,6 @@ public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         response.setCharacterEncoding("UTF-8");
         
-        String jsonResponse = objectMapper.writeValueAsString(errorResponse);
-        response.getWriter().write(jsonResponse);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package co.edu.icesi.planeacionpostgrados.config;
+
+import co.edu.icesi.planeacionpostgrados.event.InvalidationTransport;
+import co.edu.icesi.planeacionpostgrados.event.PostgresInvalidationTransport;
+import co.edu.icesi.planeacionpostgrados.event.TcpInvalidationTransport;
+import co.edu.icesi.planeacionpostgrados.event.UdpInvalidationTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Transport of the cross-instance user invalidation bus, chosen with
+ * user.invalidation.transport (none, tcp, udp or postgres).
+ */
+@Configuration
+public class InvalidationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "user.invalidation.transport", havingValue = "tcp")
+    public InvalidationTransport tcpInvalidationTransport(@Value("${user.invalidation.bind-address:127.0.0.1}") String bindAddress,
+                                                          @Value("${user.invalidation.port:7600}") int port,
+                                                          @Value("${user.invalidation.peers:}") String peers,
+                                                          @Value("${user.invalidation.connect-timeout-ms:500}") int connectTimeoutMs,
+                                                          @Value("${user.invalidation.retry-delay-ms:1000}") long retryDelayMs,
+                                                          @Value("${user.invalidation.peer-queue-size:1024}") int peerQueueSize) throws UnknownHostException {
+        return new TcpInvalidationTransport(InetAddress.getByName(bindAddress), port, parsePeers(peers),
+                connectTimeoutMs, retryDelayMs, peerQueueSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "user.invalidation.transport", havingValue = "udp")
+    public InvalidationTransport udpInvalidationTransport(@Value("${user.invalidation.bind-address:127.0.0.1}") String bindAddress,
+                                                          @Value("${user.invalidation.port:7600}") int port,
+                                                          @Value("${user.invalidation.peers:}") String peers) throws UnknownHostException {
+        return new UdpInvalidationTransport(InetAddress.getByName(bindAddress), port, parsePeers(peers));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "user.invalidation.transport", havingValue = "postgres")
+    public InvalidationTransport postgresInvalidationTransport(DataSource dataSource,
+                                                               @Value("${user.invalidation.postgres-channel:user_invalidation}") String channel,
+                                                               @Value("${user.invalidation.poll-timeout-ms:500}") int pollTimeoutMs) {
+        return new PostgresInvalidationTransport(dataSource, channel, pollTimeoutMs);
+    }
+
+    /**
+     * Parses a comma-separated list of host:port pairs.
+     */
+    static List<InetSocketAddress> parsePeers(String peers) {
+        return Arrays.stream(peers.split(","))
+                .map(String::trim)
+                .filter(peer -> !peer.isEmpty())
+                .map(peer -> {
+                    int colon = peer.lastIndexOf(':');
+                    if (colon <= 0) {
+                        throw new IllegalArgumentException("Invalid invalidation peer, expected host:port: " + peer);
+                    }
+                    return new InetSocketAddress(peer.substring(0, colon), Integer.parseInt(peer.substring(colon + 1)));
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,19 @@
+package co.edu.icesi.planeacionpostgrados.config;
+
+import co.edu.icesi.planeacionpostgrados.serializer.UserSerializationModule;
+import com.fasterxml.jackson.databind.Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the hand-written response serializers in the ObjectMapper that Spring Boot
+ * builds, which backs the MVC message converters and CustomAuthenticationEntryPoint.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module userSerializationModule() {
+        return new UserSerializationModule();
+    }
+}
@@ -0,0 +1,95 @@
+package co.edu.icesi.planeacionpostgrados.config;
+
+import co.edu.icesi.planeacionpostgrados.enums.TimingPhase;
+import co.edu.icesi.planeacionpostgrados.mapper.UserMapper;
+import co.edu.icesi.planeacionpostgrados.service.DuplicateDetectionService;
+import co.edu.icesi.planeacionpostgrados.service.UserReconciliationService;
+import co.edu.icesi.planeacionpostgrados.service.UserService;
+import co.edu.icesi.planeacionpostgrados.util.RequestTimings;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Wires the layers of a request into RequestTimings: the interceptor marks where the
+ * controller starts and ends, and the bean post-processor wraps services, UserMapper
+ * and repositories so calls to them are timed in their own phase. UserLookupLoader
+ * times its own waits, since its queries run on loader threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server-timing.enabled", havingValue = "true")
+public class RequestTimingConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                RequestTimings.current().switchTo(TimingPhase.CONTROLLER);
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+                RequestTimings.current().switchTo(TimingPhase.SECURITY);
+            }
+        });
+    }
+
+    @Bean
+    static BeanPostProcessor requestTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                TimingPhase phase = phaseOf(bean);
+                if (phase == null) {
+                    return bean;
+                }
+                MethodInterceptor interceptor = invocation -> {
+                    RequestTimings timings = RequestTimings.current();
+                    if (!timings.isActive()) {
+                        return invocation.proceed();
+                    }
+                    timings.enter(phase);
+                    try {
+                        return invocation.proceed();
+                    } finally {
+                        timings.exit();
+                    }
+                };
+                // Outermost on existing proxies, so transaction commit counts as service time
+                if (bean instanceof Advised advised && !advised.isFrozen()) {
+                    advised.addAdvice(0, interceptor);
+                    return bean;
+                }
+                ProxyFactory proxyFactory = new ProxyFactory(bean);
+                proxyFactory.addAdvice(interceptor);
+                return proxyFactory.getProxy(bean.getClass().getClassLoader());
+            }
+        };
+    }
+
+    private static TimingPhase phaseOf(Object bean) {
+        if (bean instanceof UserService || bean instanceof DuplicateDetectionService
+                || bean instanceof UserReconciliationService) {
+            return TimingPhase.SERVICE;
+        }
+        if (bean instanceof UserMapper) {
+            return TimingPhase.MAPPER;
+        }
+        if (bean instanceof Repository<?, ?>) {
+            return TimingPhase.SQL;
+        }
+        return null;
+    }
+}
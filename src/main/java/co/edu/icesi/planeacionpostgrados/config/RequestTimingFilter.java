@@ -0,0 +1,107 @@
+package co.edu.icesi.planeacionpostgrados.config;
+
+import co.edu.icesi.planeacionpostgrados.enums.TimingPhase;
+import co.edu.icesi.planeacionpostgrados.util.RequestTimings;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every request by layer and reports the breakdown.
+ *
+ * Runs before the security filters so their cost is measured too. The Server-Timing
+ * header is added to sampled requests, and to requests that send X-Server-Timing when
+ * client opt-in is enabled; it is off by default because the header discloses timings
+ * and makes the response buffered. Those responses are buffered so the header can
+ * still be set after serialization, except on the streaming paths: the filter runs
+ * before the handler is known, so async endpoints such as the SSE change feed must be
+ * listed there. Requests slower than the threshold are logged with their breakdown either way.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "server-timing.enabled", havingValue = "true")
+@Slf4j
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    static final String REQUEST_HEADER = "X-Server-Timing";
+    static final String RESPONSE_HEADER = "Server-Timing";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final double sampleRate;
+    private final boolean clientOptIn;
+    private final String[] streamingPaths;
+    private final long slowRequestThresholdNanos;
+
+    /**
+     * @param clientOptIn Whether X-Server-Timing requests the header
+     * @param streamingPaths Ant patterns, relative to the context path, of responses that are never buffered
+     */
+    public RequestTimingFilter(@Value("${server-timing.sample-rate:0}") double sampleRate,
+                               @Value("${server-timing.client-opt-in:false}") boolean clientOptIn,
+                               @Value("${server-timing.streaming-paths:/api/v1/users/changes}") String[] streamingPaths,
+                               @Value("${server-timing.slow-request-threshold-ms:1000}") long slowRequestThresholdMs) {
+        this.sampleRate = sampleRate;
+        this.clientOptIn = clientOptIn;
+        this.streamingPaths = streamingPaths;
+        this.slowRequestThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestThresholdMs);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.current();
+        ContentCachingResponseWrapper buffered = shouldEmitHeader(request) ? new ContentCachingResponseWrapper(response) : null;
+        timings.start(TimingPhase.SECURITY);
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            long totalNanos = timings.finish();
+            if (buffered != null) {
+                if (!request.isAsyncStarted()) {
+                    buffered.setHeader(RESPONSE_HEADER, timings.appendServerTiming(new StringBuilder(160)).toString());
+                }
+                buffered.copyBodyToResponse();
+            }
+            if (totalNanos > slowRequestThresholdNanos) {
+                log.warn("Slow request {} {} ({} ms): {}", request.getMethod(), request.getRequestURI(),
+                        TimeUnit.NANOSECONDS.toMillis(totalNanos), timings.appendServerTiming(new StringBuilder(160)));
+            }
+        }
+    }
+
+    private boolean shouldEmitHeader(HttpServletRequest request) {
+        if (isStreaming(request)) {
+            return false;
+        }
+        String requested = clientOptIn ? request.getHeader(REQUEST_HEADER) : null;
+        if (requested != null) {
+            return !"false".equalsIgnoreCase(requested);
+        }
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private boolean isStreaming(HttpServletRequest request) {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        for (String pattern : streamingPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,12 @@
+package co.edu.icesi.planeacionpostgrados.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs such as the notification dispatcher.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
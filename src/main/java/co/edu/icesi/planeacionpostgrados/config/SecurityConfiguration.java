@@ -2,7 +2,11 @@ package co.edu.icesi.planeacionpostgrados.config;
 
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -11,8 +15,20 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -20,26 +36,82 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @RequiredArgsConstructor
 public class SecurityConfiguration {
 
+    /**
+     * Static and documentation routes that never need to know who is calling.
+     */
+    private static final String[] PUBLIC_RESOURCES = {
+            "/h2-console/**",
+            "/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**", "/v3/api-docs",
+            "/webjars/**",
+            "/"
+    };
+
+    /**
+     * The audit journal is the only API route that needs a principal.
+     */
+    private static final String AUDIT_API = "/api/v1/users/audit/**";
+
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
+    private final AuthenticationResultCache authenticationResultCache;
+    private final UserDetailsService userDetailsService;
+    private final ObjectProvider<PasswordEncoder> passwordEncoder;
 
 
+    /**
+     * Fast path for public resources and the public API: no authentication filters, no
+     * security context and no session, so these requests skip authentication work entirely.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain publicResourcesFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(publicRoutes())
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                .securityContext(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable))
+                .csrf(AbstractHttpConfigurer::disable);
+        return http.build();
+    }
+
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/h2-console/**").permitAll()
+                        // Audit entries carry before/after images of users
+                        .requestMatchers(AUDIT_API).hasRole("AUDITOR")
                         .requestMatchers("/api/**").permitAll()
-                        .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**", "/v3/api-docs").permitAll()
-                        .requestMatchers("/webjars/**").permitAll()
-                        .requestMatchers("/").permitAll()
                         .anyRequest().authenticated() // This will trigger our custom entry point for non-existent endpoints
                 )
                 .exceptionHandling(exceptions -> exceptions
                         .authenticationEntryPoint(customAuthenticationEntryPoint))
                 .headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable))
                 .csrf(csrf -> csrf
-                        .ignoringRequestMatchers("/h2-console/**", "/api/**", "/swagger-ui/**", "/v3/api-docs/**"))
+                        .ignoringRequestMatchers("/api/**"))
+                .authenticationManager(new ProviderManager(cachingAuthenticationProvider()))
                 .httpBasic(Customizer.withDefaults());
         return http.build();
     }
-}
\ No newline at end of file
+
+    private static RequestMatcher publicRoutes() {
+        List<RequestMatcher> routes = new ArrayList<>();
+        for (String resource : PUBLIC_RESOURCES) {
+            routes.add(antMatcher(resource));
+        }
+        routes.add(new AndRequestMatcher(antMatcher("/api/**"), new NegatedRequestMatcher(antMatcher(AUDIT_API))));
+        return new OrRequestMatcher(routes);
+    }
+
+    /**
+     * Basic credentials are checked against the UserDetailsService once and then served
+     * from AuthenticationResultCache until the entry expires.
+     */
+    private CachingAuthenticationProvider cachingAuthenticationProvider() {
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider();
+        daoProvider.setUserDetailsService(userDetailsService);
+        daoProvider.setPasswordEncoder(passwordEncoder.getIfAvailable(PasswordEncoderFactories::createDelegatingPasswordEncoder));
+        return new CachingAuthenticationProvider(daoProvider, authenticationResultCache);
+    }
+}
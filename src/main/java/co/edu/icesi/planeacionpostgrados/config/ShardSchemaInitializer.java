@@ -0,0 +1,52 @@
+package co.edu.icesi.planeacionpostgrados.config;
+
+import co.edu.icesi.planeacionpostgrados.repository.UserShardRouter;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.relational.SchemaManager;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.Locale;
+
+/**
+ * Applies spring.jpa.hibernate.ddl-auto to the shards Hibernate does not see.
+ *
+ * Hibernate runs the schema action once, on the connection it gets at bootstrap, which is
+ * the first shard. The same action is repeated here with every other shard bound: create
+ * recreates the mapped tables and validate checks them. With update the other shards must
+ * be migrated outside the application.
+ */
+@Slf4j
+public class ShardSchemaInitializer implements InitializingBean {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserShardRouter router;
+    private final String ddlAuto;
+
+    public ShardSchemaInitializer(EntityManagerFactory entityManagerFactory, UserShardRouter router, String ddlAuto) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.router = router;
+        this.ddlAuto = ddlAuto == null ? "none" : ddlAuto.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        SchemaManager schema = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getSchemaManager();
+        for (int shard = 1; shard < router.shardCount(); shard++) {
+            router.onShard(shard, () -> {
+                switch (ddlAuto) {
+                    case "create", "create-drop" -> {
+                        schema.dropMappedObjects(false);
+                        schema.exportMappedObjects(false);
+                    }
+                    case "validate" -> schema.validateMappedObjects();
+                    case "update" -> log.warn("ddl-auto=update only migrates the first shard");
+                    default -> { }
+                }
+                return null;
+            });
+        }
+        log.info("Applied ddl-auto={} to {} more user shards", ddlAuto, router.shardCount() - 1);
+    }
+}
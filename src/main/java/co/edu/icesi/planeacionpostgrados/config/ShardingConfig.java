@@ -0,0 +1,95 @@
+package co.edu.icesi.planeacionpostgrados.config;
+
+import co.edu.icesi.planeacionpostgrados.model.UserIdGenerator;
+import co.edu.icesi.planeacionpostgrados.repository.UserShardRouter;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hash sharding of users across the databases in user.sharding.urls.
+ *
+ * Replaces the auto-configured data source with one that routes every connection to the
+ * shard chosen by UserShardRouter. Hibernate takes the connection of a transaction when
+ * it begins, before the service knows which user it is about; the lazy proxy defers it
+ * to the first statement, once the shard is bound.
+ *
+ * User IDs must be assigned before the insert to know where it goes, so sharding needs
+ * time-ordered IDs. The read model and write-behind mode read or write through a single
+ * connection and cannot be combined with it yet.
+ */
+@Configuration
+@ConditionalOnProperty(name = "user.sharding.enabled", havingValue = "true")
+@Slf4j
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardRoutingDataSource userShardDataSource(UserShardRouter router,
+                                                      @Value("${user.sharding.username:${spring.datasource.username:}}") String username,
+                                                      @Value("${user.sharding.password:${spring.datasource.password:}}") String password,
+                                                      @Value("${user.sharding.driver-class-name:${spring.datasource.driverClassName:}}") String driverClassName,
+                                                      @Value("${user.sharding.pool-size:10}") int poolSize,
+                                                      @Value("${spring.datasource.hikari.connection-timeout:30000}") long connectionTimeoutMs,
+                                                      @Value("${spring.datasource.hikari.connection-init-sql:}") String connectionInitSql,
+                                                      @Value("${spring.jpa.properties.user.id.mode:sequence}") String idMode,
+                                                      @Value("${user.read-model.enabled:false}") boolean readModelEnabled,
+                                                      @Value("${user.write-behind.enabled:false}") boolean writeBehindEnabled,
+                                                      @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (!UserIdGenerator.TIME_ORDERED_MODE.equals(idMode)) {
+            throw new IllegalStateException("User sharding needs spring.jpa.properties.user.id.mode="
+                    + UserIdGenerator.TIME_ORDERED_MODE + "; sequence IDs are only known once a shard is chosen");
+        }
+        if (readModelEnabled || writeBehindEnabled) {
+            throw new IllegalStateException("User sharding cannot be combined with the read model or write-behind mode");
+        }
+        if (openInView) {
+            // The request's session would keep the first shard's connection for every later transaction
+            log.warn("spring.jpa.open-in-view should be false with user sharding");
+        }
+
+        List<HikariDataSource> shards = new ArrayList<>();
+        List<String> urls = router.urls();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("user-shard-" + i);
+            config.setJdbcUrl(urls.get(i));
+            config.setUsername(username);
+            config.setPassword(password);
+            if (!driverClassName.isBlank()) {
+                config.setDriverClassName(driverClassName);
+            }
+            config.setMaximumPoolSize(poolSize);
+            config.setConnectionTimeout(connectionTimeoutMs);
+            if (!connectionInitSql.isBlank()) {
+                config.setConnectionInitSql(connectionInitSql);
+            }
+            shards.add(new HikariDataSource(config));
+        }
+        log.info("Users sharded across {} databases", shards.size());
+        return new ShardRoutingDataSource(router, shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource userShardDataSource) {
+        return new LazyConnectionDataSourceProxy(userShardDataSource);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                         UserShardRouter router,
+                                                         @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        return new ShardSchemaInitializer(entityManagerFactory, router, ddlAuto);
+    }
+}
@@ -0,0 +1,37 @@
+package co.edu.icesi.planeacionpostgrados.config;
+
+import co.edu.icesi.planeacionpostgrados.dto.RestResponse;
+import co.edu.icesi.planeacionpostgrados.util.StaleReads;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Tells clients when a response was served from last-known values because the
+ * database was unavailable.
+ */
+@ControllerAdvice
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String STALE_NOTICE = " (stale: database unavailable, served from last-known values)";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof RestResponse<?> restResponse && restResponse.isSuccess() && StaleReads.isMarked()) {
+            restResponse.setMessage(restResponse.getMessage() + STALE_NOTICE);
+            response.getHeaders().add("Warning", "110 - \"Response is stale\"");
+        }
+        return body;
+    }
+}
@@ -0,0 +1,26 @@
+package co.edu.icesi.planeacionpostgrados.config;
+
+import co.edu.icesi.planeacionpostgrados.event.UserInvalidationBus;
+import co.edu.icesi.planeacionpostgrados.service.UserAuditJournal;
+import co.edu.icesi.planeacionpostgrados.service.UserNotificationDispatcher;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Startup settings for spring.main.lazy-initialization.
+ * Beans that only do work from @Scheduled methods are never requested by anyone,
+ * so they must stay eager or their jobs would never be registered. The audit journal
+ * stays eager so segment recovery happens at startup rather than in the first write,
+ * the invalidation bus so it listens for other instances from the start, and the shard
+ * schema initializer so every shard is checked before the first request.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBackgroundJobs() {
+        return LazyInitializationExcludeFilter.forBeanTypes(UserNotificationDispatcher.class, UserAuditJournal.class,
+                UserInvalidationBus.class, ShardSchemaInitializer.class);
+    }
+}
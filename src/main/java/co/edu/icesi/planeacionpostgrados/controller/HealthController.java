@@ -0,0 +1,88 @@
+package co.edu.icesi.planeacionpostgrados.controller;
+
+import co.edu.icesi.planeacionpostgrados.dto.RestResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for the liveness and readiness probes.
+ * Readiness stays down until startup, including the warm-up, has finished.
+ */
+@RestController
+@RequestMapping("/api/v1/health")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Health", description = "Liveness and readiness probes")
+public class HealthController {
+
+    private final ApplicationAvailability applicationAvailability;
+
+    @Operation(
+        summary = "Readiness probe",
+        description = "Answers 200 once the application accepts traffic and 503 while it is starting or warming up"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Ready for traffic",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Not ready yet",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        )
+    })
+    @GetMapping("/readiness")
+    public ResponseEntity<RestResponse<ReadinessState>> getReadiness() {
+        // Probes poll every few seconds, so they stay out of the INFO log
+        log.debug("GET /api/v1/health/readiness - Checking readiness");
+
+        ReadinessState state = applicationAvailability.getReadinessState();
+        if (state != ReadinessState.ACCEPTING_TRAFFIC) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(RestResponse.error("Application is not ready", state.name()));
+        }
+        return ResponseEntity.ok(RestResponse.success("Application is ready", state));
+    }
+
+    @Operation(
+        summary = "Liveness probe",
+        description = "Answers 200 while the application is in a correct state and 503 once it is broken"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Application is live",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Application is broken",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        )
+    })
+    @GetMapping("/liveness")
+    public ResponseEntity<RestResponse<LivenessState>> getLiveness() {
+        log.debug("GET /api/v1/health/liveness - Checking liveness");
+
+        LivenessState state = applicationAvailability.getLivenessState();
+        if (state != LivenessState.CORRECT) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(RestResponse.error("Application is broken", state.name()));
+        }
+        return ResponseEntity.ok(RestResponse.success("Application is live", state));
+    }
+}
@@ -0,0 +1,73 @@
+package co.edu.icesi.planeacionpostgrados.controller;
+
+import co.edu.icesi.planeacionpostgrados.dto.AuditEntryDTO;
+import co.edu.icesi.planeacionpostgrados.dto.RestResponse;
+import co.edu.icesi.planeacionpostgrados.service.UserAuditJournal;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * REST Controller for reading the user audit journal.
+ */
+@RestController
+@RequestMapping("/api/v1/users/audit")
+@ConditionalOnProperty(name = "user.audit.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "User Audit", description = "API for reading the journal of user changes")
+public class UserAuditController {
+
+    private final UserAuditJournal userAuditJournal;
+
+    @Operation(
+        summary = "Scan audit journal",
+        description = "Returns journaled user changes, oldest first, filtered by time range and/or user ID. "
+            + "Each entry reports whether its transaction committed, aborted or is still pending. Requires the AUDITOR role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Audit entries retrieved successfully",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Invalid time range or limit",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        ),
+        @ApiResponse(responseCode = "403", description = "Caller lacks the AUDITOR role")
+    })
+    @GetMapping
+    public ResponseEntity<RestResponse<List<AuditEntryDTO>>> scan(
+            @Parameter(description = "Earliest instant, inclusive (ISO-8601)", example = "2025-01-01T00:00:00Z")
+            @RequestParam(required = false) Instant from,
+            @Parameter(description = "Latest instant, inclusive (ISO-8601)", example = "2025-01-31T23:59:59Z")
+            @RequestParam(required = false) Instant to,
+            @Parameter(description = "Only changes of this user", example = "1")
+            @RequestParam(required = false) Long userId,
+            @Parameter(description = "Maximum number of entries", example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+        log.info("GET /api/v1/users/audit - Scanning audit journal (from {}, to {}, userId {})", from, to, userId);
+        
+        List<AuditEntryDTO> entries = userAuditJournal.scan(from, to, userId, limit);
+        RestResponse<List<AuditEntryDTO>> response = RestResponse.success(
+            "Audit entries retrieved successfully", 
+            entries
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+}
@@ -2,11 +2,19 @@ package co.edu.icesi.planeacionpostgrados.controller;
 
 import co.edu.icesi.planeacionpostgrados.dto.LoginInDTO;
 import co.edu.icesi.planeacionpostgrados.dto.LoginOutDTO;
+import co.edu.icesi.planeacionpostgrados.dto.ReadModelStatsDTO;
 import co.edu.icesi.planeacionpostgrados.dto.RestResponse;
 import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserPageDTO;
+import co.edu.icesi.planeacionpostgrados.dto.WarmupStatsDTO;
+import co.edu.icesi.planeacionpostgrados.dto.WriteBehindStatsDTO;
 import co.edu.icesi.planeacionpostgrados.model.User;
 import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeFeed;
+import co.edu.icesi.planeacionpostgrados.service.UserReadModel;
 import co.edu.icesi.planeacionpostgrados.service.UserService;
+import co.edu.icesi.planeacionpostgrados.service.UserWarmup;
+import co.edu.icesi.planeacionpostgrados.service.UserWriteBehindBuffer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,8 +26,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -35,6 +45,10 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserChangeFeed userChangeFeed;
+    private final UserReadModel userReadModel;
+    private final UserWriteBehindBuffer userWriteBehindBuffer;
+    private final UserWarmup userWarmup;
 
     @Operation(
         summary = "Get all users",
@@ -60,6 +74,165 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Get users by IDs",
+        description = "Retrieves up to 100 users in one call; unknown IDs are skipped and repeated IDs are returned once"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Users retrieved successfully",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "More than 100 IDs, or an empty or non-numeric ID",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<RestResponse<List<UserDTO>>> getUsersByIds(
+            @Parameter(description = "Comma-separated user IDs", required = true, example = "1,2,3")
+            @RequestParam List<Long> ids) {
+        log.info("GET /api/v1/users?ids={} - Fetching users by IDs", ids);
+        
+        List<UserDTO> users = userService.getUsersByIds(ids);
+        RestResponse<List<UserDTO>> response = RestResponse.success(
+            "Users retrieved successfully", 
+            users
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Search users",
+        description = "Retrieves one page of users ordered by ID, filtered by name substring and/or exact document ID"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Users retrieved successfully",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Invalid page parameters",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        )
+    })
+    @GetMapping("/search")
+    public ResponseEntity<RestResponse<UserPageDTO>> searchUsers(
+            @Parameter(description = "Case-insensitive part of the name", example = "perez")
+            @RequestParam(required = false) String name,
+            @Parameter(description = "Exact document ID", example = "123456789")
+            @RequestParam(required = false) String documentId,
+            @Parameter(description = "Zero-based page number", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Users per page", example = "50")
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("GET /api/v1/users/search - Searching users (page {}, size {})", page, size);
+        
+        UserPageDTO users = userService.searchUsers(name, documentId, page, size);
+        RestResponse<UserPageDTO> response = RestResponse.success(
+            "Users retrieved successfully", 
+            users
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Get read model statistics",
+        description = "Reports whether list and search reads are served from memory and how much memory each user takes"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Statistics retrieved successfully",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        )
+    })
+    @GetMapping("/read-model")
+    public ResponseEntity<RestResponse<ReadModelStatsDTO>> getReadModelStats() {
+        log.info("GET /api/v1/users/read-model - Fetching read model statistics");
+        
+        RestResponse<ReadModelStatsDTO> response = RestResponse.success(
+            "Read model statistics retrieved successfully", 
+            userReadModel.stats()
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Get write-behind statistics",
+        description = "Reports buffered user updates, how many updates each write absorbed and how far writes lag behind"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Statistics retrieved successfully",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        )
+    })
+    @GetMapping("/write-behind")
+    public ResponseEntity<RestResponse<WriteBehindStatsDTO>> getWriteBehindStats() {
+        log.info("GET /api/v1/users/write-behind - Fetching write-behind statistics");
+        
+        RestResponse<WriteBehindStatsDTO> response = RestResponse.success(
+            "Write-behind statistics retrieved successfully", 
+            userWriteBehindBuffer.stats()
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Get warm-up statistics",
+        description = "Reports how long the startup warm-up ran, how many requests it sent and whether JIT compilation settled"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Statistics retrieved successfully",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        )
+    })
+    @GetMapping("/warmup")
+    public ResponseEntity<RestResponse<WarmupStatsDTO>> getWarmupStats() {
+        log.info("GET /api/v1/users/warmup - Fetching warm-up statistics");
+        
+        RestResponse<WarmupStatsDTO> response = RestResponse.success(
+            "Warm-up statistics retrieved successfully", 
+            userWarmup.stats()
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Stream user changes",
+        description = "Streams committed create, update and delete events as Server-Sent Events. "
+                + "Reconnecting clients resume from the Last-Event-ID header; a 'reset' event means "
+                + "the missed history is gone and the user list must be reloaded"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Change stream opened",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
+        )
+    })
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUserChanges(
+            @Parameter(description = "ID of the last event received", example = "3k9x0d2mzq7a-42")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("GET /api/v1/users/changes - Subscribing to user changes (Last-Event-ID: {})", lastEventId);
+        
+        return userChangeFeed.subscribe(lastEventId);
+    }
+
     @Operation(
         summary = "Get user by ID",
         description = "Retrieves a specific user by their unique identifier"
@@ -0,0 +1,92 @@
+package co.edu.icesi.planeacionpostgrados.controller;
+
+import co.edu.icesi.planeacionpostgrados.dto.DuplicateReportDTO;
+import co.edu.icesi.planeacionpostgrados.dto.RestResponse;
+import co.edu.icesi.planeacionpostgrados.service.DuplicateDetectionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for the duplicate user detection job.
+ */
+@RestController
+@RequestMapping("/api/v1/users/duplicate-report")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "User Data Quality", description = "API for finding probable duplicate users")
+public class UserDuplicateController {
+
+    private final DuplicateDetectionService duplicateDetectionService;
+
+    @Operation(
+        summary = "Start duplicate detection",
+        description = "Starts a background run that groups probable duplicate users; does nothing if a run is in progress"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202", 
+            description = "Detection started or already running",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "409", 
+            description = "Not available while users are sharded",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        )
+    })
+    @PostMapping
+    public ResponseEntity<RestResponse<DuplicateReportDTO>> startDetection() {
+        log.info("POST /api/v1/users/duplicate-report - Starting duplicate detection");
+        
+        DuplicateReportDTO report = duplicateDetectionService.startDetection();
+        RestResponse<DuplicateReportDTO> response = RestResponse.success(
+            "Duplicate detection started", 
+            report
+        );
+        
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @Operation(
+        summary = "Get duplicate report",
+        description = "Returns the status of the latest run and one page of duplicate clusters, largest first"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Report retrieved successfully",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Invalid page parameters",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        )
+    })
+    @GetMapping
+    public ResponseEntity<RestResponse<DuplicateReportDTO>> getReport(
+            @Parameter(description = "Zero-based page number", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Clusters per page", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("GET /api/v1/users/duplicate-report - Fetching page {} (size {})", page, size);
+        
+        DuplicateReportDTO report = duplicateDetectionService.getReport(page, size);
+        RestResponse<DuplicateReportDTO> response = RestResponse.success(
+            "Duplicate report retrieved successfully", 
+            report
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,80 @@
+package co.edu.icesi.planeacionpostgrados.controller;
+
+import co.edu.icesi.planeacionpostgrados.dto.ReconciliationResultDTO;
+import co.edu.icesi.planeacionpostgrados.dto.RestResponse;
+import co.edu.icesi.planeacionpostgrados.enums.ReconciliationKey;
+import co.edu.icesi.planeacionpostgrados.service.UserReconciliationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * REST Controller for reconciling the user table with an external snapshot.
+ */
+@RestController
+@RequestMapping("/api/v1/users/reconciliation")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "User Reconciliation", description = "API for applying full user snapshots")
+public class UserReconciliationController {
+
+    private final UserReconciliationService userReconciliationService;
+
+    @Operation(
+        summary = "Reconcile user snapshot",
+        description = "Makes the user table match a CSV snapshot (header id,name,documentId) with the minimum "
+                + "inserts, updates and deletes. Only the delta summary is returned unless dryRun=false"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Snapshot reconciled successfully",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Invalid snapshot or parameters",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "409", 
+            description = "Not available while users are sharded",
+            content = @Content(schema = @Schema(implementation = RestResponse.class))
+        )
+    })
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<RestResponse<ReconciliationResultDTO>> reconcile(
+            @Parameter(description = "CSV snapshot of all users", required = true)
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Field used to match rows with users", example = "DOCUMENT_ID")
+            @RequestParam(defaultValue = "DOCUMENT_ID") ReconciliationKey key,
+            @Parameter(description = "Only compute the delta; false applies it, deleting users missing from the snapshot", example = "true")
+            @RequestParam(defaultValue = "true") boolean dryRun) throws IOException {
+        log.info("POST /api/v1/users/reconciliation - Reconciling {} ({} bytes) by {}, dryRun={}",
+                file.getOriginalFilename(), file.getSize(), key, dryRun);
+        
+        ReconciliationResultDTO result;
+        try (InputStream csv = file.getInputStream()) {
+            result = userReconciliationService.reconcile(csv, key, dryRun);
+        }
+        RestResponse<ReconciliationResultDTO> response = RestResponse.success(
+            result.dryRun() ? "Snapshot delta computed successfully" : "Snapshot reconciled successfully", 
+            result
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+}
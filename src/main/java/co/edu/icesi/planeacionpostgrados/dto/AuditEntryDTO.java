@@ -0,0 +1,31 @@
+package co.edu.icesi.planeacionpostgrados.dto;
+
+import co.edu.icesi.planeacionpostgrados.enums.AuditOutcome;
+import co.edu.icesi.planeacionpostgrados.enums.UserChangeType;
+import lombok.Builder;
+
+import java.time.Instant;
+
+/**
+ * One user change read back from the audit journal.
+ *
+ * @param sequence Position of the entry in the journal
+ * @param recordedAt Instant the change was journaled
+ * @param type Kind of change
+ * @param userId ID of the affected user
+ * @param before User state before the change (null on create)
+ * @param after User state after the change (null on delete)
+ * @param outcome Whether the writing transaction committed, rolled back, or has no
+ *                recorded outcome yet (still open, or the process stopped before it ended)
+ */
+@Builder
+public record AuditEntryDTO(
+        long sequence,
+        Instant recordedAt,
+        UserChangeType type,
+        Long userId,
+        UserDTO before,
+        UserDTO after,
+        AuditOutcome outcome
+) {
+}
@@ -0,0 +1,20 @@
+package co.edu.icesi.planeacionpostgrados.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Group of users that are probably the same person.
+ *
+ * @param users Members of the cluster
+ * @param sameDocument Whether every member has the same normalized documentId
+ * @param nameSimilarity Lowest estimated name similarity between any two members (0..1)
+ */
+@Builder
+public record DuplicateClusterDTO(
+        List<UserDTO> users,
+        boolean sameDocument,
+        double nameSimilarity
+) {
+}
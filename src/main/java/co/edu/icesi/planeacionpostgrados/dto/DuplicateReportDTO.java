@@ -0,0 +1,26 @@
+package co.edu.icesi.planeacionpostgrados.dto;
+
+import co.edu.icesi.planeacionpostgrados.enums.JobStatus;
+import lombok.Builder;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Status of the duplicate detection job and one page of its clusters.
+ */
+@Builder
+public record DuplicateReportDTO(
+        JobStatus status,
+        Instant startedAt,
+        Instant finishedAt,
+        long usersScanned,
+        long candidatePairs,
+        long skippedBuckets,
+        int totalClusters,
+        int page,
+        int size,
+        List<DuplicateClusterDTO> clusters,
+        String failure
+) {
+}
@@ -0,0 +1,24 @@
+package co.edu.icesi.planeacionpostgrados.dto;
+
+import lombok.Builder;
+
+/**
+ * Size of the in-memory user read model.
+ *
+ * @param ready Whether reads are being served from the read model
+ * @param users Users held
+ * @param distinctStrings Distinct names and document IDs in the string dictionary
+ * @param stringBytes UTF-8 bytes packed in the string dictionary, including garbage
+ * @param heapBytes Approximate heap used by all arrays of the read model
+ * @param bytesPerUser heapBytes divided by users
+ */
+@Builder
+public record ReadModelStatsDTO(
+        boolean ready,
+        int users,
+        int distinctStrings,
+        long stringBytes,
+        long heapBytes,
+        double bytesPerUser
+) {
+}
@@ -0,0 +1,38 @@
+package co.edu.icesi.planeacionpostgrados.dto;
+
+import co.edu.icesi.planeacionpostgrados.enums.ReconciliationKey;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Delta between a user snapshot and the user table.
+ *
+ * @param dryRun Whether the delta was only computed, not applied; also true when a rejected
+ *               row had no key to match, since the users missing from the snapshot are unknown
+ * @param key Field used to match rows
+ * @param snapshotRows Valid rows read from the snapshot
+ * @param existingUsers Users read from the table
+ * @param inserts Users created (or to create)
+ * @param updates Users updated (or to update)
+ * @param deletes Users deleted (or to delete)
+ * @param unchanged Users identical in both
+ * @param rejectedRows Snapshot rows ignored because they were invalid or duplicated
+ * @param keptUsers Users left as they were because a rejected row has their key
+ * @param rejections First few rejection reasons
+ */
+@Builder
+public record ReconciliationResultDTO(
+        boolean dryRun,
+        ReconciliationKey key,
+        long snapshotRows,
+        long existingUsers,
+        long inserts,
+        long updates,
+        long deletes,
+        long unchanged,
+        long rejectedRows,
+        long keptUsers,
+        List<String> rejections
+) {
+}
@@ -0,0 +1,20 @@
+package co.edu.icesi.planeacionpostgrados.dto;
+
+import co.edu.icesi.planeacionpostgrados.enums.UserChangeType;
+import lombok.Builder;
+
+import java.time.Instant;
+
+/**
+ * Entry of the user change feed, as streamed to SSE subscribers.
+ * The sequence number doubles as the SSE event ID used for resuming.
+ */
+@Builder
+public record UserChangeDTO(
+        long sequence,
+        UserChangeType type,
+        Long userId,
+        UserDTO user,
+        Instant occurredAt
+) {
+}
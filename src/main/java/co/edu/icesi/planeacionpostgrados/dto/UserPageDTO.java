@@ -0,0 +1,17 @@
+package co.edu.icesi.planeacionpostgrados.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * One page of users ordered by ID, with the number of users matching the filters.
+ */
+@Builder
+public record UserPageDTO(
+        List<UserDTO> users,
+        int page,
+        int size,
+        long totalElements
+) {
+}
@@ -0,0 +1,28 @@
+package co.edu.icesi.planeacionpostgrados.dto;
+
+import lombok.Builder;
+
+/**
+ * Outcome of the warm-up phase that runs before the application reports ready.
+ *
+ * @param enabled Whether a warm-up runs at startup
+ * @param completed Whether it has finished; readiness is only reported afterwards
+ * @param settled Whether it stopped because JIT compilation settled rather than at the time limit
+ * @param durationMs Time spent warming up
+ * @param rounds Rounds of exercises run
+ * @param requests HTTP requests sent to the read endpoints
+ * @param failedRequests Requests that failed or answered with a server error
+ * @param compilationMs JIT compilation time accumulated during the warm-up, or -1 if unknown
+ */
+@Builder
+public record WarmupStatsDTO(
+        boolean enabled,
+        boolean completed,
+        boolean settled,
+        long durationMs,
+        int rounds,
+        long requests,
+        long failedRequests,
+        long compilationMs
+) {
+}
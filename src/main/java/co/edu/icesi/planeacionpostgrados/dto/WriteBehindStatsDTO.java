@@ -0,0 +1,30 @@
+package co.edu.icesi.planeacionpostgrados.dto;
+
+import lombok.Builder;
+
+/**
+ * Activity of the write-behind buffer of user updates.
+ *
+ * @param enabled Whether updates are buffered
+ * @param bufferedUsers Users with an update not yet written
+ * @param receivedUpdates Updates accepted into the buffer
+ * @param writtenUpdates Rows written by flushes
+ * @param coalescingRatio receivedUpdates divided by writtenUpdates
+ * @param flushes Flushes that wrote at least one row
+ * @param failedUpdates Updates dropped because the database rejected them
+ * @param lastFlushLagMs Age of the oldest update written by the last flush, at commit
+ * @param maxFlushLagMs Highest lastFlushLagMs seen
+ */
+@Builder
+public record WriteBehindStatsDTO(
+        boolean enabled,
+        int bufferedUsers,
+        long receivedUpdates,
+        long writtenUpdates,
+        double coalescingRatio,
+        long flushes,
+        long failedUpdates,
+        long lastFlushLagMs,
+        long maxFlushLagMs
+) {
+}
@@ -0,0 +1,10 @@
+package co.edu.icesi.planeacionpostgrados.enums;
+
+/**
+ * Fate of the transaction that wrote an audit entry.
+ */
+public enum AuditOutcome {
+    PENDING,
+    COMMITTED,
+    ABORTED
+}
@@ -0,0 +1,10 @@
+package co.edu.icesi.planeacionpostgrados.enums;
+
+/**
+ * State of a circuit breaker.
+ */
+public enum CircuitState {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+}
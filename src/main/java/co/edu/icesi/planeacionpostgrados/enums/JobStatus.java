@@ -0,0 +1,11 @@
+package co.edu.icesi.planeacionpostgrados.enums;
+
+/**
+ * Lifecycle of a background job.
+ */
+public enum JobStatus {
+    IDLE,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,10 @@
+package co.edu.icesi.planeacionpostgrados.enums;
+
+/**
+ * Delivery state of an outbox message.
+ */
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
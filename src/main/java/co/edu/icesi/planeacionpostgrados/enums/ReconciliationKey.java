@@ -0,0 +1,9 @@
+package co.edu.icesi.planeacionpostgrados.enums;
+
+/**
+ * Field used to match snapshot rows with existing users.
+ */
+public enum ReconciliationKey {
+    ID,
+    DOCUMENT_ID
+}
@@ -0,0 +1,25 @@
+package co.edu.icesi.planeacionpostgrados.enums;
+
+/**
+ * Layers a request is timed in, as reported in the Server-Timing header.
+ */
+public enum TimingPhase {
+    SECURITY("security"),
+    CONTROLLER("controller"),
+    SERVICE("service"),
+    MAPPER("mapper"),
+    // Repository and JDBC
+    SQL("sql"),
+    // Jackson serialization
+    SERIALIZATION("serialization");
+
+    private final String metricName;
+
+    TimingPhase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
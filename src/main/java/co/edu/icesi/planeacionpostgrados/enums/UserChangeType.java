@@ -0,0 +1,10 @@
+package co.edu.icesi.planeacionpostgrados.enums;
+
+/**
+ * Kind of write performed on a user.
+ */
+public enum UserChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,31 @@
+package co.edu.icesi.planeacionpostgrados.event;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Carries encoded invalidation messages between instances for UserInvalidationBus.
+ *
+ * Delivery may be lossy and unordered; the bus numbers its messages and turns any gap
+ * into a full invalidation. A transport may also hand an instance its own messages back.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Starts receiving; the receiver is called on a transport thread.
+     */
+    void start(Consumer<byte[]> receiver) throws IOException;
+
+    /**
+     * Sends one message to every other instance, best effort. An instance that is slow
+     * to receive must not hold up delivery to the others.
+     */
+    void send(byte[] message) throws IOException;
+
+    /**
+     * @return Largest message this transport can carry
+     */
+    int maxMessageBytes();
+
+    void close();
+}
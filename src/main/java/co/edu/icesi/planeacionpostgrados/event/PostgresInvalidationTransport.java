@@ -0,0 +1,111 @@
+package co.edu.icesi.planeacionpostgrados.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Base64;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Relays invalidation messages through PostgreSQL LISTEN/NOTIFY, for deployments where
+ * the instances cannot reach each other directly but share the database.
+ *
+ * One pooled connection is held for LISTEN and polled for notifications; sends borrow a
+ * connection for a single pg_notify. Payloads are Base64 text under the 8000-byte limit.
+ * Notifications sent while the listener reconnects are lost, which the bus detects.
+ */
+@Slf4j
+public class PostgresInvalidationTransport implements InvalidationTransport {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    // Base64 of this many bytes stays under the 8000-byte NOTIFY payload limit
+    private static final int MAX_PAYLOAD_BYTES = 5_900;
+    private static final long RECONNECT_DELAY_MS = 1000;
+
+    private final DataSource dataSource;
+    private final String channel;
+    private final int pollTimeoutMs;
+    private volatile boolean running;
+
+    public PostgresInvalidationTransport(DataSource dataSource, String channel, int pollTimeoutMs) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid LISTEN channel name: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.channel = channel;
+        this.pollTimeoutMs = pollTimeoutMs;
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver) {
+        running = true;
+        Thread listener = new Thread(() -> listenLoop(receiver), "user-invalidation-pg-listen");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void send(byte[] message) throws IOException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+            statement.setString(1, channel);
+            statement.setString(2, Base64.getEncoder().encodeToString(message));
+            statement.execute();
+        } catch (SQLException e) {
+            throw new IOException("NOTIFY failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int maxMessageBytes() {
+        return MAX_PAYLOAD_BYTES;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+    }
+
+    private void listenLoop(Consumer<byte[]> receiver) {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(pollTimeoutMs);
+                    if (received == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : received) {
+                        receiver.accept(Base64.getDecoder().decode(notification.getParameter()));
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                log.warn("User invalidation listener lost its connection: {}", e.getMessage());
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package co.edu.icesi.planeacionpostgrados.event;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Sends invalidation messages as length-prefixed frames over one TCP connection per peer.
+ *
+ * Every instance listens on a port and dials each configured peer on first send. A broken
+ * connection is dropped and dialled again on a later send, no sooner than the retry delay,
+ * so a peer that is down costs one connect timeout per retry rather than one per message.
+ * The listening socket is bound to the configured address only.
+ *
+ * Each peer has its own bounded queue and writer thread, so a peer that stops reading
+ * only stalls its own writes. Messages that do not fit in its queue, or that arrive while
+ * it is unreachable, are dropped; the receiving bus sees the missing sequence numbers as a gap.
+ */
+@Slf4j
+public class TcpInvalidationTransport implements InvalidationTransport {
+
+    private static final int MAX_FRAME_BYTES = 1 << 20;
+
+    private final InetAddress bindAddress;
+    private final int port;
+    private final int connectTimeoutMs;
+    private final long retryDelayNanos;
+    private final int queueSize;
+    private final List<Peer> peers = new ArrayList<>();
+    private final Set<Socket> inbound = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+
+    /**
+     * @param queueSize Messages waiting for one peer before further ones are dropped
+     */
+    public TcpInvalidationTransport(InetAddress bindAddress, int port, List<InetSocketAddress> peers,
+                                    int connectTimeoutMs, long retryDelayMs, int queueSize) {
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("Invalidation peer queue size must be positive");
+        }
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.retryDelayNanos = TimeUnit.MILLISECONDS.toNanos(retryDelayMs);
+        this.queueSize = queueSize;
+        for (InetSocketAddress address : peers) {
+            this.peers.add(new Peer(address));
+        }
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver) throws IOException {
+        serverSocket = new ServerSocket(port, 50, bindAddress);
+        Thread acceptor = new Thread(() -> acceptLoop(receiver), "user-invalidation-tcp-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        for (Peer peer : peers) {
+            peer.writer.start();
+        }
+    }
+
+    /**
+     * Queues the message for every peer; never waits for one.
+     */
+    @Override
+    public void send(byte[] message) {
+        for (Peer peer : peers) {
+            peer.offer(message);
+        }
+    }
+
+    @Override
+    public int maxMessageBytes() {
+        return MAX_FRAME_BYTES;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            log.debug("Failed to close invalidation server socket: {}", e.getMessage());
+        }
+        for (Socket socket : inbound) {
+            closeQuietly(socket);
+        }
+        for (Peer peer : peers) {
+            peer.writer.interrupt();
+            peer.disconnect();
+        }
+    }
+
+    /**
+     * @return Port actually bound, useful when started on port 0
+     */
+    public int localPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop(Consumer<byte[]> receiver) {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                inbound.add(socket);
+                Thread reader = new Thread(() -> readLoop(socket, receiver),
+                        "user-invalidation-tcp-" + socket.getRemoteSocketAddress());
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("Failed to accept invalidation connection: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void readLoop(Socket socket, Consumer<byte[]> receiver) {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            while (true) {
+                int length = input.readInt();
+                if (length < 0 || length > MAX_FRAME_BYTES) {
+                    throw new IOException("Invalid invalidation frame length " + length);
+                }
+                byte[] message = new byte[length];
+                input.readFully(message);
+                receiver.accept(message);
+            }
+        } catch (EOFException e) {
+            // Peer closed the connection
+        } catch (IOException e) {
+            log.debug("Invalidation connection from {} closed: {}", socket.getRemoteSocketAddress(), e.getMessage());
+        } finally {
+            inbound.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing left to do with it
+        }
+    }
+
+    /**
+     * One peer; its socket is only used on its writer thread.
+     */
+    private final class Peer {
+
+        private final InetSocketAddress address;
+        private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(queueSize);
+        private final Thread writer;
+        private volatile Socket socket;
+        private DataOutputStream output;
+        private long lastFailureNanos;
+        private boolean failed;
+        private boolean overflowing;
+
+        private Peer(InetSocketAddress address) {
+            this.address = address;
+            this.writer = new Thread(this::writeLoop, "user-invalidation-tcp-send-" + address);
+            this.writer.setDaemon(true);
+        }
+
+        private void offer(byte[] message) {
+            if (queue.offer(message)) {
+                overflowing = false;
+            } else if (!overflowing) {
+                // Logged once per overflow; the receiver detects the dropped messages
+                overflowing = true;
+                log.warn("Invalidation peer {} is not keeping up, dropping messages", address);
+            }
+        }
+
+        private void writeLoop() {
+            try {
+                while (true) {
+                    byte[] message = queue.take();
+                    try {
+                        send(message);
+                    } catch (IOException e) {
+                        log.debug("Invalidation to {} dropped: {}", address, e.getMessage());
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Closed
+            }
+        }
+
+        private void send(byte[] message) throws IOException {
+            if (output == null) {
+                connect();
+            }
+            try {
+                output.writeInt(message.length);
+                output.write(message);
+                output.flush();
+            } catch (IOException e) {
+                disconnect();
+                markFailed();
+                throw e;
+            }
+        }
+
+        private void connect() throws IOException {
+            if (failed && System.nanoTime() - lastFailureNanos < retryDelayNanos) {
+                throw new IOException("Peer " + address + " is unreachable, retrying later");
+            }
+            Socket connection = new Socket();
+            try {
+                connection.setTcpNoDelay(true);
+                connection.connect(address, connectTimeoutMs);
+            } catch (IOException e) {
+                closeQuietly(connection);
+                markFailed();
+                throw e;
+            }
+            socket = connection;
+            output = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+            failed = false;
+        }
+
+        private void markFailed() {
+            failed = true;
+            lastFailureNanos = System.nanoTime();
+        }
+
+        private void disconnect() {
+            Socket current = socket;
+            if (current != null) {
+                closeQuietly(current);
+            }
+            socket = null;
+            output = null;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package co.edu.icesi.planeacionpostgrados.event;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Sends every invalidation message as one UDP datagram to each configured peer.
+ * No connections and no broker; datagrams can be lost or reordered, which the bus detects.
+ * The socket is bound to the configured address only.
+ */
+@Slf4j
+public class UdpInvalidationTransport implements InvalidationTransport {
+
+    // Stays below the 65,507-byte limit of an IPv4 datagram
+    private static final int MAX_DATAGRAM_BYTES = 65_000;
+
+    private final InetAddress bindAddress;
+    private final int port;
+    private final List<InetSocketAddress> peers;
+    private DatagramSocket socket;
+
+    public UdpInvalidationTransport(InetAddress bindAddress, int port, List<InetSocketAddress> peers) {
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.peers = List.copyOf(peers);
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver) throws IOException {
+        socket = new DatagramSocket(new InetSocketAddress(bindAddress, port));
+        Thread thread = new Thread(() -> receiveLoop(receiver), "user-invalidation-udp");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void send(byte[] message) throws IOException {
+        IOException failure = null;
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(message, message.length, peer));
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public int maxMessageBytes() {
+        return MAX_DATAGRAM_BYTES;
+    }
+
+    @Override
+    public void close() {
+        if (socket != null) {
+            socket.close();
+        }
+    }
+
+    /**
+     * @return Port actually bound, useful when started on port 0
+     */
+    public int localPort() {
+        return socket.getLocalPort();
+    }
+
+    private void receiveLoop(Consumer<byte[]> receiver) {
+        byte[] buffer = new byte[MAX_DATAGRAM_BYTES];
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        while (!socket.isClosed()) {
+            try {
+                packet.setLength(buffer.length);
+                socket.receive(packet);
+                receiver.accept(Arrays.copyOf(buffer, packet.getLength()));
+            } catch (SocketException e) {
+                // Closed
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to process user invalidation datagram: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package co.edu.icesi.planeacionpostgrados.event;
+
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.enums.UserChangeType;
+
+import java.time.Instant;
+
+/**
+ * Application event published by UserServiceImpl for every user write.
+ * Carries the before and after images so listeners never have to reload the user.
+ *
+ * @param type Kind of change
+ * @param userId ID of the affected user
+ * @param before User state before the change (null on create)
+ * @param after User state after the change (null on delete)
+ * @param occurredAt Instant the change was made
+ */
+public record UserChangeEvent(
+        UserChangeType type,
+        Long userId,
+        UserDTO before,
+        UserDTO after,
+        Instant occurredAt
+) {
+
+    public static UserChangeEvent created(UserDTO after) {
+        return new UserChangeEvent(UserChangeType.CREATED, after.id(), null, after, Instant.now());
+    }
+
+    public static UserChangeEvent updated(Long userId, UserDTO before, UserDTO after) {
+        return new UserChangeEvent(UserChangeType.UPDATED, userId, before, after, Instant.now());
+    }
+
+    public static UserChangeEvent deleted(Long userId, UserDTO before) {
+        return new UserChangeEvent(UserChangeType.DELETED, userId, before, null, Instant.now());
+    }
+
+    /**
+     * Returns the most recent known state of the user: the after image,
+     * or the before image for deletions.
+     */
+    public UserDTO latest() {
+        return after != null ? after : before;
+    }
+}
@@ -0,0 +1,295 @@
+package co.edu.icesi.planeacionpostgrados.event;
+
+import co.edu.icesi.planeacionpostgrados.dto.UserChangeDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory feed of committed user changes streamed over Server-Sent Events.
+ *
+ * Changes are kept in a bounded ring buffer indexed by a monotonically increasing
+ * sequence number, so a reconnecting client can resume from its Last-Event-ID.
+ * Event IDs are prefixed with a random epoch chosen at startup: an ID issued by a previous
+ * run or by another instance never matches it and gets a reset instead of a wrong resume.
+ * Every subscriber owns a bounded queue drained on a background thread; writers only
+ * ever offer to those queues, and a subscriber whose queue is full is dropped.
+ * Only the drain thread touches the emitter, completion included, so a subscriber is
+ * never completed while one of its sends is in progress.
+ */
+@Component
+@Slf4j
+public class UserChangeFeed {
+
+    static final String RESET_EVENT = "reset";
+    private static final char EPOCH_SEPARATOR = '-';
+
+    private final String epoch = Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36);
+    private final UserChangeDTO[] ring;
+    private final int subscriberQueueSize;
+    private final long emitterTimeoutMs;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newCachedThreadPool(new FeedThreadFactory());
+
+    private long nextSequence = 1;
+
+    public UserChangeFeed(@Value("${user.changes.buffer-size:1024}") int bufferSize,
+                          @Value("${user.changes.subscriber-queue-size:256}") int subscriberQueueSize,
+                          @Value("${user.changes.emitter-timeout-ms:0}") long emitterTimeoutMs) {
+        if (bufferSize <= 0 || subscriberQueueSize <= 0) {
+            throw new IllegalArgumentException("User change feed sizes must be positive");
+        }
+        this.ring = new UserChangeDTO[bufferSize];
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    /**
+     * Appends a committed change to the ring buffer and fans it out to subscribers.
+     * Runs on the committing thread, so it never blocks on a subscriber.
+     */
+    @TransactionalEventListener
+    public void onUserChange(UserChangeEvent event) {
+        // Fan out under the lock of subscribe, so every subscriber gets each change once and in sequence order;
+        // offer never blocks
+        synchronized (this) {
+            UserChangeDTO change = append(event);
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(change);
+            }
+        }
+    }
+
+    /**
+     * Opens a new SSE subscription.
+     *
+     * @param lastEventId ID of the last event the client saw, or null for a fresh subscription
+     * @return Emitter that receives the missed changes first and live changes afterwards
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        // Register and take the backlog under the same lock as append so no change is missed or duplicated
+        synchronized (this) {
+            if (lastEventId != null) {
+                long lastSequence = sequenceOf(lastEventId);
+                List<UserChangeDTO> missed = isResumable(lastSequence) ? since(lastSequence) : null;
+                if (missed == null || missed.size() > subscriberQueueSize) {
+                    subscriber.offerReset(nextSequence - 1);
+                } else {
+                    missed.forEach(subscriber::offer);
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        log.info("User change feed subscriber connected (lastEventId={}, subscribers={})", lastEventId, subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * @return Sequence number of the most recent change, or 0 if there is none
+     */
+    public synchronized long currentSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * @return SSE event ID of a sequence number in this feed incarnation
+     */
+    public String eventId(long sequence) {
+        return epoch + EPOCH_SEPARATOR + sequence;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+        senders.shutdown();
+        try {
+            if (!senders.awaitTermination(5, TimeUnit.SECONDS)) {
+                senders.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            senders.shutdownNow();
+        }
+    }
+
+    private UserChangeDTO append(UserChangeEvent event) {
+        UserChangeDTO change = UserChangeDTO.builder()
+                .sequence(nextSequence)
+                .type(event.type())
+                .userId(event.userId())
+                .user(event.after())
+                .occurredAt(event.occurredAt())
+                .build();
+        ring[(int) (nextSequence % ring.length)] = change;
+        nextSequence++;
+        return change;
+    }
+
+    private long oldestRetainedSequence() {
+        return Math.max(1, nextSequence - ring.length);
+    }
+
+    /**
+     * @return Sequence number of an event ID of this incarnation, or -1 for a foreign or malformed ID
+     */
+    private long sequenceOf(String eventId) {
+        if (!eventId.startsWith(epoch) || eventId.length() <= epoch.length() + 1
+                || eventId.charAt(epoch.length()) != EPOCH_SEPARATOR) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * A client can resume unless it missed evicted changes or its ID is not from this incarnation.
+     */
+    private boolean isResumable(long lastSequence) {
+        return lastSequence >= oldestRetainedSequence() - 1 && lastSequence <= nextSequence - 1;
+    }
+
+    private List<UserChangeDTO> since(long lastEventId) {
+        long from = Math.max(lastEventId + 1, oldestRetainedSequence());
+        List<UserChangeDTO> changes = new ArrayList<>((int) Math.max(0, nextSequence - from));
+        for (long sequence = from; sequence < nextSequence; sequence++) {
+            changes.add(ring[(int) (sequence % ring.length)]);
+        }
+        return changes;
+    }
+
+    /**
+     * One SSE client. Changes are queued without blocking and sent serially on a sender thread.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(subscriberQueueSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean dropped;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(UserChangeDTO change) {
+            enqueue(SseEmitter.event()
+                    .id(eventId(change.sequence()))
+                    .name(change.type().name().toLowerCase(Locale.ROOT))
+                    .data(change, MediaType.APPLICATION_JSON));
+        }
+
+        void offerReset(long currentSequence) {
+            // The client fell behind the ring buffer and must re-fetch the full user list
+            enqueue(SseEmitter.event()
+                    .id(eventId(currentSequence))
+                    .name(RESET_EVENT)
+                    .data("Change history no longer available, reload the user list"));
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            if (dropped) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                log.warn("Dropping slow user change feed subscriber after {} queued changes", subscriberQueueSize);
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        /**
+         * Stops delivery; the drain thread completes the emitter once any send in progress returns.
+         */
+        private void close() {
+            dropped = true;
+            subscribers.remove(this);
+            queue.clear();
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!dropped && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+                if (dropped && completed.compareAndSet(false, true)) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("User change feed subscriber disconnected: {}", e.getMessage());
+                dropped = true;
+                completed.set(true);
+                subscribers.remove(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // A change or a close may have arrived after the last check but before the flag was cleared
+            if (dropped ? !completed.get() : !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private static final class FeedThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "user-change-feed-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package co.edu.icesi.planeacionpostgrados.event;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Broadcasts the IDs of committed user changes to the other instances, so their
+ * in-process caches do not keep serving a user changed elsewhere.
+ *
+ * Committed changes are queued in a set, so repeated changes of one user between two
+ * flushes travel once, and flushed together every flush interval or as soon as a batch
+ * is full. Received IDs are republished locally as a UserInvalidationEvent.
+ *
+ * Every message carries the sender's sequence number, and idle senders emit heartbeats
+ * with their last number. A receiver that sees a gap cannot tell which IDs it missed and
+ * invalidates everything instead; so does a receiver that hears nothing from a known
+ * sender for three heartbeat intervals, which every instance must configure alike. A
+ * remote change is therefore visible here after at most the flush interval plus transit
+ * time, the heartbeat interval if messages were lost, or three heartbeat intervals if the
+ * sender cannot be heard at all.
+ *
+ * Messages are signed with HMAC-SHA256 under a key shared by all instances; unsigned or
+ * wrongly signed messages are dropped, so nobody else on the network can force a full
+ * invalidation. Received invalidations are applied on their own thread, never on the
+ * transport's receive thread, and a full invalidation still waiting there absorbs later ones.
+ */
+@Component
+@ConditionalOnExpression("'${user.invalidation.transport:none}' != 'none'")
+@Slf4j
+public class UserInvalidationBus {
+
+    private static final int MAGIC = 0x55494E56;
+    private static final byte VERSION = 2;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_BYTES = 32;
+    private static final int MIN_KEY_BYTES = 16;
+    private static final int MISSED_HEARTBEATS = 3;
+
+    private final InvalidationTransport transport;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId;
+    private final byte[] nodeIdBytes;
+    private final SecretKeySpec key;
+    // Distinguishes restarts of the same node, whose sequence starts over
+    private final long epoch = System.currentTimeMillis();
+    private final long flushIntervalMs;
+    private final long heartbeatIntervalMs;
+    private final long heartbeatIntervalNanos;
+    private final int idsPerMessage;
+
+    private final Object pendingLock = new Object();
+    private Set<Long> pending = new LinkedHashSet<>();
+
+    // Only touched on the flusher thread
+    private long sequence;
+    private long lastSendNanos = System.nanoTime();
+
+    private final Object receiveLock = new Object();
+    private final Map<String, Source> sources = new HashMap<>();
+    private final AtomicBoolean fullInvalidationQueued = new AtomicBoolean();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-invalidation-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ExecutorService applier = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-invalidation-apply");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UserInvalidationBus(InvalidationTransport transport,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${user.invalidation.node-id:}") String nodeId,
+                               @Value("${user.invalidation.shared-key:}") String sharedKey,
+                               @Value("${user.invalidation.flush-interval-ms:20}") long flushIntervalMs,
+                               @Value("${user.invalidation.max-batch-size:1000}") int maxBatchSize,
+                               @Value("${user.invalidation.heartbeat-interval-ms:1000}") long heartbeatIntervalMs) {
+        if (flushIntervalMs <= 0 || maxBatchSize <= 0 || heartbeatIntervalMs <= 0) {
+            throw new IllegalArgumentException("User invalidation intervals and batch size must be positive");
+        }
+        byte[] keyBytes = sharedKey == null ? new byte[0] : sharedKey.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < MIN_KEY_BYTES) {
+            throw new IllegalArgumentException("user.invalidation.shared-key must be at least " + MIN_KEY_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(keyBytes, MAC_ALGORITHM);
+        this.transport = transport;
+        this.eventPublisher = eventPublisher;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+        this.nodeIdBytes = this.nodeId.getBytes(StandardCharsets.UTF_8);
+        this.flushIntervalMs = flushIntervalMs;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.heartbeatIntervalNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMs);
+        this.idsPerMessage = Math.min(maxBatchSize, (transport.maxMessageBytes() - headerBytes() - MAC_BYTES) / Long.BYTES);
+        if (idsPerMessage <= 0) {
+            throw new IllegalArgumentException("Invalidation transport messages are too small for node ID " + this.nodeId);
+        }
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        transport.start(this::receive);
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::detectSilentSources, heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("User invalidation bus started as {} ({})", nodeId, transport.getClass().getSimpleName());
+    }
+
+    /**
+     * Only committed changes are broadcast; a rolled back write changed nothing to invalidate.
+     */
+    @TransactionalEventListener
+    public void onUserChange(UserChangeEvent event) {
+        invalidate(event.userId());
+    }
+
+    /**
+     * Queues an ID for the next broadcast; an ID already queued is not sent twice.
+     */
+    public void invalidate(Long userId) {
+        boolean full;
+        synchronized (pendingLock) {
+            pending.add(userId);
+            full = pending.size() >= idsPerMessage;
+        }
+        if (full) {
+            try {
+                flusher.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // Shutting down, the final flush sends it
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(5, TimeUnit.SECONDS)) {
+                flusher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        transport.close();
+        applier.shutdownNow();
+    }
+
+    private void flush() {
+        Set<Long> batch;
+        synchronized (pendingLock) {
+            if (pending.isEmpty()) {
+                batch = null;
+            } else {
+                batch = pending;
+                pending = new LinkedHashSet<>();
+            }
+        }
+        try {
+            if (batch != null) {
+                long[] ids = batch.stream().mapToLong(Long::longValue).toArray();
+                for (int from = 0; from < ids.length; from += idsPerMessage) {
+                    send(++sequence, ids, from, Math.min(from + idsPerMessage, ids.length));
+                }
+            } else if (System.nanoTime() - lastSendNanos >= heartbeatIntervalNanos) {
+                send(sequence, new long[0], 0, 0);
+            }
+        } catch (RuntimeException e) {
+            // Keep the scheduled flush alive; receivers see the lost sequence numbers as a gap
+            log.warn("User invalidation flush failed: {}", e.getMessage());
+        }
+    }
+
+    private void send(long messageSequence, long[] ids, int from, int to) {
+        ByteBuffer message = ByteBuffer.allocate(headerBytes() + Long.BYTES * (to - from) + MAC_BYTES);
+        message.putInt(MAGIC)
+                .put(VERSION)
+                .putShort((short) nodeIdBytes.length)
+                .put(nodeIdBytes)
+                .putLong(epoch)
+                .putLong(messageSequence)
+                .putInt(to - from);
+        for (int i = from; i < to; i++) {
+            message.putLong(ids[i]);
+        }
+        message.put(sign(message.array(), message.position()));
+        lastSendNanos = System.nanoTime();
+        try {
+            transport.send(message.array());
+        } catch (IOException e) {
+            log.warn("User invalidation {} could not be sent: {}", messageSequence, e.getMessage());
+        }
+    }
+
+    private void receive(byte[] bytes) {
+        int signed = bytes.length - MAC_BYTES;
+        if (signed <= 0 || !MessageDigest.isEqual(sign(bytes, signed), Arrays.copyOfRange(bytes, signed, bytes.length))) {
+            log.debug("Ignoring unsigned or wrongly signed invalidation message of {} bytes", bytes.length);
+            return;
+        }
+        ByteBuffer message = ByteBuffer.wrap(bytes, 0, signed);
+        String origin;
+        long originEpoch;
+        long messageSequence;
+        Set<Long> ids;
+        try {
+            if (message.getInt() != MAGIC || message.get() != VERSION) {
+                log.debug("Ignoring unknown invalidation message of {} bytes", bytes.length);
+                return;
+            }
+            byte[] originBytes = new byte[message.getShort()];
+            message.get(originBytes);
+            origin = new String(originBytes, StandardCharsets.UTF_8);
+            originEpoch = message.getLong();
+            messageSequence = message.getLong();
+            int count = message.getInt();
+            if (count > message.remaining() / Long.BYTES) {
+                throw new BufferUnderflowException();
+            }
+            ids = new LinkedHashSet<>(count);
+            for (int i = 0; i < count; i++) {
+                ids.add(message.getLong());
+            }
+        } catch (BufferUnderflowException | NegativeArraySizeException | IllegalArgumentException e) {
+            log.debug("Ignoring truncated invalidation message of {} bytes", bytes.length);
+            return;
+        }
+        if (origin.equals(nodeId) && originEpoch == epoch) {
+            return;
+        }
+
+        String sourceKey = origin + "@" + originEpoch;
+        boolean gap = false;
+        synchronized (receiveLock) {
+            Source source = sources.get(sourceKey);
+            if (source == null) {
+                sources.put(sourceKey, new Source(messageSequence));
+            } else {
+                long expected = ids.isEmpty() ? source.lastSequence : source.lastSequence + 1;
+                gap = messageSequence > expected;
+                source.lastSequence = Math.max(source.lastSequence, messageSequence);
+                source.lastHeardNanos = System.nanoTime();
+                source.silent = false;
+            }
+        }
+        if (gap) {
+            log.warn("Lost user invalidations from {}, invalidating every cached user", origin);
+            invalidateEverything();
+        } else if (!ids.isEmpty()) {
+            apply(() -> eventPublisher.publishEvent(UserInvalidationEvent.of(ids)));
+        }
+    }
+
+    /**
+     * A sender that is heard from no more, heartbeats included, may have changes we never
+     * receive. Each silence invalidates everything once; the sequence number is kept, so
+     * messages lost before the sender is heard again still show up as a gap.
+     */
+    private void detectSilentSources() {
+        long silenceNanos = MISSED_HEARTBEATS * heartbeatIntervalNanos;
+        long now = System.nanoTime();
+        boolean silenced = false;
+        synchronized (receiveLock) {
+            for (Map.Entry<String, Source> entry : sources.entrySet()) {
+                Source source = entry.getValue();
+                if (!source.silent && now - source.lastHeardNanos > silenceNanos) {
+                    source.silent = true;
+                    silenced = true;
+                    log.warn("No user invalidations or heartbeats from {} for {} ms, invalidating every cached user",
+                            entry.getKey(), MISSED_HEARTBEATS * heartbeatIntervalMs);
+                }
+            }
+        }
+        if (silenced) {
+            invalidateEverything();
+        }
+    }
+
+    private void invalidateEverything() {
+        if (fullInvalidationQueued.compareAndSet(false, true)) {
+            apply(() -> {
+                fullInvalidationQueued.set(false);
+                eventPublisher.publishEvent(UserInvalidationEvent.everything());
+            });
+        }
+    }
+
+    /**
+     * Listeners may reload from the database, which must not hold up the receive thread.
+     */
+    private void apply(Runnable publication) {
+        try {
+            applier.execute(() -> {
+                try {
+                    publication.run();
+                } catch (RuntimeException e) {
+                    log.warn("Failed to apply user invalidation: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down, nothing left to invalidate
+        }
+    }
+
+    private byte[] sign(byte[] message, int length) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            mac.update(message, 0, length);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private int headerBytes() {
+        return Integer.BYTES + 1 + Short.BYTES + nodeIdBytes.length + 2 * Long.BYTES + Integer.BYTES;
+    }
+
+    /**
+     * What is known of one sender incarnation; guarded by receiveLock.
+     */
+    private static final class Source {
+
+        private long lastSequence;
+        private long lastHeardNanos = System.nanoTime();
+        private boolean silent;
+
+        private Source(long lastSequence) {
+            this.lastSequence = lastSequence;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package co.edu.icesi.planeacionpostgrados.event;
+
+import java.util.Set;
+
+/**
+ * Local event published when another instance committed changes to users.
+ * Carries only IDs: listeners drop or reload whatever they cache for them.
+ *
+ * @param userIds IDs of the changed users (empty when all is set)
+ * @param all True if invalidations may have been lost and every cached user must be dropped
+ */
+public record UserInvalidationEvent(
+        Set<Long> userIds,
+        boolean all
+) {
+
+    public static UserInvalidationEvent of(Set<Long> userIds) {
+        return new UserInvalidationEvent(Set.copyOf(userIds), false);
+    }
+
+    public static UserInvalidationEvent everything() {
+        return new UserInvalidationEvent(Set.of(), true);
+    }
+}
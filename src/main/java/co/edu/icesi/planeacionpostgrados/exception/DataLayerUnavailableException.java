@@ -0,0 +1,11 @@
+package co.edu.icesi.planeacionpostgrados.exception;
+
+/**
+ * Exception thrown without touching the database while the data layer circuit breaker is open.
+ */
+public class DataLayerUnavailableException extends RuntimeException {
+
+    public DataLayerUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -2,13 +2,17 @@ package co.edu.icesi.planeacionpostgrados.exception;
 
 import co.edu.icesi.planeacionpostgrados.dto.RestResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
@@ -79,6 +83,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    /**
+     * Handles whole-table jobs requested while users are sharded
+     * Returns 409 Conflict since the request is valid but not in this deployment
+     */
+    @ExceptionHandler(ShardedOperationException.class)
+    public ResponseEntity<RestResponse<?>> handleShardedOperation(ShardedOperationException ex, WebRequest request) {
+        log.warn("Operation not available with sharding: {}", ex.getMessage());
+
+        RestResponse<?> response = RestResponse.error("Operation not available", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     /**
      * Handles all business logic exceptions and returns 400 Bad Request response
      */
@@ -119,6 +135,33 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Handles request parameters that cannot be converted (e.g. ?ids=1,x) and returns 400 Bad Request response
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<RestResponse<?>> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        log.warn("Type mismatch for parameter {}: {}", ex.getName(), ex.getValue());
+
+        RestResponse<?> response = RestResponse.error("Invalid argument", "Invalid value for parameter '" + ex.getName() + "'");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    /**
+     * Handles an open data layer circuit and database stalls or timeouts
+     * Returns 503 Service Unavailable so clients can retry later
+     */
+    @ExceptionHandler({DataLayerUnavailableException.class, TransientDataAccessException.class,
+            TransactionTimedOutException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<RestResponse<?>> handleDataLayerUnavailable(RuntimeException ex, WebRequest request) {
+        log.warn("Data layer unavailable: {}", ex.getMessage());
+        
+        RestResponse<?> response = RestResponse.error(
+            "Service unavailable", 
+            "The database is temporarily unavailable, please try again later"
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
     /**
      * Handles any unhandled exceptions and returns 500 Internal Server Error
      */
@@ -0,0 +1,13 @@
+package co.edu.icesi.planeacionpostgrados.exception;
+
+/**
+ * Exception thrown when a job that works on the whole user table through a single
+ * connection is requested while users are sharded across several databases.
+ * Handled by the GlobalExceptionHandler as a conflict with the deployment's current state.
+ */
+public class ShardedOperationException extends BusinessException {
+
+    public ShardedOperationException(String operation, int shardCount) {
+        super(operation + " is not available while users are sharded across " + shardCount + " databases");
+    }
+}
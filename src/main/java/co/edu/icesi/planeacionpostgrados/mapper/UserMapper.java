@@ -23,6 +23,15 @@ public interface UserMapper {
     @Mapping(source = "id", target = "id")
     User toEntity(UserDTO userDTO);
 
+    /**
+     * Converts UserDTO to a new User entity, ignoring any client-supplied ID
+     * so the ID generator always assigns it
+     * @param userDTO The user DTO
+     * @return User entity without ID
+     */
+    @Mapping(target = "id", ignore = true)
+    User toNewEntity(UserDTO userDTO);
+
     /**
      * Converts User entity to UserDTO
      * @param user The user entity
@@ -0,0 +1,24 @@
+package co.edu.icesi.planeacionpostgrados.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an ID generated by UserIdGenerator.
+ */
+@IdGeneratorType(UserIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface GeneratedUserId {
+
+    String sequenceName() default "user_id_seq";
+
+    /**
+     * IDs reserved per sequence call; must match the INCREMENT BY of the sequence.
+     */
+    int incrementSize() default 50;
+}
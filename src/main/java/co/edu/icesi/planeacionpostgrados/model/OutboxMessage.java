@@ -0,0 +1,85 @@
+package co.edu.icesi.planeacionpostgrados.model;
+
+import co.edu.icesi.planeacionpostgrados.enums.OutboxStatus;
+import co.edu.icesi.planeacionpostgrados.enums.UserChangeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Email notification written in the same transaction as the user change that caused it.
+ * Delivered later by UserNotificationDispatcher.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@Entity
+@Table(name = "\"OutboxMessage\"", indexes = @Index(name = "idx_outbox_status_next_attempt", columnList = "status, nextAttemptAt"))
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "changeType", nullable = false, length = 16)
+    private UserChangeType changeType;
+
+    @NotNull
+    @Column(name = "userId", nullable = false)
+    private Long userId;
+
+    @Size(max = 255)
+    @NotNull
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    @Size(max = 255)
+    @NotNull
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Size(max = 4000)
+    @NotNull
+    @Column(name = "body", nullable = false, length = 4000)
+    private String body;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private OutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @NotNull
+    @Column(name = "nextAttemptAt", nullable = false)
+    private Instant nextAttemptAt;
+
+    @NotNull
+    @Column(name = "createdAt", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "sentAt")
+    private Instant sentAt;
+
+    @Size(max = 1000)
+    @Column(name = "lastError", length = 1000)
+    private String lastError;
+
+}
@@ -19,7 +19,8 @@ import lombok.*;
 @Table(name = "\"User\"")
 public class User {
     @Id
-    @Column(name = "id", nullable = false, insertable=false, updatable=false)
+    @GeneratedUserId
+    @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
     @Size(max = 255)
@@ -0,0 +1,67 @@
+package co.edu.icesi.planeacionpostgrados.model;
+
+import co.edu.icesi.planeacionpostgrados.util.TimeOrderedIdGenerator;
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * ID generator for User.
+ *
+ * By default it is a sequence generator with the pooled-lo optimizer: one sequence call
+ * reserves a block of IDs, so inserts need no round trip per row and can be JDBC-batched.
+ * With user.id.mode=time-ordered it issues node-aware time-ordered IDs instead, for
+ * multi-instance deployments that should not share a sequence.
+ *
+ * Attached to the ID with {@link GeneratedUserId}, which names the sequence.
+ */
+public class UserIdGenerator extends SequenceStyleGenerator {
+
+    public static final String MODE_SETTING = "user.id.mode";
+    public static final String NODE_SETTING = "user.id.node";
+    public static final String TIME_ORDERED_MODE = "time-ordered";
+
+    private final GeneratedUserId config;
+    private volatile Strategy strategy;
+
+    public UserIdGenerator(GeneratedUserId config) {
+        this.config = config;
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.setProperty(SEQUENCE_PARAM, config.sequenceName());
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(config.incrementSize()));
+        parameters.setProperty(OPT_PARAM, "pooled-lo");
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        Strategy current = strategy;
+        if (current == null) {
+            current = resolveStrategy(session.getFactory().getProperties());
+        }
+        return current.timeOrdered() != null ? current.timeOrdered().nextId() : super.generate(session, object);
+    }
+
+    private synchronized Strategy resolveStrategy(Map<String, Object> settings) {
+        if (strategy == null) {
+            TimeOrderedIdGenerator timeOrdered = null;
+            if (TIME_ORDERED_MODE.equals(String.valueOf(settings.get(MODE_SETTING)))) {
+                Object node = settings.get(NODE_SETTING);
+                timeOrdered = new TimeOrderedIdGenerator(node == null ? 0 : Integer.parseInt(node.toString().trim()));
+            }
+            strategy = new Strategy(timeOrdered);
+        }
+        return strategy;
+    }
+
+    private record Strategy(TimeOrderedIdGenerator timeOrdered) {
+    }
+}
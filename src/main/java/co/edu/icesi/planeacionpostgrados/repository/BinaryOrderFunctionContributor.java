@@ -0,0 +1,26 @@
+package co.edu.icesi.planeacionpostgrados.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the HQL function binary_order(text), which orders strings by code point like
+ * String.compareTo does (the two only differ outside the Basic Multilingual Plane), whatever
+ * the collation of the column.
+ *
+ * PostgreSQL sorts by the locale of the database, which on most locales ignores case and
+ * punctuation at first, so the expression is collated as "C". H2 already compares strings
+ * this way and has no COLLATE clause, so it gets the bare expression. Registered through
+ * META-INF/services.
+ */
+public class BinaryOrderFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        String pattern = functionContributions.getDialect() instanceof PostgreSQLDialect ? "(?1 collate \"C\")" : "(?1)";
+        functionContributions.getFunctionRegistry().registerPattern("binary_order", pattern,
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.STRING));
+    }
+}
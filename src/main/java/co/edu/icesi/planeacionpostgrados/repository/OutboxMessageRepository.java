@@ -0,0 +1,26 @@
+package co.edu.icesi.planeacionpostgrados.repository;
+
+import co.edu.icesi.planeacionpostgrados.enums.OutboxStatus;
+import co.edu.icesi.planeacionpostgrados.model.OutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Locks the due messages for the current transaction. Rows another transaction has
+     * locked are skipped (lock timeout -2 is Hibernate's SKIP LOCKED) instead of waited for.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<OutboxMessage> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(OutboxStatus status, Instant now, Pageable pageable);
+}
@@ -0,0 +1,19 @@
+package co.edu.icesi.planeacionpostgrados.repository;
+
+/**
+ * Timeouts of the background jobs that stream the whole user table. The request-path
+ * timeouts of application.properties (transaction, JPA query and PostgreSQL statement_timeout)
+ * would cancel such a scan on a large table, so job transactions and the stream queries
+ * use FULL_SCAN_TIMEOUT_SECONDS instead.
+ */
+public interface UserFullScanRepository {
+
+    int FULL_SCAN_TIMEOUT_SECONDS = 3600;
+    String FULL_SCAN_TIMEOUT_MS = "" + FULL_SCAN_TIMEOUT_SECONDS * 1000;
+
+    /**
+     * Raises the server-side statement_timeout to FULL_SCAN_TIMEOUT_SECONDS until the current
+     * transaction ends. Only PostgreSQL has such a backstop; on other databases it does nothing.
+     */
+    void extendStatementTimeout();
+}
@@ -0,0 +1,25 @@
+package co.edu.icesi.planeacionpostgrados.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.Statement;
+
+public class UserFullScanRepositoryImpl implements UserFullScanRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void extendStatementTimeout() {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            if ("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                try (Statement statement = connection.createStatement()) {
+                    // SET LOCAL reverts at commit or rollback, so the pooled connection keeps its backstop
+                    statement.execute("set local statement_timeout = '" + FULL_SCAN_TIMEOUT_SECONDS + "s'");
+                }
+            }
+        });
+    }
+}
@@ -1,12 +1,62 @@
 package co.edu.icesi.planeacionpostgrados.repository;
 
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
 import co.edu.icesi.planeacionpostgrados.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserFullScanRepository {
     Optional<User> findById(Long id);
+
+    /**
+     * Streams every user as an unmanaged DTO ordered by ID, so the persistence context
+     * does not grow with the table. Must be consumed inside a transaction and closed; the
+     * query is not bound by the request-path query timeout (see UserFullScanRepository).
+     */
+    @Query("select new co.edu.icesi.planeacionpostgrados.dto.UserDTO(u.id, u.name, u.documentId) from User u order by u.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = "jakarta.persistence.query.timeout", value = FULL_SCAN_TIMEOUT_MS)
+    })
+    Stream<UserDTO> streamAllOrderedById();
+
+    /**
+     * Same as streamAllOrderedById, ordered by documentId instead. The order is binary, as
+     * in String.compareTo, not the collation of the database, so it matches a sort in Java.
+     */
+    @Query("select new co.edu.icesi.planeacionpostgrados.dto.UserDTO(u.id, u.name, u.documentId) from User u order by binary_order(u.documentId), u.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = "jakarta.persistence.query.timeout", value = FULL_SCAN_TIMEOUT_MS)
+    })
+    Stream<UserDTO> streamAllOrderedByDocumentId();
+
+    /**
+     * Filters users by a case-insensitive name substring and an exact document ID;
+     * a null filter matches every user. The name is a LIKE pattern escaped with a backslash,
+     * so pass it through escapeLike to match it literally.
+     */
+    @Query("select u from User u where (:name is null or lower(u.name) like lower(concat('%', :name, '%')) escape '\\')"
+            + " and (:documentId is null or u.documentId = :documentId)")
+    Page<User> search(@Param("name") String name, @Param("documentId") String documentId, Pageable pageable);
+
+    /**
+     * Escapes the LIKE wildcards of a search term, as the read model matches it literally.
+     */
+    static String escapeLike(String value) {
+        return value == null ? null : value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
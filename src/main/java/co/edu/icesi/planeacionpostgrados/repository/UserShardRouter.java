@@ -0,0 +1,302 @@
+package co.edu.icesi.planeacionpostgrados.repository;
+
+import co.edu.icesi.planeacionpostgrados.enums.TimingPhase;
+import co.edu.icesi.planeacionpostgrados.exception.ShardedOperationException;
+import co.edu.icesi.planeacionpostgrados.util.RequestTimings;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Decides which database holds each user when users are sharded (user.sharding.enabled).
+ *
+ * A user lives on the shard given by a jump consistent hash of its ID, so adding a shard
+ * only moves about 1/N of the users. The shard of the current thread is what the routing
+ * data source connects to; work not bound to any shard goes to the first one.
+ *
+ * Without sharding there is a single shard and binding a shard changes nothing.
+ */
+@Component
+public class UserShardRouter {
+
+    private final List<String> urls;
+    private final int shardCount;
+    private final long scatterTimeoutMs;
+    private final ThreadLocal<Integer> current = new ThreadLocal<>();
+    private final ExecutorService scatterExecutor;
+
+    public UserShardRouter(@Value("${user.sharding.enabled:false}") boolean enabled,
+                           @Value("${user.sharding.urls:}") String urls,
+                           @Value("${user.sharding.scatter-threads:16}") int scatterThreads,
+                           @Value("${user.sharding.scatter-timeout-ms:5000}") long scatterTimeoutMs) {
+        this.urls = enabled ? parseUrls(urls) : List.of();
+        if (enabled && this.urls.isEmpty()) {
+            throw new IllegalArgumentException("user.sharding.urls must list at least one JDBC URL");
+        }
+        this.shardCount = Math.max(1, this.urls.size());
+        this.scatterTimeoutMs = scatterTimeoutMs;
+        this.scatterExecutor = shardCount > 1
+                ? Executors.newFixedThreadPool(Math.max(shardCount, scatterThreads), new ScatterThreadFactory())
+                : null;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * JDBC URLs of the shards, in shard order; empty without sharding.
+     */
+    public List<String> urls() {
+        return urls;
+    }
+
+    /**
+     * @param id User ID
+     * @return Index of the shard that holds the user
+     */
+    public int shardOf(long id) {
+        return shardCount == 1 ? 0 : jumpHash(mix(id), shardCount);
+    }
+
+    /**
+     * @return Shard bound to the current thread, or null if none is
+     */
+    public Integer currentShard() {
+        return current.get();
+    }
+
+    /**
+     * Runs work with the shard bound to the current thread. A transaction started inside
+     * it connects to that shard.
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        Integer previous = current.get();
+        current.set(shard);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Binds a shard to the current transaction until it completes.
+     *
+     * The transaction's connection is only taken at its first statement, so the shard must
+     * be bound before that; writes flushed at commit still go to it.
+     *
+     * @throws IllegalStateException If there is no transaction, or it already uses another shard
+     */
+    public void bindToTransaction(int shard) {
+        if (!isSharded()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("A shard can only be bound inside a transaction");
+        }
+        Integer previous = current.get();
+        if (previous != null && previous != shard) {
+            throw new IllegalStateException("Transaction already uses shard " + previous + ", cannot switch to " + shard);
+        }
+        current.set(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                restore(previous);
+            }
+        });
+    }
+
+    /**
+     * Runs the same work on every shard in parallel.
+     *
+     * @param work Receives the shard index; runs with that shard bound
+     * @return One result per shard, in shard order
+     */
+    public <T> List<T> scatter(IntFunction<T> work) {
+        if (!isSharded()) {
+            return List.of(work.apply(0));
+        }
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(scatterExecutor.submit(() -> onShard(target, () -> work.apply(target))));
+        }
+
+        // The queries run on scatter threads, so the caller's wait is its SQL time
+        RequestTimings timings = RequestTimings.current();
+        timings.enter(TimingPhase.SQL);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(scatterTimeoutMs);
+        try {
+            List<T> results = new ArrayList<>(shardCount);
+            for (Future<T> future : futures) {
+                results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (ExecutionException e) {
+            cancel(futures);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Shard query failed", e.getCause());
+        } catch (TimeoutException e) {
+            cancel(futures);
+            throw new QueryTimeoutException("Shard queries did not complete within " + scatterTimeoutMs + " ms");
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shard queries", e);
+        } finally {
+            timings.exit();
+        }
+    }
+
+    /**
+     * For jobs that read or rewrite the whole user table through a single connection.
+     *
+     * @throws ShardedOperationException If users are sharded
+     */
+    public void requireSingleShard(String operation) {
+        if (isSharded()) {
+            throw new ShardedOperationException(operation, shardCount);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * k-way merge of runs that are each sorted by the given order.
+     *
+     * @param skip Merged elements to drop before the first one returned
+     * @param limit Maximum number of elements returned
+     */
+    public static <T> List<T> mergeOrdered(List<? extends List<? extends T>> runs, Comparator<? super T> order,
+                                           long skip, int limit) {
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(Math.max(1, runs.size()),
+                (left, right) -> order.compare(left.head, right.head));
+        long available = 0;
+        for (List<? extends T> run : runs) {
+            Iterator<? extends T> iterator = run.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Cursor<>(iterator.next(), iterator));
+            }
+            available += run.size();
+        }
+        List<T> merged = new ArrayList<>((int) Math.max(0, Math.min(limit, available - skip)));
+        long skipped = 0;
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Cursor<T> cursor = heads.poll();
+            if (skipped < skip) {
+                skipped++;
+            } else {
+                merged.add(cursor.head);
+            }
+            if (cursor.rest.hasNext()) {
+                cursor.head = cursor.rest.next();
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private void restore(Integer previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+
+    private static void cancel(List<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private static List<String> parseUrls(String urls) {
+        return Arrays.stream(urls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Jump consistent hash (Lamping and Veach): maps a key to one of the buckets so that
+     * growing from n to n + 1 buckets moves only the keys that land in the new one.
+     */
+    private static int jumpHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    /**
+     * Spreads IDs whose low bits are a counter (sequence or time-ordered) over the whole range.
+     */
+    private static long mix(long id) {
+        id ^= id >>> 33;
+        id *= 0xff51afd7ed558ccdL;
+        id ^= id >>> 33;
+        id *= 0xc4ceb9fe1a85ec53L;
+        id ^= id >>> 33;
+        return id;
+    }
+
+    private static final class Cursor<T> {
+
+        private T head;
+        private final Iterator<? extends T> rest;
+
+        private Cursor(T head, Iterator<? extends T> rest) {
+            this.head = head;
+            this.rest = rest;
+        }
+    }
+
+    private static final class ScatterThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "user-shard-scatter-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package co.edu.icesi.planeacionpostgrados.serializer;
+
+import co.edu.icesi.planeacionpostgrados.dto.LoginOutDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a LoginOutDTO field by field, producing the same JSON as the reflective serializer.
+ */
+public class LoginOutDTOSerializer extends StdSerializer<LoginOutDTO> {
+
+    public static final LoginOutDTOSerializer INSTANCE = new LoginOutDTOSerializer();
+
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString USER_USERNAME = new SerializedString("userUsername");
+    private static final SerializableString USER_EXT_ID = new SerializedString("userExtId");
+    private static final SerializableString USER_EMAIL = new SerializedString("userEmail");
+    private static final SerializableString USER_PHONE = new SerializedString("userPhone");
+    private static final SerializableString USER_NAME = new SerializedString("userName");
+    private static final SerializableString USER_LASTNAME = new SerializedString("userLastname");
+    private static final SerializableString USER_DOCUMENT_ID = new SerializedString("userDocumentId");
+    private static final SerializableString ACCESS_TOKEN = new SerializedString("accessToken");
+    private static final SerializableString TOKEN_TYPE = new SerializedString("tokenType");
+    private static final SerializableString SYSTEM_HOME_PAGE = new SerializedString("systemHomePage");
+
+    public LoginOutDTOSerializer() {
+        super(LoginOutDTO.class);
+    }
+
+    @Override
+    public void serialize(LoginOutDTO login, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(login);
+        generator.writeFieldName(USER_ID);
+        generator.writeNumber(login.userId());
+        writeString(generator, USER_USERNAME, login.userUsername());
+        writeString(generator, USER_EXT_ID, login.userExtId());
+        writeString(generator, USER_EMAIL, login.userEmail());
+        writeString(generator, USER_PHONE, login.userPhone());
+        writeString(generator, USER_NAME, login.userName());
+        writeString(generator, USER_LASTNAME, login.userLastname());
+        writeString(generator, USER_DOCUMENT_ID, login.userDocumentId());
+        writeString(generator, ACCESS_TOKEN, login.accessToken());
+        writeString(generator, TOKEN_TYPE, login.tokenType());
+        writeString(generator, SYSTEM_HOME_PAGE, login.systemHomePage());
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeString(value);
+    }
+}
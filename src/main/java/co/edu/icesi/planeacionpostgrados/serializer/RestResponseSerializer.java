@@ -0,0 +1,85 @@
+package co.edu.icesi.planeacionpostgrados.serializer;
+
+import co.edu.icesi.planeacionpostgrados.dto.LoginOutDTO;
+import co.edu.icesi.planeacionpostgrados.dto.RestResponse;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes the RestResponse envelope, producing the same JSON as the reflective serializer.
+ *
+ * UserDTO and LoginOutDTO payloads, alone or in a list, are written directly; any other
+ * payload goes through the serializer the ObjectMapper has for its type.
+ */
+public class RestResponseSerializer extends StdSerializer<RestResponse<?>> {
+
+    public static final RestResponseSerializer INSTANCE = new RestResponseSerializer();
+
+    private static final SerializableString SUCCESS = new SerializedString("success");
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString DATA = new SerializedString("data");
+    private static final SerializableString ERRORS = new SerializedString("errors");
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RestResponseSerializer() {
+        super((Class) RestResponse.class);
+    }
+
+    @Override
+    public void serialize(RestResponse<?> response, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject(response);
+        generator.writeFieldName(SUCCESS);
+        generator.writeBoolean(response.isSuccess());
+        generator.writeFieldName(MESSAGE);
+        generator.writeString(response.getMessage());
+        generator.writeFieldName(DATA);
+        writeData(response.getData(), generator, provider);
+        generator.writeFieldName(ERRORS);
+        writeErrors(response.getErrors(), generator);
+        generator.writeEndObject();
+    }
+
+    private static void writeData(Object data, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (data instanceof List<?> list) {
+            generator.writeStartArray(list, list.size());
+            for (Object value : list) {
+                writeValue(value, generator, provider);
+            }
+            generator.writeEndArray();
+        } else {
+            writeValue(data, generator, provider);
+        }
+    }
+
+    private static void writeValue(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof UserDTO user) {
+            UserDTOSerializer.INSTANCE.serialize(user, generator, provider);
+        } else if (value instanceof LoginOutDTO login) {
+            LoginOutDTOSerializer.INSTANCE.serialize(login, generator, provider);
+        } else {
+            provider.defaultSerializeValue(value, generator);
+        }
+    }
+
+    private static void writeErrors(List<String> errors, JsonGenerator generator) throws IOException {
+        if (errors == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray(errors, errors.size());
+        for (String error : errors) {
+            generator.writeString(error);
+        }
+        generator.writeEndArray();
+    }
+}
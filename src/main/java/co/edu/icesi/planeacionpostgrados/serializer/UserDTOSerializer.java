@@ -0,0 +1,42 @@
+package co.edu.icesi.planeacionpostgrados.serializer;
+
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a UserDTO field by field, producing the same JSON as the reflective serializer.
+ */
+public class UserDTOSerializer extends StdSerializer<UserDTO> {
+
+    public static final UserDTOSerializer INSTANCE = new UserDTOSerializer();
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString DOCUMENT_ID = new SerializedString("documentId");
+
+    public UserDTOSerializer() {
+        super(UserDTO.class);
+    }
+
+    @Override
+    public void serialize(UserDTO user, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(user);
+        generator.writeFieldName(ID);
+        if (user.id() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(user.id());
+        }
+        generator.writeFieldName(NAME);
+        generator.writeString(user.name());
+        generator.writeFieldName(DOCUMENT_ID);
+        generator.writeString(user.documentId());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,21 @@
+package co.edu.icesi.planeacionpostgrados.serializer;
+
+import co.edu.icesi.planeacionpostgrados.dto.LoginOutDTO;
+import co.edu.icesi.planeacionpostgrados.dto.RestResponse;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Jackson module with the hand-written serializers of the API responses.
+ * Spring Boot registers it in the application ObjectMapper through JacksonConfig.
+ */
+public class UserSerializationModule extends SimpleModule {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public UserSerializationModule() {
+        super("UserSerializationModule");
+        addSerializer((Class) RestResponse.class, RestResponseSerializer.INSTANCE);
+        addSerializer(UserDTO.class, UserDTOSerializer.INSTANCE);
+        addSerializer(LoginOutDTO.class, LoginOutDTOSerializer.INSTANCE);
+    }
+}
@@ -0,0 +1,162 @@
+package co.edu.icesi.planeacionpostgrados.service;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * External merge sort of snapshot rows.
+ *
+ * Rows are sorted in chunks of at most chunkSize; every chunk but the last is spilled to a
+ * temporary run file, and the runs are merged lazily with a priority queue. Memory is bounded
+ * by one chunk plus one row per run, whatever the snapshot size.
+ */
+public final class CsvSnapshotSorter implements Closeable {
+
+    private static final CSVFormat RUN_FORMAT = CSVFormat.DEFAULT;
+
+    private final Comparator<SnapshotRow> order;
+    private final int chunkSize;
+    private final List<Path> runFiles = new ArrayList<>();
+    private final List<CSVParser> openRuns = new ArrayList<>();
+
+    public CsvSnapshotSorter(Comparator<SnapshotRow> order, int chunkSize) {
+        this.order = order;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param rows Unsorted rows
+     * @return The same rows in order, read lazily from the runs
+     */
+    public Iterator<SnapshotRow> sort(Iterator<SnapshotRow> rows) throws IOException {
+        List<Iterator<SnapshotRow>> runs = new ArrayList<>();
+        List<SnapshotRow> chunk = new ArrayList<>();
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == chunkSize && rows.hasNext()) {
+                chunk.sort(order);
+                runs.add(spill(chunk));
+                chunk = new ArrayList<>();
+            }
+        }
+        chunk.sort(order);
+        runs.add(chunk.iterator());
+        return runs.size() == 1 ? runs.get(0) : new MergingIterator(runs);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (CSVParser run : openRuns) {
+            run.close();
+        }
+        for (Path runFile : runFiles) {
+            Files.deleteIfExists(runFile);
+        }
+    }
+
+    private Iterator<SnapshotRow> spill(List<SnapshotRow> chunk) throws IOException {
+        Path runFile = Files.createTempFile("user-snapshot-run-", ".csv");
+        runFiles.add(runFile);
+        try (CSVPrinter printer = new CSVPrinter(Files.newBufferedWriter(runFile, StandardCharsets.UTF_8), RUN_FORMAT)) {
+            for (SnapshotRow row : chunk) {
+                printer.printRecord(row.id() == null ? "" : row.id(), row.name(), row.documentId(), row.line(), row.rejected());
+            }
+        }
+        CSVParser parser = RUN_FORMAT.parse(Files.newBufferedReader(runFile, StandardCharsets.UTF_8));
+        openRuns.add(parser);
+        Iterator<CSVRecord> records = parser.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return records.hasNext();
+            }
+
+            @Override
+            public SnapshotRow next() {
+                CSVRecord record = records.next();
+                String id = record.get(0);
+                return new SnapshotRow(id.isEmpty() ? null : Long.valueOf(id), record.get(1), record.get(2),
+                        Long.parseLong(record.get(3)), Boolean.parseBoolean(record.get(4)));
+            }
+        };
+    }
+
+    /**
+     * K-way merge of sorted runs.
+     */
+    private final class MergingIterator implements Iterator<SnapshotRow> {
+
+        private final PriorityQueue<RunHead> heads = new PriorityQueue<>((a, b) -> order.compare(a.row, b.row));
+
+        private MergingIterator(List<Iterator<SnapshotRow>> runs) {
+            for (Iterator<SnapshotRow> run : runs) {
+                if (run.hasNext()) {
+                    heads.add(new RunHead(run.next(), run));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public SnapshotRow next() {
+            RunHead head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            SnapshotRow row = head.row;
+            try {
+                if (head.run.hasNext()) {
+                    head.row = head.run.next();
+                    heads.add(head);
+                }
+            } catch (UncheckedIOException e) {
+                throw new IllegalStateException("Could not read snapshot run file", e);
+            }
+            return row;
+        }
+    }
+
+    private static final class RunHead {
+
+        private SnapshotRow row;
+        private final Iterator<SnapshotRow> run;
+
+        private RunHead(SnapshotRow row, Iterator<SnapshotRow> run) {
+            this.row = row;
+            this.run = run;
+        }
+    }
+
+    /**
+     * One snapshot row.
+     *
+     * @param line     Line number in the uploaded file, for error messages
+     * @param rejected True for an invalid row that only carries its matching key, so the user
+     *                 with that key is left as it is instead of deleted
+     */
+    public record SnapshotRow(Long id, String name, String documentId, long line, boolean rejected) {
+
+        public SnapshotRow(Long id, String name, String documentId, long line) {
+            this(id, name, documentId, line, false);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package co.edu.icesi.planeacionpostgrados.service;
+
+import co.edu.icesi.planeacionpostgrados.enums.CircuitState;
+import co.edu.icesi.planeacionpostgrados.exception.DataLayerUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker around the user data layer.
+ *
+ * Outcomes of the last calls are kept in a count-based window. Once enough calls were
+ * recorded and the failure rate or the slow-call rate reaches its threshold the circuit
+ * opens, and calls are rejected without touching the database until the open duration
+ * elapses. Then a few trial calls are let through: if all of them succeed in time the
+ * circuit closes again, otherwise it reopens.
+ *
+ * Only data access and transaction errors count as failures; business exceptions such as
+ * a missing user are successful calls as far as the database is concerned.
+ */
+@Component
+@Slf4j
+public class DataLayerCircuitBreaker {
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    // Guarded by this
+    private final byte[] window;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+    private CircuitState state = CircuitState.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public DataLayerCircuitBreaker(@Value("${user.circuit-breaker.window-size:50}") int windowSize,
+                                   @Value("${user.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                                   @Value("${user.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+                                   @Value("${user.circuit-breaker.slow-call-rate-threshold:80}") double slowCallRateThreshold,
+                                   @Value("${user.circuit-breaker.slow-call-duration-ms:1000}") long slowCallDurationMs,
+                                   @Value("${user.circuit-breaker.open-duration-ms:10000}") long openDurationMs,
+                                   @Value("${user.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        this.window = new byte[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallDurationMs);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+    }
+
+    /**
+     * Runs a data layer call through the breaker.
+     *
+     * @throws DataLayerUnavailableException If the circuit is open
+     */
+    public <T> T execute(Supplier<T> call) {
+        acquirePermission();
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            record(false, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            record(isFailure(e), System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    public synchronized CircuitState state() {
+        if (state == CircuitState.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            return CircuitState.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private synchronized void acquirePermission() {
+        if (state == CircuitState.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                throw new DataLayerUnavailableException("The database is unavailable, try again later");
+            }
+            transitionTo(CircuitState.HALF_OPEN);
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            if (halfOpenPermits >= halfOpenCalls) {
+                throw new DataLayerUnavailableException("The database is recovering, try again later");
+            }
+            halfOpenPermits++;
+        }
+    }
+
+    private synchronized void record(boolean failed, long elapsedNanos) {
+        boolean slow = elapsedNanos >= slowCallNanos;
+        switch (state) {
+            case CLOSED -> {
+                byte outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+                if (recorded == window.length) {
+                    byte evicted = window[next];
+                    failures -= evicted & FAILED;
+                    slowCalls -= (evicted & SLOW) >> 1;
+                } else {
+                    recorded++;
+                }
+                window[next] = outcome;
+                next = (next + 1) % window.length;
+                failures += outcome & FAILED;
+                slowCalls += (outcome & SLOW) >> 1;
+                if (recorded >= minimumCalls) {
+                    double failureRate = 100.0 * failures / recorded;
+                    double slowCallRate = 100.0 * slowCalls / recorded;
+                    if (failureRate >= failureRateThreshold || slowCallRate >= slowCallRateThreshold) {
+                        log.warn("Opening data layer circuit (failure rate: {}%, slow call rate: {}%, calls: {})",
+                                Math.round(failureRate), Math.round(slowCallRate), recorded);
+                        transitionTo(CircuitState.OPEN);
+                    }
+                }
+            }
+            case HALF_OPEN -> {
+                if (failed || slow) {
+                    log.warn("Data layer trial call {}, reopening circuit", failed ? "failed" : "was slow");
+                    transitionTo(CircuitState.OPEN);
+                } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                    log.info("Data layer recovered, closing circuit");
+                    transitionTo(CircuitState.CLOSED);
+                }
+            }
+            // Calls admitted before the circuit opened say nothing about the current state
+            case OPEN -> { }
+        }
+    }
+
+    private void transitionTo(CircuitState target) {
+        state = target;
+        halfOpenPermits = 0;
+        halfOpenSuccesses = 0;
+        if (target == CircuitState.OPEN) {
+            openedAt = System.nanoTime();
+        } else if (target == CircuitState.CLOSED) {
+            next = 0;
+            recorded = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+
+    private static boolean isFailure(RuntimeException e) {
+        return e instanceof DataAccessException || e instanceof TransactionException;
+    }
+}
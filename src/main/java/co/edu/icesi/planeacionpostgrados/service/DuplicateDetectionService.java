@@ -0,0 +1,24 @@
+package co.edu.icesi.planeacionpostgrados.service;
+
+import co.edu.icesi.planeacionpostgrados.dto.DuplicateReportDTO;
+
+/**
+ * Service interface for the background job that finds probable duplicate users.
+ */
+public interface DuplicateDetectionService {
+
+    /**
+     * Starts a new detection run unless one is already running
+     * @return Current job status with no clusters
+     */
+    DuplicateReportDTO startDetection();
+
+    /**
+     * Returns the status of the latest run and one page of its clusters,
+     * largest clusters first
+     * @param page Zero-based page number
+     * @param size Clusters per page
+     * @return Duplicate report page
+     */
+    DuplicateReportDTO getReport(int page, int size);
+}
@@ -0,0 +1,477 @@
+package co.edu.icesi.planeacionpostgrados.service;
+
+import co.edu.icesi.planeacionpostgrados.dto.DuplicateClusterDTO;
+import co.edu.icesi.planeacionpostgrados.dto.DuplicateReportDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.enums.JobStatus;
+import co.edu.icesi.planeacionpostgrados.mapper.UserMapper;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import co.edu.icesi.planeacionpostgrados.repository.UserShardRouter;
+import co.edu.icesi.planeacionpostgrados.util.MinHash;
+import co.edu.icesi.planeacionpostgrados.util.UserNormalizer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finds probable duplicate users without comparing every pair.
+ *
+ * 1. Streams all users once, keeping only compact per-user data in primitive arrays sized
+ *    from the user count: the ID, the LSH band keys and an 8-bit-per-hash MinHash signature
+ *    of the name trigrams, and a hash of the normalized documentId.
+ * 2. Blocks candidates with LSH: users whose signatures agree on every row of some band,
+ *    or whose normalized documentIds match, land in the same bucket. Buckets are found by
+ *    sorting (bucket key, index) pairs packed into longs.
+ * 3. Scores the pairs inside each bucket in parallel with fork-join and unions the
+ *    duplicates into clusters.
+ */
+@Service
+@Slf4j
+public class DuplicateDetectionServiceImpl implements DuplicateDetectionService {
+
+    private static final int BUCKETS_PER_TASK = 256;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final UserShardRouter userShardRouter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int bands;
+    private final int rows;
+    private final int maxBucketSize;
+    private final double nameThreshold;
+    private final double sameDocumentNameThreshold;
+    private final ForkJoinPool scoringPool;
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "duplicate-detection");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile JobState state = JobState.idle();
+
+    public DuplicateDetectionServiceImpl(UserRepository userRepository,
+                                         UserMapper userMapper,
+                                         PlatformTransactionManager transactionManager,
+                                         UserShardRouter userShardRouter,
+                                         @Value("${user.duplicates.bands:4}") int bands,
+                                         @Value("${user.duplicates.rows:4}") int rows,
+                                         @Value("${user.duplicates.max-bucket-size:500}") int maxBucketSize,
+                                         @Value("${user.duplicates.name-threshold:0.9}") double nameThreshold,
+                                         @Value("${user.duplicates.same-document-name-threshold:0.3}") double sameDocumentNameThreshold,
+                                         @Value("${user.duplicates.parallelism:0}") int parallelism) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.userShardRouter = userShardRouter;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout(UserRepository.FULL_SCAN_TIMEOUT_SECONDS);
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.bands = bands;
+        this.rows = rows;
+        this.maxBucketSize = maxBucketSize;
+        this.nameThreshold = nameThreshold;
+        this.sameDocumentNameThreshold = sameDocumentNameThreshold;
+        this.scoringPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public synchronized DuplicateReportDTO startDetection() {
+        userShardRouter.requireSingleShard("Duplicate detection");
+        if (state.status() != JobStatus.RUNNING) {
+            state = JobState.running(Instant.now());
+            log.info("Starting duplicate detection job");
+            jobExecutor.execute(this::runDetection);
+        }
+        return toReport(state, 0, 0);
+    }
+
+    @Override
+    public DuplicateReportDTO getReport(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return toReport(state, page, size);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        scoringPool.shutdownNow();
+    }
+
+    private void runDetection() {
+        Instant startedAt = state.startedAt();
+        try {
+            UserTable table = loadUsers();
+            UnionFind clusters = new UnionFind(table.size);
+            AtomicLong candidatePairs = new AtomicLong();
+            AtomicLong skippedBuckets = new AtomicLong();
+
+            for (int band = 0; band < bands; band++) {
+                long[] keys = new long[table.size];
+                for (int i = 0; i < table.size; i++) {
+                    keys[i] = pack(table.bandKeys[i * bands + band], i);
+                }
+                scoreBuckets(table, keys, clusters, candidatePairs, skippedBuckets);
+            }
+            long[] documentKeys = new long[table.size];
+            for (int i = 0; i < table.size; i++) {
+                documentKeys[i] = pack((int) (table.documentHashes[i] >>> 32), i);
+            }
+            scoreBuckets(table, documentKeys, clusters, candidatePairs, skippedBuckets);
+
+            List<long[]> clusterIds = collectClusters(table, clusters);
+            state = JobState.completed(startedAt, Instant.now(), table.size, candidatePairs.get(), skippedBuckets.get(), clusterIds,
+                    clusterSummaries(table, clusters, clusterIds));
+            log.info("Duplicate detection finished: {} users, {} candidate pairs, {} clusters in {} ms",
+                    table.size, candidatePairs.get(), clusterIds.size(), Instant.now().toEpochMilli() - startedAt.toEpochMilli());
+        } catch (RuntimeException e) {
+            log.error("Duplicate detection job failed: {}", e.getMessage(), e);
+            state = JobState.failed(startedAt, Instant.now(), e.getMessage());
+        }
+    }
+
+    /**
+     * Counts and streams the users in one repeatable-read transaction, so the table is sized
+     * once for exactly the users the stream returns.
+     */
+    private UserTable loadUsers() {
+        UserTable table = readOnlyTransaction.execute(status -> {
+            userRepository.extendStatementTimeout();
+            long count = userRepository.count();
+            UserTable loaded = new UserTable((int) Math.min(count, Integer.MAX_VALUE - 8), bands, rows);
+            try (Stream<UserDTO> users = userRepository.streamAllOrderedById()) {
+                users.forEach(loaded::add);
+            }
+            return loaded;
+        });
+        if (table.skipped > 0) {
+            log.warn("Duplicate detection skipped {} users beyond the {} counted", table.skipped, table.size);
+        }
+        return table;
+    }
+
+    /**
+     * Sorts the packed (bucket key, index) pairs so equal keys become adjacent,
+     * then scores every bucket in parallel.
+     */
+    private void scoreBuckets(UserTable table, long[] keys, UnionFind clusters,
+                              AtomicLong candidatePairs, AtomicLong skippedBuckets) {
+        Arrays.parallelSort(keys);
+        int[] bucketStarts = new int[16];
+        int bucketCount = 0;
+        int start = 0;
+        for (int i = 1; i <= keys.length; i++) {
+            if (i == keys.length || (keys[i] >>> 32) != (keys[start] >>> 32)) {
+                int bucketSize = i - start;
+                if (bucketSize > maxBucketSize) {
+                    skippedBuckets.incrementAndGet();
+                } else if (bucketSize > 1) {
+                    if (bucketCount + 2 > bucketStarts.length) {
+                        bucketStarts = Arrays.copyOf(bucketStarts, bucketStarts.length * 2);
+                    }
+                    bucketStarts[bucketCount++] = start;
+                    bucketStarts[bucketCount++] = i;
+                }
+                start = i;
+            }
+        }
+        scoringPool.invoke(new ScoreBucketsTask(table, keys, bucketStarts, 0, bucketCount / 2, clusters, candidatePairs));
+    }
+
+    private boolean isDuplicate(UserTable table, int first, int second) {
+        double similarity = MinHash.estimatedSimilarity(table.signatures, first * table.hashes, second * table.hashes, table.hashes);
+        boolean sameDocument = table.documentHashes[first] == table.documentHashes[second];
+        return similarity >= (sameDocument ? sameDocumentNameThreshold : nameThreshold);
+    }
+
+    private List<long[]> collectClusters(UserTable table, UnionFind clusters) {
+        Map<Integer, List<Integer>> members = new HashMap<>();
+        for (int i = 0; i < table.size; i++) {
+            if (clusters.isLinked(i)) {
+                members.computeIfAbsent(clusters.find(i), root -> new ArrayList<>()).add(i);
+            }
+        }
+        return members.values().stream()
+                .map(indexes -> indexes.stream().mapToLong(index -> table.ids[index]).toArray())
+                .sorted(Comparator.<long[]>comparingInt(ids -> -ids.length).thenComparingLong(ids -> ids[0]))
+                .collect(Collectors.toList());
+    }
+
+    private List<ClusterSummary> clusterSummaries(UserTable table, UnionFind clusters, List<long[]> clusterIds) {
+        Map<Long, Integer> indexById = new HashMap<>();
+        for (long[] ids : clusterIds) {
+            for (long id : ids) {
+                indexById.put(id, Arrays.binarySearch(table.ids, 0, table.size, id));
+            }
+        }
+        List<ClusterSummary> summaries = new ArrayList<>(clusterIds.size());
+        for (long[] ids : clusterIds) {
+            boolean sameDocument = true;
+            double minSimilarity = 1.0;
+            for (int a = 0; a < ids.length; a++) {
+                int first = indexById.get(ids[a]);
+                for (int b = a + 1; b < ids.length; b++) {
+                    int second = indexById.get(ids[b]);
+                    sameDocument &= table.documentHashes[first] == table.documentHashes[second];
+                    minSimilarity = Math.min(minSimilarity, MinHash.estimatedSimilarity(
+                            table.signatures, first * table.hashes, second * table.hashes, table.hashes));
+                }
+            }
+            summaries.add(new ClusterSummary(sameDocument, minSimilarity));
+        }
+        return summaries;
+    }
+
+    private DuplicateReportDTO toReport(JobState job, int page, int size) {
+        List<DuplicateClusterDTO> pageClusters = List.of();
+        if (size > 0 && job.clusters() != null) {
+            int from = (int) Math.min((long) page * size, job.clusters().size());
+            int to = Math.min(from + size, job.clusters().size());
+            pageClusters = loadClusters(job, from, to);
+        }
+        return DuplicateReportDTO.builder()
+                .status(job.status())
+                .startedAt(job.startedAt())
+                .finishedAt(job.finishedAt())
+                .usersScanned(job.usersScanned())
+                .candidatePairs(job.candidatePairs())
+                .skippedBuckets(job.skippedBuckets())
+                .totalClusters(job.clusters() == null ? 0 : job.clusters().size())
+                .page(page)
+                .size(size)
+                .clusters(pageClusters)
+                .failure(job.failure())
+                .build();
+    }
+
+    /**
+     * Loads the members of one page of clusters with a single query.
+     */
+    private List<DuplicateClusterDTO> loadClusters(JobState job, int from, int to) {
+        List<Long> ids = new ArrayList<>();
+        for (int c = from; c < to; c++) {
+            for (long id : job.clusters().get(c)) {
+                ids.add(id);
+            }
+        }
+        Map<Long, UserDTO> users = new HashMap<>();
+        for (User user : userRepository.findAllById(ids)) {
+            users.put(user.getId(), userMapper.toDTO(user));
+        }
+        List<DuplicateClusterDTO> result = new ArrayList<>(to - from);
+        for (int c = from; c < to; c++) {
+            List<UserDTO> members = Arrays.stream(job.clusters().get(c))
+                    .mapToObj(users::get)
+                    .filter(user -> user != null)
+                    .collect(Collectors.toList());
+            ClusterSummary summary = job.summaries().get(c);
+            result.add(DuplicateClusterDTO.builder()
+                    .users(members)
+                    .sameDocument(summary.sameDocument())
+                    .nameSimilarity(summary.nameSimilarity())
+                    .build());
+        }
+        return result;
+    }
+
+    private static long pack(int key, int index) {
+        return ((long) key << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    private static int unpackIndex(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Scores all pairs inside a range of buckets, splitting the range until it is small.
+     */
+    private final class ScoreBucketsTask extends RecursiveAction {
+
+        private final UserTable table;
+        private final long[] keys;
+        private final int[] bucketBounds;
+        private final int fromBucket;
+        private final int toBucket;
+        private final UnionFind clusters;
+        private final AtomicLong candidatePairs;
+
+        private ScoreBucketsTask(UserTable table, long[] keys, int[] bucketBounds, int fromBucket, int toBucket,
+                                 UnionFind clusters, AtomicLong candidatePairs) {
+            this.table = table;
+            this.keys = keys;
+            this.bucketBounds = bucketBounds;
+            this.fromBucket = fromBucket;
+            this.toBucket = toBucket;
+            this.clusters = clusters;
+            this.candidatePairs = candidatePairs;
+        }
+
+        @Override
+        protected void compute() {
+            if (toBucket - fromBucket > BUCKETS_PER_TASK) {
+                int middle = (fromBucket + toBucket) >>> 1;
+                invokeAll(new ScoreBucketsTask(table, keys, bucketBounds, fromBucket, middle, clusters, candidatePairs),
+                        new ScoreBucketsTask(table, keys, bucketBounds, middle, toBucket, clusters, candidatePairs));
+                return;
+            }
+            long pairs = 0;
+            for (int bucket = fromBucket; bucket < toBucket; bucket++) {
+                int start = bucketBounds[2 * bucket];
+                int end = bucketBounds[2 * bucket + 1];
+                for (int a = start; a < end; a++) {
+                    int first = unpackIndex(keys[a]);
+                    for (int b = a + 1; b < end; b++) {
+                        int second = unpackIndex(keys[b]);
+                        pairs++;
+                        if (isDuplicate(table, first, second)) {
+                            clusters.union(first, second);
+                        }
+                    }
+                }
+            }
+            candidatePairs.addAndGet(pairs);
+        }
+    }
+
+    /**
+     * Compact, column-oriented copy of the data needed for blocking and scoring, allocated
+     * once for the counted users. The full signature of a user only lives in a scratch array
+     * while its band keys and compact signature are derived from it. Rows arrive ordered by
+     * ID, so ids is sorted.
+     */
+    private static final class UserTable {
+
+        private final int bands;
+        private final int rows;
+        private final int hashes;
+        private final long[] ids;
+        private final long[] documentHashes;
+        private final int[] bandKeys;
+        private final byte[] signatures;
+        private final int[] signature;
+        private int size;
+        private long skipped;
+
+        private UserTable(int capacity, int bands, int rows) {
+            this.bands = bands;
+            this.rows = rows;
+            this.hashes = bands * rows;
+            this.ids = new long[capacity];
+            this.documentHashes = new long[capacity];
+            this.bandKeys = new int[capacity * bands];
+            this.signatures = new byte[capacity * hashes];
+            this.signature = new int[hashes];
+        }
+
+        private void add(UserDTO user) {
+            if (size == ids.length) {
+                skipped++;
+                return;
+            }
+            ids[size] = user.id();
+            documentHashes[size] = MinHash.hash64(UserNormalizer.normalizeDocumentId(user.documentId()));
+            MinHash.signature(UserNormalizer.normalizeName(user.name()), hashes, signature, 0);
+            for (int band = 0; band < bands; band++) {
+                bandKeys[size * bands + band] = MinHash.bandKey(signature, band * rows, rows, band);
+            }
+            MinHash.compact(signature, 0, hashes, signatures, size * hashes);
+            size++;
+        }
+    }
+
+    /**
+     * Union-find over row indexes with path halving; unions are rare next to comparisons,
+     * so a single lock is enough.
+     */
+    private static final class UnionFind {
+
+        private final int[] parent;
+        private final boolean[] linked;
+
+        private UnionFind(int size) {
+            this.parent = new int[size];
+            this.linked = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                parent[i] = i;
+            }
+        }
+
+        private synchronized void union(int first, int second) {
+            int firstRoot = find(first);
+            int secondRoot = find(second);
+            linked[first] = true;
+            linked[second] = true;
+            if (firstRoot != secondRoot) {
+                parent[Math.max(firstRoot, secondRoot)] = Math.min(firstRoot, secondRoot);
+            }
+        }
+
+        private synchronized boolean isLinked(int index) {
+            return linked[index];
+        }
+
+        private synchronized int find(int index) {
+            while (parent[index] != index) {
+                parent[index] = parent[parent[index]];
+                index = parent[index];
+            }
+            return index;
+        }
+    }
+
+    private record ClusterSummary(boolean sameDocument, double nameSimilarity) {
+    }
+
+    private record JobState(
+            JobStatus status,
+            Instant startedAt,
+            Instant finishedAt,
+            long usersScanned,
+            long candidatePairs,
+            long skippedBuckets,
+            List<long[]> clusters,
+            List<ClusterSummary> summaries,
+            String failure
+    ) {
+
+        static JobState idle() {
+            return new JobState(JobStatus.IDLE, null, null, 0, 0, 0, null, null, null);
+        }
+
+        static JobState running(Instant startedAt) {
+            return new JobState(JobStatus.RUNNING, startedAt, null, 0, 0, 0, null, null, null);
+        }
+
+        static JobState completed(Instant startedAt, Instant finishedAt, long usersScanned, long candidatePairs,
+                                  long skippedBuckets, List<long[]> clusters, List<ClusterSummary> summaries) {
+            return new JobState(JobStatus.COMPLETED, startedAt, finishedAt, usersScanned, candidatePairs,
+                    skippedBuckets, clusters, summaries, null);
+        }
+
+        static JobState failed(Instant startedAt, Instant finishedAt, String failure) {
+            return new JobState(JobStatus.FAILED, startedAt, finishedAt, 0, 0, 0, null, null, failure);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package co.edu.icesi.planeacionpostgrados.service;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Changes computed by a reconciliation, spilled to a temporary file while the merge runs.
+ *
+ * Nothing is applied until the whole snapshot has been merged, so a merge that fails
+ * halfway (for example because the database orders keys differently) leaves the table
+ * untouched. Memory stays independent of the delta size.
+ */
+final class ReconciliationDelta implements Closeable {
+
+    private static final CSVFormat DELTA_FORMAT = CSVFormat.DEFAULT;
+
+    private final Path file;
+    private final CSVPrinter printer;
+    private CSVParser reader;
+
+    ReconciliationDelta() throws IOException {
+        this.file = Files.createTempFile("user-reconciliation-delta-", ".csv");
+        this.printer = new CSVPrinter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), DELTA_FORMAT);
+    }
+
+    /**
+     * @param id User ID, null for inserts
+     * @param name New name, or the current one for deletes
+     * @param documentId New document ID, or the current one for deletes
+     */
+    void add(ChangeType type, Long id, String name, String documentId) {
+        try {
+            printer.printRecord(type, id == null ? "" : id, name, documentId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write reconciliation delta", e);
+        }
+    }
+
+    /**
+     * Ends the writing and reads the changes back in the order they were added.
+     */
+    Iterator<Change> replay() throws IOException {
+        printer.close();
+        reader = DELTA_FORMAT.parse(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+        Iterator<CSVRecord> records = reader.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return records.hasNext();
+            }
+
+            @Override
+            public Change next() {
+                CSVRecord record = records.next();
+                String id = record.get(1);
+                return new Change(ChangeType.valueOf(record.get(0)), id.isEmpty() ? null : Long.valueOf(id),
+                        record.get(2), record.get(3));
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        printer.close();
+        if (reader != null) {
+            reader.close();
+        }
+        Files.deleteIfExists(file);
+    }
+
+    enum ChangeType {
+        INSERT, UPDATE, DELETE
+    }
+
+    record Change(ChangeType type, Long id, String name, String documentId) {
+    }
+}
@@ -0,0 +1,716 @@
+package co.edu.icesi.planeacionpostgrados.service;
+
+import co.edu.icesi.planeacionpostgrados.dto.AuditEntryDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.enums.AuditOutcome;
+import co.edu.icesi.planeacionpostgrados.enums.UserChangeType;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only audit journal of user changes, stored as memory-mapped segment files.
+ *
+ * Every change is appended as a binary entry with the before and after images while
+ * the writing transaction is still open, and the transaction waits until the entry is
+ * on disk. Entries written close together share one fsync: a background thread forces
+ * everything appended since its previous pass (group commit). A segment is sealed and
+ * a new one started when the next entry does not fit.
+ *
+ * Because the entry is written before the commit, the journal is at-least-once: a
+ * transaction that fails to commit after its entry was written still leaves the entry.
+ * Once the transaction ends, an outcome marker naming the entry's sequence is appended,
+ * and scan() reports each change as committed, aborted or pending (no marker, because
+ * the transaction is still open or the process stopped before it ended).
+ *
+ * Segment layout: header (magic, version, first sequence, first timestamp) followed by
+ * entries of [payload length][CRC32 of payload][payload]. A zero length marks the end.
+ * Outcome markers carry the change sequence in the user ID field.
+ */
+@Component
+@ConditionalOnProperty(name = "user.audit.enabled", havingValue = "true")
+@Slf4j
+public class UserAuditJournal {
+
+    static final int MAX_SCAN_LIMIT = 1000;
+
+    private static final int MAGIC = 0x55414A31;
+    private static final int VERSION = 1;
+    private static final int SEGMENT_HEADER_SIZE = 24;
+    private static final int ENTRY_HEADER_SIZE = 8;
+    // sequence, timestamp, type, userId, image flags
+    private static final int FIXED_PAYLOAD_SIZE = 8 + 8 + 1 + 8 + 1;
+    private static final int TIMESTAMP_OFFSET = 8;
+    private static final int TYPE_OFFSET = 16;
+    private static final int USER_ID_OFFSET = 17;
+    private static final int HAS_BEFORE = 1;
+    private static final int HAS_AFTER = 2;
+    private static final int NULL_STRING = 0xFFFF;
+    // Outcome markers use type codes no UserChangeType ordinal reaches
+    private static final byte COMMITTED_MARKER = 0x40;
+    private static final byte ABORTED_MARKER = 0x41;
+    // How long after a change its outcome marker is looked for before it is reported pending
+    private static final long OUTCOME_WINDOW_MS = TimeUnit.MINUTES.toMillis(1);
+    // Entries store the ordinal, so UserChangeType constants may only be appended
+    private static final UserChangeType[] TYPES = UserChangeType.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long groupCommitWindowNanos;
+    private final boolean awaitSync;
+    private final long syncTimeoutMs;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Object syncLock = new Object();
+    private final Object syncMonitor = new Object();
+    private final List<SegmentRef> segments = new CopyOnWriteArrayList<>();
+    private final Thread syncThread;
+
+    private Segment active;
+    private long lastSequence;
+    private long lastTimestamp;
+    private volatile long writtenSequence;
+    private volatile long syncedSequence;
+    private volatile boolean running = true;
+
+    public UserAuditJournal(@Value("${user.audit.directory:data/audit}") Path directory,
+                            @Value("${user.audit.segment-size-bytes:67108864}") int segmentSize,
+                            @Value("${user.audit.group-commit-window-us:500}") long groupCommitWindowMicros,
+                            @Value("${user.audit.await-sync:true}") boolean awaitSync,
+                            @Value("${user.audit.sync-timeout-ms:5000}") long syncTimeoutMs) {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("Audit segments must be at least 4096 bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.groupCommitWindowNanos = TimeUnit.MICROSECONDS.toNanos(groupCommitWindowMicros);
+        this.awaitSync = awaitSync;
+        this.syncTimeoutMs = syncTimeoutMs;
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open audit journal in " + directory, e);
+        }
+        this.syncThread = new Thread(this::syncLoop, "user-audit-sync");
+        this.syncThread.setDaemon(true);
+        this.syncThread.start();
+    }
+
+    /**
+     * Journals the change before the transaction commits and waits for it to be durable,
+     * so no committed change can be missing from the journal. The outcome marker is
+     * appended once the transaction completes.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserChange(UserChangeEvent event) {
+        long sequence = append(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    recordOutcome(sequence, status);
+                }
+            });
+        }
+        if (awaitSync) {
+            awaitDurable(sequence);
+        }
+    }
+
+    /**
+     * Appends one entry without waiting for it to reach the disk.
+     *
+     * @return Sequence number of the entry
+     */
+    public long append(UserChangeEvent event) {
+        return append(encode(event), event.occurredAt().toEpochMilli());
+    }
+
+    private long append(byte[] payload, long occurredAtMs) {
+        int entrySize = ENTRY_HEADER_SIZE + payload.length;
+        if (entrySize > segmentSize - SEGMENT_HEADER_SIZE) {
+            throw new IllegalArgumentException("Audit entry of " + entrySize + " bytes does not fit in a segment");
+        }
+        ByteBuffer fields = ByteBuffer.wrap(payload);
+        CRC32 crc = new CRC32();
+
+        long sequence;
+        appendLock.lock();
+        try {
+            sequence = lastSequence + 1;
+            // Timestamps never go backwards, so time range scans can stop early
+            long timestamp = Math.max(lastTimestamp, occurredAtMs);
+            if (active.position + entrySize > active.buffer.capacity()) {
+                roll(sequence, timestamp);
+            }
+            fields.putLong(0, sequence);
+            fields.putLong(TIMESTAMP_OFFSET, timestamp);
+            crc.update(payload);
+
+            MappedByteBuffer buffer = active.buffer;
+            int position = active.position;
+            buffer.putInt(position, payload.length);
+            buffer.putInt(position + 4, (int) crc.getValue());
+            buffer.put(position + ENTRY_HEADER_SIZE, payload);
+            active.position = position + entrySize;
+
+            lastSequence = sequence;
+            lastTimestamp = timestamp;
+            writtenSequence = sequence;
+        } finally {
+            appendLock.unlock();
+        }
+        synchronized (syncMonitor) {
+            syncMonitor.notifyAll();
+        }
+        return sequence;
+    }
+
+    /**
+     * Blocks until the entry with the given sequence, and every earlier one, is on disk.
+     */
+    public void awaitDurable(long sequence) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(syncTimeoutMs);
+        synchronized (syncMonitor) {
+            while (syncedSequence < sequence) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    throw new IllegalStateException("Audit entry " + sequence + " was not synced within " + syncTimeoutMs + " ms");
+                }
+                try {
+                    syncMonitor.wait(remainingMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the audit journal", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Scans the journal in sequence order. Segments entirely outside the time range are
+     * skipped, and inside a segment only the fixed-size entry fields are read until an
+     * entry matches, so the images of non-matching entries are never decoded. After the
+     * last match the scan reads on for the outcome markers of the returned entries, for
+     * at most OUTCOME_WINDOW_MS of journal time.
+     *
+     * @param from Earliest recording instant, inclusive, or null
+     * @param to Latest recording instant, inclusive, or null
+     * @param userId Only entries of this user, or null for every user
+     * @param limit Maximum number of entries returned
+     * @return Matching entries, oldest first
+     */
+    public List<AuditEntryDTO> scan(Instant from, Instant to, Long userId, int limit) {
+        if (limit < 1 || limit > MAX_SCAN_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SCAN_LIMIT);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        long fromMs = from == null ? Long.MIN_VALUE : from.toEpochMilli();
+        long toMs = to == null ? Long.MAX_VALUE : to.toEpochMilli();
+
+        Segment current;
+        int activeEnd;
+        appendLock.lock();
+        try {
+            current = active;
+            activeEnd = active.position;
+        } finally {
+            appendLock.unlock();
+        }
+
+        Scan scan = new Scan(fromMs, toMs, userId, limit);
+        List<SegmentRef> refs = List.copyOf(segments);
+        for (int i = 0; i < refs.size(); i++) {
+            SegmentRef ref = refs.get(i);
+            if (ref.baseSequence() > current.baseSequence || ref.baseTimestamp() > scan.horizonMs()) {
+                break;
+            }
+            // Every entry of a segment is at most as recent as the first entry of the next one
+            if (i + 1 < refs.size() && refs.get(i + 1).baseTimestamp() < fromMs) {
+                continue;
+            }
+            ByteBuffer view;
+            int end;
+            if (ref.baseSequence() == current.baseSequence) {
+                view = current.buffer.duplicate();
+                end = activeEnd;
+            } else {
+                view = mapReadOnly(ref.path());
+                end = view.capacity();
+            }
+            if (scanSegment(view, end, scan)) {
+                break;
+            }
+        }
+        return scan.entries;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        synchronized (syncMonitor) {
+            syncMonitor.notifyAll();
+        }
+        try {
+            syncThread.join(syncTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appendLock.lock();
+        try {
+            seal(active);
+            syncedSequence = lastSequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().matches("audit-\\d{20}\\.seg"))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            segments.add(readRef(file));
+        }
+        if (segments.isEmpty()) {
+            // The first segment has no entry yet to take its timestamp from
+            active = createSegment(1, 0);
+            lastSequence = 0;
+            lastTimestamp = 0;
+        } else {
+            recover(segments.get(segments.size() - 1));
+        }
+        writtenSequence = lastSequence;
+        syncedSequence = lastSequence;
+        log.info("Audit journal opened in {} ({} segments, last sequence {})", directory, segments.size(), lastSequence);
+    }
+
+    /**
+     * Reopens the newest segment for writing after the last intact entry; a torn entry
+     * left by a crash and anything after it is zeroed.
+     */
+    private void recover(SegmentRef ref) throws IOException {
+        FileChannel channel = FileChannel.open(ref.path(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        Segment segment = new Segment(ref.baseSequence(), ref.baseTimestamp(), channel, buffer);
+
+        long expected = ref.baseSequence();
+        long timestamp = ref.baseTimestamp();
+        int position = SEGMENT_HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        while (position + ENTRY_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length < FIXED_PAYLOAD_SIZE || position + ENTRY_HEADER_SIZE + length > buffer.capacity()) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(position + ENTRY_HEADER_SIZE, length));
+            int payload = position + ENTRY_HEADER_SIZE;
+            if ((int) crc.getValue() != buffer.getInt(position + 4) || buffer.getLong(payload) != expected) {
+                break;
+            }
+            timestamp = buffer.getLong(payload + TIMESTAMP_OFFSET);
+            expected++;
+            position = payload + length;
+        }
+
+        boolean torn = false;
+        for (int i = position; i < buffer.capacity(); i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+                torn = true;
+            }
+        }
+        if (torn) {
+            buffer.force();
+            log.warn("Audit segment {} had a torn tail after sequence {}, discarded it", ref.path().getFileName(), expected - 1);
+        }
+        segment.position = position;
+        segment.syncedPosition = position;
+        active = segment;
+        lastSequence = expected - 1;
+        lastTimestamp = timestamp;
+    }
+
+    private void recordOutcome(long sequence, int status) {
+        if (status == TransactionSynchronization.STATUS_UNKNOWN) {
+            // Left pending: the database did not tell whether the transaction committed
+            log.warn("Outcome of the transaction that wrote audit entry {} is unknown", sequence);
+            return;
+        }
+        try {
+            // Not awaited: a marker lost in a crash only leaves the change reported as pending
+            append(encodeOutcome(sequence, status == TransactionSynchronization.STATUS_COMMITTED),
+                    System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.error("Could not record the outcome of audit entry {}", sequence, e);
+        }
+    }
+
+    private Segment createSegment(long baseSequence, long baseTimestamp) throws IOException {
+        Path path = directory.resolve(String.format("audit-%020d.seg", baseSequence));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, baseSequence);
+        buffer.putLong(16, baseTimestamp);
+        buffer.force(0, SEGMENT_HEADER_SIZE);
+        Segment segment = new Segment(baseSequence, baseTimestamp, channel, buffer);
+        segments.add(new SegmentRef(path, baseSequence, baseTimestamp));
+        return segment;
+    }
+
+    /**
+     * Seals the active segment and starts the next one. Called with the append lock held.
+     */
+    private void roll(long nextSequence, long nextTimestamp) {
+        try {
+            seal(active);
+            active = createSegment(nextSequence, nextTimestamp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not roll the audit journal", e);
+        }
+        // Sealing forced every earlier entry
+        synchronized (syncMonitor) {
+            syncedSequence = Math.max(syncedSequence, lastSequence);
+            syncMonitor.notifyAll();
+        }
+        log.info("Audit journal rolled over to segment starting at sequence {}", nextSequence);
+    }
+
+    private void seal(Segment segment) {
+        synchronized (syncLock) {
+            if (segment.closed) {
+                return;
+            }
+            segment.buffer.force();
+            segment.closed = true;
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close audit segment starting at sequence {}", segment.baseSequence, e);
+            }
+        }
+    }
+
+    /**
+     * Group commit: every pass forces all entries appended since the previous pass
+     * with a single msync and then releases every writer waiting on them.
+     */
+    private void syncLoop() {
+        while (running) {
+            synchronized (syncMonitor) {
+                while (running && writtenSequence == syncedSequence) {
+                    try {
+                        syncMonitor.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+            if (!running) {
+                return;
+            }
+            if (groupCommitWindowNanos > 0) {
+                // Let concurrent transactions join this sync
+                LockSupport.parkNanos(groupCommitWindowNanos);
+            }
+            try {
+                syncOnce();
+            } catch (RuntimeException e) {
+                log.error("Audit journal sync failed", e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+            }
+        }
+    }
+
+    private void syncOnce() {
+        Segment segment;
+        int from;
+        int to;
+        long sequence;
+        appendLock.lock();
+        try {
+            segment = active;
+            from = segment.syncedPosition;
+            to = segment.position;
+            sequence = lastSequence;
+        } finally {
+            appendLock.unlock();
+        }
+        synchronized (syncLock) {
+            // A sealed segment was already forced completely by roll()
+            if (!segment.closed && to > from) {
+                segment.buffer.force(from, to - from);
+                segment.syncedPosition = to;
+            }
+        }
+        synchronized (syncMonitor) {
+            syncedSequence = Math.max(syncedSequence, sequence);
+            syncMonitor.notifyAll();
+        }
+    }
+
+    /**
+     * @return true when the scan is complete: no more entries can match and every returned
+     * entry has its outcome, or the outcome window has passed
+     */
+    private static boolean scanSegment(ByteBuffer view, int end, Scan scan) {
+        int position = SEGMENT_HEADER_SIZE;
+        while (position + ENTRY_HEADER_SIZE <= end) {
+            int length = view.getInt(position);
+            if (length < FIXED_PAYLOAD_SIZE || position + ENTRY_HEADER_SIZE + length > end) {
+                return false;
+            }
+            int payload = position + ENTRY_HEADER_SIZE;
+            long timestamp = view.getLong(payload + TIMESTAMP_OFFSET);
+            byte type = view.get(payload + TYPE_OFFSET);
+            if (type == COMMITTED_MARKER || type == ABORTED_MARKER) {
+                scan.resolve(view.getLong(payload + USER_ID_OFFSET),
+                        type == COMMITTED_MARKER ? AuditOutcome.COMMITTED : AuditOutcome.ABORTED);
+            } else if (scan.collecting) {
+                if (timestamp > scan.toMs) {
+                    scan.collecting = false;
+                } else if (timestamp >= scan.fromMs
+                        && (scan.userId == null || view.getLong(payload + USER_ID_OFFSET) == scan.userId)) {
+                    scan.add(decode(view, payload));
+                }
+            }
+            if (timestamp > scan.horizonMs()) {
+                return true;
+            }
+            position = payload + length;
+        }
+        return false;
+    }
+
+    private static byte[] encodeOutcome(long changeSequence, boolean committed) {
+        ByteBuffer buffer = ByteBuffer.allocate(FIXED_PAYLOAD_SIZE);
+        // Sequence and timestamp are filled in under the append lock
+        buffer.putLong(0L);
+        buffer.putLong(0L);
+        buffer.put(committed ? COMMITTED_MARKER : ABORTED_MARKER);
+        buffer.putLong(changeSequence);
+        buffer.put((byte) 0);
+        return buffer.array();
+    }
+
+    private static byte[] encode(UserChangeEvent event) {
+        byte[][] strings = {
+                utf8(event.before() == null ? null : event.before().name()),
+                utf8(event.before() == null ? null : event.before().documentId()),
+                utf8(event.after() == null ? null : event.after().name()),
+                utf8(event.after() == null ? null : event.after().documentId())
+        };
+        int size = FIXED_PAYLOAD_SIZE;
+        if (event.before() != null) {
+            size += imageSize(strings[0], strings[1]);
+        }
+        if (event.after() != null) {
+            size += imageSize(strings[2], strings[3]);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        // Sequence and timestamp are filled in under the append lock
+        buffer.putLong(0L);
+        buffer.putLong(0L);
+        buffer.put((byte) event.type().ordinal());
+        buffer.putLong(event.userId() == null ? Long.MIN_VALUE : event.userId());
+        buffer.put((byte) ((event.before() != null ? HAS_BEFORE : 0) | (event.after() != null ? HAS_AFTER : 0)));
+        if (event.before() != null) {
+            putImage(buffer, event.before(), strings[0], strings[1]);
+        }
+        if (event.after() != null) {
+            putImage(buffer, event.after(), strings[2], strings[3]);
+        }
+        return buffer.array();
+    }
+
+    private static AuditEntryDTO decode(ByteBuffer view, int payload) {
+        ByteBuffer entry = view.duplicate().position(payload);
+        long sequence = entry.getLong();
+        long timestamp = entry.getLong();
+        UserChangeType type = TYPES[entry.get()];
+        long userId = entry.getLong();
+        int flags = entry.get();
+        UserDTO before = (flags & HAS_BEFORE) != 0 ? getImage(entry) : null;
+        UserDTO after = (flags & HAS_AFTER) != 0 ? getImage(entry) : null;
+        return AuditEntryDTO.builder()
+                .sequence(sequence)
+                .recordedAt(Instant.ofEpochMilli(timestamp))
+                .type(type)
+                .userId(userId == Long.MIN_VALUE ? null : userId)
+                .before(before)
+                .after(after)
+                .outcome(AuditOutcome.PENDING)
+                .build();
+    }
+
+    private static int imageSize(byte[] name, byte[] documentId) {
+        return 8 + 2 + (name == null ? 0 : name.length) + 2 + (documentId == null ? 0 : documentId.length);
+    }
+
+    private static void putImage(ByteBuffer buffer, UserDTO user, byte[] name, byte[] documentId) {
+        buffer.putLong(user.id() == null ? Long.MIN_VALUE : user.id());
+        putString(buffer, name);
+        putString(buffer, documentId);
+    }
+
+    private static UserDTO getImage(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        return UserDTO.builder()
+                .id(id == Long.MIN_VALUE ? null : id)
+                .name(getString(buffer))
+                .documentId(getString(buffer))
+                .build();
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putShort((short) NULL_STRING);
+        } else {
+            buffer.putShort((short) value.length);
+            buffer.put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_STRING) {
+            throw new IllegalArgumentException("Audited field is longer than " + (NULL_STRING - 1) + " bytes");
+        }
+        return bytes;
+    }
+
+    private static SegmentRef readRef(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+            channel.read(header, 0);
+            if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not an audit segment: " + path);
+            }
+            return new SegmentRef(path, header.getLong(8), header.getLong(16));
+        }
+    }
+
+    private static ByteBuffer mapReadOnly(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed; pages are read only when touched
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read audit segment " + path, e);
+        }
+    }
+
+    private record SegmentRef(Path path, long baseSequence, long baseTimestamp) {
+    }
+
+    private static final class Scan {
+
+        private final long fromMs;
+        private final long toMs;
+        private final Long userId;
+        private final int limit;
+        private final List<AuditEntryDTO> entries = new ArrayList<>();
+        // Sequence of each returned entry still waiting for its marker, to its index in entries
+        private final Map<Long, Integer> unresolved = new HashMap<>();
+        private boolean collecting = true;
+        private long outcomeDeadlineMs = Long.MIN_VALUE;
+
+        private Scan(long fromMs, long toMs, Long userId, int limit) {
+            this.fromMs = fromMs;
+            this.toMs = toMs;
+            this.userId = userId;
+            this.limit = limit;
+        }
+
+        private void add(AuditEntryDTO entry) {
+            unresolved.put(entry.sequence(), entries.size());
+            entries.add(entry);
+            outcomeDeadlineMs = entry.recordedAt().toEpochMilli() + OUTCOME_WINDOW_MS;
+            collecting = entries.size() < limit;
+        }
+
+        private void resolve(long sequence, AuditOutcome outcome) {
+            Integer index = unresolved.remove(sequence);
+            if (index != null) {
+                AuditEntryDTO entry = entries.get(index);
+                entries.set(index, new AuditEntryDTO(entry.sequence(), entry.recordedAt(), entry.type(),
+                        entry.userId(), entry.before(), entry.after(), outcome));
+            }
+        }
+
+        /**
+         * @return Latest journal timestamp that can still match or carry a pending outcome
+         */
+        private long horizonMs() {
+            long horizon = collecting ? toMs : Long.MIN_VALUE;
+            return unresolved.isEmpty() ? horizon : Math.max(horizon, outcomeDeadlineMs);
+        }
+    }
+
+    private static final class Segment {
+
+        private final long baseSequence;
+        private final long baseTimestamp;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int position = SEGMENT_HEADER_SIZE;
+        private volatile int syncedPosition = SEGMENT_HEADER_SIZE;
+        private boolean closed;
+
+        private Segment(long baseSequence, long baseTimestamp, FileChannel channel, MappedByteBuffer buffer) {
+            this.baseSequence = baseSequence;
+            this.baseTimestamp = baseTimestamp;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package co.edu.icesi.planeacionpostgrados.service;
+
+import co.edu.icesi.planeacionpostgrados.enums.TimingPhase;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeEvent;
+import co.edu.icesi.planeacionpostgrados.event.UserInvalidationEvent;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import co.edu.icesi.planeacionpostgrados.repository.UserShardRouter;
+import co.edu.icesi.planeacionpostgrados.util.RequestTimings;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataLoader-style lookup of users by ID.
+ *
+ * Concurrent lookups of the same ID share one in-flight query (single flight), and
+ * distinct IDs requested within a short window are resolved together with a single
+ * findAllById. A batch is dispatched when the window elapses or when it reaches the
+ * maximum size, whichever comes first. With sharded users each shard gets only the IDs
+ * it holds.
+ */
+@Component
+@Slf4j
+public class UserLookupLoader {
+
+    private final UserRepository userRepository;
+    private final UserShardRouter userShardRouter;
+    private final long batchWindowMicros;
+    private final int maxBatchSize;
+    private final long timeoutMs;
+
+    private final Map<Long, CompletableFuture<Optional<User>>> inFlight = new ConcurrentHashMap<>();
+    private final Object pendingLock = new Object();
+    private List<PendingLookup> pending = new ArrayList<>();
+
+    private final ScheduledExecutorService batchTimer;
+    private final ExecutorService batchExecutor;
+
+    public UserLookupLoader(UserRepository userRepository,
+                            UserShardRouter userShardRouter,
+                            @Value("${user.lookup.batch-window-us:200}") long batchWindowMicros,
+                            @Value("${user.lookup.max-batch-size:100}") int maxBatchSize,
+                            @Value("${user.lookup.loader-threads:4}") int loaderThreads,
+                            @Value("${user.lookup.timeout-ms:5000}") long timeoutMs) {
+        this.userRepository = userRepository;
+        this.userShardRouter = userShardRouter;
+        this.batchWindowMicros = batchWindowMicros;
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutMs = timeoutMs;
+        this.batchTimer = Executors.newSingleThreadScheduledExecutor(new LoaderThreadFactory("user-lookup-timer"));
+        this.batchExecutor = Executors.newFixedThreadPool(loaderThreads, new LoaderThreadFactory("user-lookup-loader"));
+    }
+
+    /**
+     * Loads one user, joining an in-flight lookup of the same ID if there is one.
+     *
+     * @param id User ID
+     * @return The user, or empty if it does not exist
+     */
+    public Optional<User> load(Long id) {
+        return await(enqueue(List.of(id)).get(id));
+    }
+
+    /**
+     * Loads several users at once.
+     *
+     * @param ids User IDs; duplicates are looked up once
+     * @return Found users keyed by ID, in the order the IDs were given
+     */
+    public Map<Long, User> loadAll(Collection<Long> ids) {
+        Map<Long, CompletableFuture<Optional<User>>> futures = enqueue(ids);
+        Map<Long, User> users = new LinkedHashMap<>();
+        futures.forEach((id, future) -> await(future).ifPresent(user -> users.put(id, user)));
+        return users;
+    }
+
+    /**
+     * Lookups started after a committed change must not join a query that may predate it.
+     */
+    @TransactionalEventListener
+    public void onUserChange(UserChangeEvent event) {
+        inFlight.remove(event.userId());
+    }
+
+    @EventListener
+    public void onUserInvalidation(UserInvalidationEvent event) {
+        if (event.all()) {
+            inFlight.clear();
+        } else {
+            event.userIds().forEach(inFlight::remove);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchTimer.shutdownNow();
+        batchExecutor.shutdown();
+    }
+
+    /**
+     * Queues the IDs that are not already in flight in one step, so the batch window
+     * never splits the IDs of a single caller across queries.
+     */
+    private Map<Long, CompletableFuture<Optional<User>>> enqueue(Collection<Long> ids) {
+        Map<Long, CompletableFuture<Optional<User>>> futures = new LinkedHashMap<>();
+        List<PendingLookup> created = new ArrayList<>();
+        for (Long id : ids) {
+            if (futures.containsKey(id)) {
+                continue;
+            }
+            CompletableFuture<Optional<User>> future = new CompletableFuture<>();
+            CompletableFuture<Optional<User>> existing = inFlight.putIfAbsent(id, future);
+            if (existing != null) {
+                futures.put(id, existing);
+            } else {
+                futures.put(id, future);
+                created.add(new PendingLookup(id, future));
+            }
+        }
+        if (created.isEmpty()) {
+            return futures;
+        }
+
+        List<List<PendingLookup>> fullBatches = new ArrayList<>();
+        boolean startWindow;
+        synchronized (pendingLock) {
+            boolean wasEmpty = pending.isEmpty();
+            for (PendingLookup lookup : created) {
+                pending.add(lookup);
+                if (pending.size() >= maxBatchSize) {
+                    fullBatches.add(pending);
+                    pending = new ArrayList<>();
+                }
+            }
+            startWindow = wasEmpty && !pending.isEmpty();
+        }
+
+        // Full batches go to the loader threads like a window flush, so the query is bounded by
+        // the caller's timeout and runs outside its transaction
+        fullBatches.forEach(this::submit);
+        if (startWindow) {
+            batchTimer.schedule(this::flush, batchWindowMicros, TimeUnit.MICROSECONDS);
+        }
+        return futures;
+    }
+
+    private void flush() {
+        List<PendingLookup> batch;
+        synchronized (pendingLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        submit(batch);
+    }
+
+    private void submit(List<PendingLookup> batch) {
+        batchExecutor.execute(() -> resolve(batch));
+    }
+
+    private void resolve(List<PendingLookup> batch) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (PendingLookup lookup : batch) {
+            ids.add(lookup.id());
+        }
+        try {
+            Map<Long, User> found = new HashMap<>(batch.size() * 2);
+            for (User user : findAllById(ids)) {
+                found.put(user.getId(), user);
+            }
+            for (PendingLookup lookup : batch) {
+                inFlight.remove(lookup.id(), lookup.future());
+                lookup.future().complete(Optional.ofNullable(found.get(lookup.id())));
+            }
+            log.debug("Resolved {} user lookups with one query", batch.size());
+        } catch (RuntimeException e) {
+            for (PendingLookup lookup : batch) {
+                inFlight.remove(lookup.id(), lookup.future());
+                lookup.future().completeExceptionally(e);
+            }
+        }
+    }
+
+    private List<User> findAllById(List<Long> ids) {
+        if (!userShardRouter.isSharded()) {
+            return userRepository.findAllById(ids);
+        }
+        Map<Integer, List<Long>> byShard = new HashMap<>();
+        for (Long id : ids) {
+            byShard.computeIfAbsent(userShardRouter.shardOf(id), shard -> new ArrayList<>()).add(id);
+        }
+        if (byShard.size() == 1) {
+            Map.Entry<Integer, List<Long>> only = byShard.entrySet().iterator().next();
+            return userShardRouter.onShard(only.getKey(), () -> userRepository.findAllById(only.getValue()));
+        }
+        List<User> users = new ArrayList<>(ids.size());
+        userShardRouter.scatter(shard -> byShard.containsKey(shard)
+                        ? userRepository.findAllById(byShard.get(shard))
+                        : List.<User>of())
+                .forEach(users::addAll);
+        return users;
+    }
+
+    private Optional<User> await(CompletableFuture<Optional<User>> future) {
+        // The query runs on a loader thread, so the caller's wait is its SQL time
+        RequestTimings timings = RequestTimings.current();
+        timings.enter(TimingPhase.SQL);
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("User lookup failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("User lookup did not complete within " + timeoutMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for user lookup", e);
+        } finally {
+            timings.exit();
+        }
+    }
+
+    private record PendingLookup(Long id, CompletableFuture<Optional<User>> future) {
+    }
+
+    private static final class LoaderThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private LoaderThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package co.edu.icesi.planeacionpostgrados.service;
+
+import co.edu.icesi.planeacionpostgrados.enums.OutboxStatus;
+import co.edu.icesi.planeacionpostgrados.model.OutboxMessage;
+import co.edu.icesi.planeacionpostgrados.repository.OutboxMessageRepository;
+import co.edu.icesi.planeacionpostgrados.repository.UserShardRouter;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Background job that delivers pending outbox messages by email.
+ *
+ * Messages go over one SMTP connection that stays open across batches and polls, and is
+ * closed once it has been idle for smtp-idle-timeout-ms or after a connection error; a
+ * connection the server dropped in between is detected and opened again before the next
+ * message. Senders other than JavaMailSenderImpl get each batch in a single call instead.
+ * Failed messages are retried with exponential backoff and marked FAILED after the
+ * configured number of attempts. Messages are written in the transaction of the change,
+ * so with sharded users every shard has its own outbox.
+ *
+ * Several instances may poll the same outbox. A batch is claimed before it is sent: its
+ * rows are locked with SKIP LOCKED and their next attempt is moved to the end of a
+ * lease, so other instances neither wait for nor pick them up. The claim commits before
+ * the SMTP call; a message whose instance dies mid-send is retried once the lease ends.
+ */
+@Service
+@ConditionalOnProperty(name = "user.notifications.enabled", havingValue = "true")
+@Slf4j
+public class UserNotificationDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final JavaMailSender mailSender;
+    private final UserShardRouter userShardRouter;
+    private final TransactionTemplate claimTransaction;
+    private final String from;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long claimLeaseMs;
+    private final long smtpIdleTimeoutNanos;
+
+    // Only used by the polling thread
+    private Transport transport;
+    private long transportLastUsedNanos;
+
+    public UserNotificationDispatcher(OutboxMessageRepository outboxMessageRepository,
+                                      JavaMailSender mailSender,
+                                      UserShardRouter userShardRouter,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${user.notifications.from}") String from,
+                                      @Value("${user.notifications.batch-size:50}") int batchSize,
+                                      @Value("${user.notifications.max-attempts:8}") int maxAttempts,
+                                      @Value("${user.notifications.initial-backoff-ms:1000}") long initialBackoffMs,
+                                      @Value("${user.notifications.max-backoff-ms:600000}") long maxBackoffMs,
+                                      @Value("${user.notifications.claim-lease-ms:600000}") long claimLeaseMs,
+                                      @Value("${user.notifications.smtp-idle-timeout-ms:30000}") long smtpIdleTimeoutMs) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.mailSender = mailSender;
+        this.userShardRouter = userShardRouter;
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        this.claimTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.from = from;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.claimLeaseMs = claimLeaseMs;
+        this.smtpIdleTimeoutNanos = smtpIdleTimeoutMs * 1_000_000L;
+    }
+
+    /**
+     * Drains every due message, one batch at a time, of each shard in turn.
+     */
+    @Scheduled(fixedDelayString = "${user.notifications.poll-interval-ms:2000}")
+    public void dispatchPending() {
+        for (int shard = 0; shard < userShardRouter.shardCount(); shard++) {
+            userShardRouter.onShard(shard, () -> {
+                int dispatched;
+                do {
+                    dispatched = dispatchBatch();
+                } while (dispatched == batchSize);
+                return null;
+            });
+        }
+        if (transport != null && System.nanoTime() - transportLastUsedNanos > smtpIdleTimeoutNanos) {
+            closeTransport();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closeTransport();
+    }
+
+    /**
+     * Sends one batch of due messages and records the outcome of each one.
+     *
+     * @return Number of messages attempted
+     */
+    public int dispatchBatch() {
+        List<OutboxMessage> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<SimpleMailMessage, OutboxMessage> byMail = new IdentityHashMap<>(batch.size());
+        SimpleMailMessage[] mails = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < mails.length; i++) {
+            mails[i] = toMail(batch.get(i));
+            byMail.put(mails[i], batch.get(i));
+        }
+
+        Map<Object, Exception> failures;
+        if (mailSender instanceof JavaMailSenderImpl pooledSender) {
+            failures = sendOverOpenTransport(pooledSender, mails);
+        } else {
+            failures = sendInOneCall(mails);
+        }
+
+        Map<OutboxMessage, Exception> failed = new IdentityHashMap<>();
+        for (Map.Entry<Object, Exception> failure : failures.entrySet()) {
+            OutboxMessage message = byMail.get(failure.getKey());
+            if (message != null) {
+                failed.put(message, failure.getValue());
+            }
+        }
+
+        Instant completedAt = Instant.now();
+        for (OutboxMessage message : batch) {
+            Exception error = failed.get(message);
+            if (error == null) {
+                markSent(message, completedAt);
+            } else {
+                markFailed(message, error, completedAt);
+            }
+        }
+        outboxMessageRepository.saveAll(batch);
+
+        log.info("Dispatched {} user notifications ({} failed)", batch.size(), failed.size());
+        return batch.size();
+    }
+
+    /**
+     * Sends each mail over the open connection, opening it first if needed. A message the
+     * server rejects fails alone; a broken connection is closed and reopened for the next one.
+     */
+    private Map<Object, Exception> sendOverOpenTransport(JavaMailSenderImpl sender, SimpleMailMessage[] mails) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        for (SimpleMailMessage mail : mails) {
+            try {
+                MimeMessage message = toMimeMessage(sender, mail);
+                openTransport(sender).sendMessage(message, message.getAllRecipients());
+            } catch (SendFailedException e) {
+                failures.put(mail, e);
+            } catch (MessagingException | MailException e) {
+                // Authentication, connection or configuration errors
+                failures.put(mail, e);
+                closeTransport();
+            }
+            transportLastUsedNanos = System.nanoTime();
+        }
+        return failures;
+    }
+
+    private Map<Object, Exception> sendInOneCall(SimpleMailMessage[] mails) {
+        try {
+            mailSender.send(mails);
+            return Map.of();
+        } catch (MailSendException e) {
+            return e.getFailedMessages();
+        } catch (MailException e) {
+            // Authentication or configuration errors fail the whole batch
+            Map<Object, Exception> failures = new IdentityHashMap<>();
+            for (SimpleMailMessage mail : mails) {
+                failures.put(mail, e);
+            }
+            return failures;
+        }
+    }
+
+    private Transport openTransport(JavaMailSenderImpl sender) throws MessagingException {
+        // isConnected sends a NOOP, so a connection the server timed out is replaced here
+        if (transport != null && transport.isConnected()) {
+            return transport;
+        }
+        closeTransport();
+        String username = sender.getUsername();
+        String password = sender.getPassword();
+        if ("".equals(username)) {
+            username = null;
+            password = "".equals(password) ? null : password;
+        }
+        Transport opened = sender.getSession().getTransport(sender.getProtocol());
+        opened.connect(sender.getHost(), sender.getPort(), username, password);
+        transport = opened;
+        return opened;
+    }
+
+    private void closeTransport() {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Could not close the SMTP connection cleanly: {}", e.getMessage());
+        }
+        transport = null;
+    }
+
+    private static MimeMessage toMimeMessage(JavaMailSenderImpl sender, SimpleMailMessage mail) throws MessagingException {
+        MimeMailMessage mimeMail = new MimeMailMessage(sender.createMimeMessage());
+        mail.copyTo(mimeMail);
+        MimeMessage message = mimeMail.getMimeMessage();
+        message.setSentDate(new Date());
+        message.saveChanges();
+        return message;
+    }
+
+    /**
+     * Takes the due messages no other instance holds and leases them to this one.
+     */
+    private List<OutboxMessage> claimBatch() {
+        return claimTransaction.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxMessage> batch = outboxMessageRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                    OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+            Instant leaseEnd = now.plusMillis(claimLeaseMs);
+            for (OutboxMessage message : batch) {
+                message.setNextAttemptAt(leaseEnd);
+            }
+            return outboxMessageRepository.saveAll(batch);
+        });
+    }
+
+    private SimpleMailMessage toMail(OutboxMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(message.getRecipient());
+        mail.setSubject(message.getSubject());
+        mail.setText(message.getBody());
+        return mail;
+    }
+
+    private void markSent(OutboxMessage message, Instant sentAt) {
+        message.setStatus(OutboxStatus.SENT);
+        message.setAttempts(message.getAttempts() + 1);
+        message.setSentAt(sentAt);
+        message.setLastError(null);
+    }
+
+    private void markFailed(OutboxMessage message, Exception error, Instant failedAt) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(String.valueOf(error.getMessage())));
+        if (attempts >= maxAttempts) {
+            message.setStatus(OutboxStatus.FAILED);
+            log.error("Giving up on notification {} after {} attempts: {}", message.getId(), attempts, error.getMessage());
+        } else {
+            message.setNextAttemptAt(failedAt.plusMillis(backoffMillis(attempts)));
+            log.warn("Notification {} failed (attempt {}), retrying later: {}", message.getId(), attempts, error.getMessage());
+        }
+    }
+
+    /**
+     * Exponential backoff with +/-20% jitter so failed batches do not retry in lockstep.
+     */
+    long backoffMillis(int attempts) {
+        long base = initialBackoffMs << Math.min(attempts - 1, 30);
+        long capped = base <= 0 ? maxBackoffMs : Math.min(base, maxBackoffMs);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return (long) (capped * jitter);
+    }
+
+    private String truncate(String value) {
+        return value.length() <= MAX_ERROR_LENGTH ? value : value.substring(0, MAX_ERROR_LENGTH);
+    }
+}
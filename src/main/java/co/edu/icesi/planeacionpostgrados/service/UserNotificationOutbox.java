@@ -0,0 +1,81 @@
+package co.edu.icesi.planeacionpostgrados.service;
+
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.enums.OutboxStatus;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeEvent;
+import co.edu.icesi.planeacionpostgrados.model.OutboxMessage;
+import co.edu.icesi.planeacionpostgrados.repository.OutboxMessageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+
+/**
+ * Writes one outbox row per user change inside the transaction that made the change,
+ * so a notification exists if and only if the change was committed.
+ */
+@Component
+@ConditionalOnProperty(name = "user.notifications.enabled", havingValue = "true")
+@Slf4j
+public class UserNotificationOutbox {
+
+    // Column length of OutboxMessage.subject; a longer subject would fail the change's transaction
+    private static final int MAX_SUBJECT_LENGTH = 255;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final String recipient;
+
+    public UserNotificationOutbox(OutboxMessageRepository outboxMessageRepository,
+                                  @Value("${user.notifications.recipient}") String recipient) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.recipient = recipient;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserChange(UserChangeEvent event) {
+        OutboxMessage message = toMessage(event);
+        outboxMessageRepository.save(message);
+        log.debug("Queued {} notification for user {}", event.type(), event.userId());
+    }
+
+    OutboxMessage toMessage(UserChangeEvent event) {
+        Instant now = Instant.now();
+        return OutboxMessage.builder()
+                .changeType(event.type())
+                .userId(event.userId())
+                .recipient(recipient)
+                .subject(subjectFor(event))
+                .body(bodyFor(event))
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+
+    private String subjectFor(UserChangeEvent event) {
+        String subject = switch (event.type()) {
+            case CREATED -> "Welcome, " + event.after().name();
+            case UPDATED -> "User " + event.userId() + " was updated";
+            case DELETED -> "User " + event.userId() + " was removed";
+        };
+        return subject.length() <= MAX_SUBJECT_LENGTH ? subject : subject.substring(0, MAX_SUBJECT_LENGTH);
+    }
+
+    private String bodyFor(UserChangeEvent event) {
+        return switch (event.type()) {
+            case CREATED -> "User " + describe(event.after()) + " was registered with ID " + event.userId() + ".";
+            case UPDATED -> "User " + event.userId() + " changed from " + describe(event.before())
+                    + " to " + describe(event.after()) + ".";
+            case DELETED -> "User " + describe(event.before()) + " with ID " + event.userId() + " was removed.";
+        };
+    }
+
+    private String describe(UserDTO user) {
+        return user == null ? "(unknown)" : user.name() + " (document " + user.documentId() + ")";
+    }
+}
@@ -0,0 +1,400 @@
+package co.edu.icesi.planeacionpostgrados.service;
+
+import co.edu.icesi.planeacionpostgrados.dto.ReadModelStatsDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserPageDTO;
+import co.edu.icesi.planeacionpostgrados.enums.UserChangeType;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeEvent;
+import co.edu.icesi.planeacionpostgrados.event.UserInvalidationEvent;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import co.edu.icesi.planeacionpostgrados.util.StringDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Columnar in-memory copy of the user table for the list and search endpoints.
+ *
+ * Users are held in parallel primitive arrays sorted by ID: the ID itself and int codes
+ * into two StringDictionaries that store every distinct name and documentId once as UTF-8.
+ * The name dictionary also keeps the names lowercased, so a name search scans only names
+ * and decodes none of them.
+ * The model is loaded by streaming UserRepository once the application is ready and is
+ * kept current by committed UserChangeEvents. Until it is ready, callers must fall back
+ * to the database.
+ */
+@Component
+@Slf4j
+public class UserReadModel {
+
+    private static final int NO_CODE = -1;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readTransaction;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Columns columns = new Columns(0);
+    private boolean ready;
+    // Changes committed while the initial load runs, applied on top of it
+    private List<UserChangeEvent> pendingChanges;
+
+    public UserReadModel(UserRepository userRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${user.read-model.enabled:false}") boolean enabled) {
+        this.userRepository = userRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setTimeout(UserRepository.FULL_SCAN_TIMEOUT_SECONDS);
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            load();
+        } catch (RuntimeException e) {
+            log.error("User read model could not be loaded, reads stay on the database", e);
+        }
+    }
+
+    /**
+     * Streams every user from the database and starts serving reads from memory.
+     */
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.nanoTime();
+        Columns loaded;
+        try {
+            loaded = readTransaction.execute(status -> {
+                userRepository.extendStatementTimeout();
+                Columns target = new Columns((int) Math.min(userRepository.count(), Integer.MAX_VALUE - 8));
+                try (Stream<UserDTO> users = userRepository.streamAllOrderedById()) {
+                    users.forEach(target::append);
+                }
+                return target;
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (UserChangeEvent change : pendingChanges) {
+                loaded.apply(change);
+            }
+            pendingChanges = null;
+            columns = loaded;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ReadModelStatsDTO stats = stats();
+        log.info("User read model loaded {} users in {} ms ({} bytes per user, {} distinct strings)",
+                stats.users(), (System.nanoTime() - start) / 1_000_000,
+                String.format(Locale.ROOT, "%.1f", stats.bytesPerUser()), stats.distinctStrings());
+    }
+
+    @TransactionalEventListener
+    public void onUserChange(UserChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                columns.apply(event);
+            }
+            // A reload in progress must see it too
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rereads the users changed on another instance. Lost invalidations leave no way to
+     * know what changed, so the whole model is reloaded.
+     */
+    @EventListener
+    public void onUserInvalidation(UserInvalidationEvent event) {
+        if (!isReady()) {
+            return;
+        }
+        if (event.all()) {
+            load();
+            return;
+        }
+        List<UserChangeEvent> changes = readTransaction.execute(status -> {
+            Map<Long, User> found = new HashMap<>();
+            for (User user : userRepository.findAllById(event.userIds())) {
+                found.put(user.getId(), user);
+            }
+            List<UserChangeEvent> current = new ArrayList<>(event.userIds().size());
+            for (Long id : event.userIds()) {
+                User user = found.get(id);
+                current.add(user == null
+                        ? UserChangeEvent.deleted(id, null)
+                        : UserChangeEvent.updated(id, null, UserDTO.builder()
+                                .id(user.getId())
+                                .name(user.getName())
+                                .documentId(user.getDocumentId())
+                                .build()));
+            }
+            return current;
+        });
+        changes.forEach(this::onUserChange);
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Every user ordered by ID
+     */
+    public List<UserDTO> findAll() {
+        lock.readLock().lock();
+        try {
+            Columns current = columns;
+            List<UserDTO> users = new ArrayList<>(current.live);
+            for (int row = 0; row < current.size; row++) {
+                if (current.names[row] != NO_CODE) {
+                    users.add(current.toDTO(row));
+                }
+            }
+            return users;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Filters and paginates users ordered by ID.
+     *
+     * @param nameContains Case-insensitive substring of the name, or null for any name
+     * @param documentId Exact document ID, or null for any document
+     * @param page Zero-based page number
+     * @param size Users per page
+     * @return Requested page and the total number of matching users
+     */
+    public UserPageDTO search(String nameContains, String documentId, int page, int size) {
+        lock.readLock().lock();
+        try {
+            Columns current = columns;
+            // Filters are evaluated once per distinct string, then rows only compare codes
+            BitSet nameMatches = null;
+            if (nameContains != null) {
+                nameMatches = current.nameDictionary.containingIgnoreCase(nameContains);
+            }
+            int documentCode = documentId == null ? NO_CODE : current.documentDictionary.find(documentId);
+            if (documentId != null && documentCode == NO_CODE) {
+                return UserPageDTO.builder().users(List.of()).page(page).size(size).totalElements(0).build();
+            }
+
+            long first = (long) page * size;
+            long matched = 0;
+            List<UserDTO> users = new ArrayList<>(Math.min(size, current.live));
+            for (int row = 0; row < current.size; row++) {
+                int nameCode = current.names[row];
+                if (nameCode == NO_CODE
+                        || (nameMatches != null && !nameMatches.get(nameCode))
+                        || (documentId != null && current.documents[row] != documentCode)) {
+                    continue;
+                }
+                if (matched >= first && users.size() < size) {
+                    users.add(current.toDTO(row));
+                }
+                matched++;
+            }
+            return UserPageDTO.builder().users(users).page(page).size(size).totalElements(matched).build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ReadModelStatsDTO stats() {
+        lock.readLock().lock();
+        try {
+            Columns current = columns;
+            long heapBytes = current.memoryBytes();
+            return ReadModelStatsDTO.builder()
+                    .ready(ready)
+                    .users(current.live)
+                    .distinctStrings(current.nameDictionary.size() + current.documentDictionary.size())
+                    .stringBytes(current.nameDictionary.poolBytes() + current.documentDictionary.poolBytes())
+                    .heapBytes(heapBytes)
+                    .bytesPerUser(current.live == 0 ? 0 : (double) heapBytes / current.live)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Parallel arrays of users sorted by ID. A deleted row keeps its ID as a tombstone,
+     * marked with NO_CODE, until enough of them pile up to rebuild the arrays.
+     */
+    private static final class Columns {
+
+        private long[] ids;
+        private int[] names;
+        private int[] documents;
+        private int size;
+        private int live;
+        private StringDictionary nameDictionary;
+        private StringDictionary documentDictionary;
+
+        private Columns(int expectedUsers) {
+            int capacity = Math.max(16, expectedUsers);
+            this.ids = new long[capacity];
+            this.names = new int[capacity];
+            this.documents = new int[capacity];
+            this.nameDictionary = new StringDictionary(capacity, true);
+            this.documentDictionary = new StringDictionary(capacity);
+        }
+
+        /**
+         * Adds a user known to have a higher ID than every row, as during the ordered load.
+         */
+        private void append(UserDTO user) {
+            ensureCapacity(size + 1);
+            ids[size] = user.id();
+            names[size] = nameDictionary.intern(user.name());
+            documents[size] = documentDictionary.intern(user.documentId());
+            size++;
+            live++;
+        }
+
+        private void apply(UserChangeEvent event) {
+            if (event.type() == UserChangeType.DELETED) {
+                remove(event.userId());
+            } else {
+                upsert(event.after());
+            }
+        }
+
+        private void upsert(UserDTO user) {
+            int row = Arrays.binarySearch(ids, 0, size, user.id());
+            if (row >= 0) {
+                if (names[row] == NO_CODE) {
+                    live++;
+                } else {
+                    nameDictionary.release(names[row]);
+                    documentDictionary.release(documents[row]);
+                }
+            } else {
+                row = -row - 1;
+                ensureCapacity(size + 1);
+                if (row < size) {
+                    // IDs are mostly increasing, so this shift is rare
+                    System.arraycopy(ids, row, ids, row + 1, size - row);
+                    System.arraycopy(names, row, names, row + 1, size - row);
+                    System.arraycopy(documents, row, documents, row + 1, size - row);
+                }
+                ids[row] = user.id();
+                size++;
+                live++;
+            }
+            names[row] = nameDictionary.intern(user.name());
+            documents[row] = documentDictionary.intern(user.documentId());
+            compactIfNeeded();
+        }
+
+        private void remove(Long id) {
+            int row = Arrays.binarySearch(ids, 0, size, id);
+            if (row < 0 || names[row] == NO_CODE) {
+                return;
+            }
+            nameDictionary.release(names[row]);
+            documentDictionary.release(documents[row]);
+            names[row] = NO_CODE;
+            documents[row] = NO_CODE;
+            live--;
+            compactIfNeeded();
+        }
+
+        private void compactIfNeeded() {
+            boolean manyTombstones = size - live > 1024 && size - live > size / 4;
+            long garbageBytes = nameDictionary.garbageBytes() + documentDictionary.garbageBytes();
+            boolean muchGarbage = garbageBytes > 64 * 1024
+                    && garbageBytes > (nameDictionary.poolBytes() + documentDictionary.poolBytes()) / 2;
+            if (!manyTombstones && !muchGarbage) {
+                return;
+            }
+            StringDictionary compactedNames = new StringDictionary(live, true);
+            StringDictionary compactedDocuments = new StringDictionary(live);
+            int target = 0;
+            for (int row = 0; row < size; row++) {
+                if (names[row] == NO_CODE) {
+                    continue;
+                }
+                ids[target] = ids[row];
+                names[target] = compactedNames.transfer(nameDictionary, names[row]);
+                documents[target] = compactedDocuments.transfer(documentDictionary, documents[row]);
+                target++;
+            }
+            size = target;
+            nameDictionary = compactedNames;
+            documentDictionary = compactedDocuments;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > ids.length) {
+                int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+                ids = Arrays.copyOf(ids, grown);
+                names = Arrays.copyOf(names, grown);
+                documents = Arrays.copyOf(documents, grown);
+            }
+        }
+
+        private UserDTO toDTO(int row) {
+            return UserDTO.builder()
+                    .id(ids[row])
+                    .name(nameDictionary.get(names[row]))
+                    .documentId(documentDictionary.get(documents[row]))
+                    .build();
+        }
+
+        private long memoryBytes() {
+            return 8L * ids.length + 4L * names.length + 4L * documents.length
+                    + nameDictionary.memoryBytes() + documentDictionary.memoryBytes();
+        }
+    }
+}
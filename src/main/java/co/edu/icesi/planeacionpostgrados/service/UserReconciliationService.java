@@ -0,0 +1,24 @@
+package co.edu.icesi.planeacionpostgrados.service;
+
+import co.edu.icesi.planeacionpostgrados.dto.ReconciliationResultDTO;
+import co.edu.icesi.planeacionpostgrados.enums.ReconciliationKey;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for reconciling a full user snapshot against the user table.
+ */
+public interface UserReconciliationService {
+
+    /**
+     * Computes the inserts, updates and deletes that make the user table match the
+     * snapshot, and applies them unless it is a dry run
+     * @param csv CSV snapshot with header id,name,documentId
+     * @param key Field used to match snapshot rows with users
+     * @param dryRun When true only the delta summary is returned
+     * @return Delta summary
+     * @throws IOException If the snapshot cannot be read
+     */
+    ReconciliationResultDTO reconcile(InputStream csv, ReconciliationKey key, boolean dryRun) throws IOException;
+}
@@ -0,0 +1,413 @@
+package co.edu.icesi.planeacionpostgrados.service;
+
+import co.edu.icesi.planeacionpostgrados.dto.ReconciliationResultDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.enums.ReconciliationKey;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeEvent;
+import co.edu.icesi.planeacionpostgrados.mapper.UserMapper;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import co.edu.icesi.planeacionpostgrados.repository.UserShardRouter;
+import co.edu.icesi.planeacionpostgrados.service.CsvSnapshotSorter.SnapshotRow;
+import co.edu.icesi.planeacionpostgrados.service.ReconciliationDelta.Change;
+import co.edu.icesi.planeacionpostgrados.service.ReconciliationDelta.ChangeType;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reconciles a full user snapshot against the user table in one sort-merge pass.
+ *
+ * The snapshot is externally sorted by the matching key and merged with a stream of users
+ * ordered by the same key: a user only in the table is deleted, a row only in the snapshot is
+ * inserted and a pair with different fields is updated. An invalid row still takes part in the
+ * merge by its key, when it has one, so the user it stands for is left as it is rather than
+ * deleted; when the key of some invalid row is unknown, no user can be known to be missing and
+ * the delta is only computed, as in a dry run. The delta is spilled to a temporary
+ * file during the merge and only applied once the merge completed, in chunks, each in its own
+ * transaction, so memory depends on the chunk sizes and never on the table size, and a merge
+ * that fails leaves the table as it was.
+ */
+@Service
+@Slf4j
+public class UserReconciliationServiceImpl implements UserReconciliationService {
+
+    private static final CSVFormat SNAPSHOT_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_DOCUMENT_ID_LENGTH = 25;
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final UserShardRouter userShardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate chunkTransaction;
+    private final int sortChunkSize;
+    private final int applyChunkSize;
+    private final int maxRejections;
+
+    public UserReconciliationServiceImpl(UserRepository userRepository,
+                                         UserMapper userMapper,
+                                         ApplicationEventPublisher eventPublisher,
+                                         PlatformTransactionManager transactionManager,
+                                         UserShardRouter userShardRouter,
+                                         @Value("${user.reconciliation.sort-chunk-size:50000}") int sortChunkSize,
+                                         @Value("${user.reconciliation.apply-chunk-size:500}") int applyChunkSize,
+                                         @Value("${user.reconciliation.max-rejections:20}") int maxRejections) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.userShardRouter = userShardRouter;
+        this.eventPublisher = eventPublisher;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setTimeout(UserRepository.FULL_SCAN_TIMEOUT_SECONDS);
+        // Chunks commit independently of the long-running read that streams the table
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.sortChunkSize = sortChunkSize;
+        this.applyChunkSize = applyChunkSize;
+        this.maxRejections = maxRejections;
+    }
+
+    @Override
+    public ReconciliationResultDTO reconcile(InputStream csv, ReconciliationKey key, boolean dryRun) throws IOException {
+        log.info("Reconciling user snapshot by {} (dryRun={})", key, dryRun);
+        userShardRouter.requireSingleShard("User reconciliation");
+        try (CSVParser parser = SNAPSHOT_FORMAT.parse(new InputStreamReader(csv, StandardCharsets.UTF_8));
+             CsvSnapshotSorter sorter = new CsvSnapshotSorter(snapshotOrder(key), sortChunkSize);
+             ReconciliationDelta delta = new ReconciliationDelta()) {
+            Reconciliation reconciliation = new Reconciliation(key, dryRun, delta);
+            Iterator<SnapshotRow> rows = StreamSupport.stream(parser.spliterator(), false)
+                    .map(record -> toRow(record, reconciliation))
+                    .filter(Objects::nonNull)
+                    .iterator();
+            Iterator<SnapshotRow> snapshot = sorter.sort(rows);
+
+            readTransaction.executeWithoutResult(status -> {
+                userRepository.extendStatementTimeout();
+                try (Stream<UserDTO> users = key == ReconciliationKey.ID
+                        ? userRepository.streamAllOrderedById()
+                        : userRepository.streamAllOrderedByDocumentId()) {
+                    merge(users.iterator(), snapshot, reconciliation);
+                }
+            });
+            if (!dryRun && reconciliation.unkeyedRejections > 0) {
+                log.warn("Not applying the user snapshot: {} rejected rows have no {} to match", reconciliation.unkeyedRejections, key);
+                reconciliation.applied = false;
+            } else if (!dryRun) {
+                reconciliation.apply(delta.replay());
+            }
+
+            ReconciliationResultDTO result = reconciliation.result();
+            log.info("User snapshot reconciled: {} inserts, {} updates, {} deletes, {} rejected, {} users kept for rejected rows",
+                    result.inserts(), result.updates(), result.deletes(), result.rejectedRows(), result.keptUsers());
+            return result;
+        }
+    }
+
+    private void merge(Iterator<UserDTO> users, Iterator<SnapshotRow> snapshot, Reconciliation reconciliation) {
+        UserDTO user = nextUser(users, null, reconciliation);
+        SnapshotRow row = nextRow(snapshot, null, reconciliation);
+        while (user != null || row != null) {
+            int comparison = user == null ? 1 : row == null ? -1 : reconciliation.compare(user, row);
+            if (comparison < 0) {
+                reconciliation.delete(user);
+                user = nextUser(users, user, reconciliation);
+            } else if (comparison > 0) {
+                if (!row.rejected()) {
+                    reconciliation.insert(row);
+                }
+                row = nextRow(snapshot, row, reconciliation);
+            } else {
+                if (row.rejected()) {
+                    reconciliation.keptUsers++;
+                } else if (Objects.equals(user.name(), row.name()) && Objects.equals(user.documentId(), row.documentId())) {
+                    reconciliation.unchanged++;
+                } else {
+                    reconciliation.update(user, row);
+                }
+                user = nextUser(users, user, reconciliation);
+                row = nextRow(snapshot, row, reconciliation);
+            }
+        }
+    }
+
+    /**
+     * Advances the table stream, checking that the database returns rows in the order the merge expects.
+     */
+    private UserDTO nextUser(Iterator<UserDTO> users, UserDTO previous, Reconciliation reconciliation) {
+        if (!users.hasNext()) {
+            return null;
+        }
+        UserDTO user = users.next();
+        reconciliation.existingUsers++;
+        if (previous != null && reconciliation.compareUsers(previous, user) > 0) {
+            throw new IllegalStateException("The database orders users differently from the snapshot; nothing was changed, reconcile by ID instead");
+        }
+        return user;
+    }
+
+    /**
+     * Advances the sorted snapshot, rejecting rows whose key repeats the previous one. Rejected
+     * rows sort first among equal keys, so a key with any invalid row keeps its user unchanged.
+     */
+    private SnapshotRow nextRow(Iterator<SnapshotRow> snapshot, SnapshotRow previous, Reconciliation reconciliation) {
+        while (snapshot.hasNext()) {
+            SnapshotRow row = snapshot.next();
+            if (previous != null && reconciliation.compareKeys(previous, row) == 0) {
+                if (!row.rejected()) {
+                    reconciliation.reject(row.line(), "duplicate " + reconciliation.key + " " + reconciliation.keyOf(row));
+                }
+                continue;
+            }
+            if (!row.rejected()) {
+                reconciliation.snapshotRows++;
+            }
+            return row;
+        }
+        return null;
+    }
+
+    private SnapshotRow toRow(CSVRecord record, Reconciliation reconciliation) {
+        long line = record.getRecordNumber() + 1;
+        String name = field(record, "name");
+        String documentId = field(record, "documentId");
+        String id = field(record, "id");
+
+        Long parsedId = null;
+        String idError = null;
+        if (id != null && !id.isEmpty()) {
+            try {
+                parsedId = Long.valueOf(id);
+            } catch (NumberFormatException e) {
+                idError = "id '" + id + "' is not a number";
+            }
+        }
+
+        String error = null;
+        if (name == null || name.isEmpty() || name.length() > MAX_NAME_LENGTH) {
+            error = "name is required and must have at most " + MAX_NAME_LENGTH + " characters";
+        } else if (documentId == null || documentId.isEmpty() || documentId.length() > MAX_DOCUMENT_ID_LENGTH) {
+            error = "documentId is required and must have at most " + MAX_DOCUMENT_ID_LENGTH + " characters";
+        } else if (idError != null) {
+            error = idError;
+        } else if (parsedId == null && reconciliation.key == ReconciliationKey.ID) {
+            error = "id is required when reconciling by ID";
+        }
+        if (error == null) {
+            return new SnapshotRow(parsedId, name, documentId, line);
+        }
+
+        reconciliation.reject(line, error);
+        boolean keyed = reconciliation.key == ReconciliationKey.ID
+                ? parsedId != null
+                : documentId != null && !documentId.isEmpty();
+        if (!keyed) {
+            reconciliation.unkeyedRejections++;
+            return null;
+        }
+        return new SnapshotRow(parsedId, null, documentId, line, true);
+    }
+
+    private String field(CSVRecord record, String column) {
+        return record.isSet(column) ? record.get(column) : null;
+    }
+
+    private Comparator<SnapshotRow> keyOrder(ReconciliationKey key) {
+        return key == ReconciliationKey.ID
+                ? Comparator.comparing(SnapshotRow::id)
+                : Comparator.comparing(SnapshotRow::documentId);
+    }
+
+    private Comparator<SnapshotRow> snapshotOrder(ReconciliationKey key) {
+        return keyOrder(key).thenComparing(SnapshotRow::rejected, Comparator.reverseOrder());
+    }
+
+    /**
+     * Running delta: counters, rejections, the spilled changes and the chunk being applied.
+     */
+    private final class Reconciliation {
+
+        private final ReconciliationKey key;
+        private final Comparator<SnapshotRow> keyOrder;
+        private final boolean dryRun;
+        private final ReconciliationDelta delta;
+        private final List<String> rejections = new ArrayList<>();
+        private final List<SnapshotRow> pendingInserts = new ArrayList<>();
+        private final Map<Long, SnapshotRow> pendingUpdates = new HashMap<>();
+        private final List<UserDTO> pendingDeletes = new ArrayList<>();
+
+        private long snapshotRows;
+        private long existingUsers;
+        private long inserts;
+        private long updates;
+        private long deletes;
+        private long unchanged;
+        private long rejectedRows;
+        private long keptUsers;
+        private long unkeyedRejections;
+        private boolean applied;
+
+        private Reconciliation(ReconciliationKey key, boolean dryRun, ReconciliationDelta delta) {
+            this.key = key;
+            this.keyOrder = keyOrder(key);
+            this.dryRun = dryRun;
+            this.applied = !dryRun;
+            this.delta = delta;
+        }
+
+        private Comparable<?> keyOf(SnapshotRow row) {
+            return key == ReconciliationKey.ID ? row.id() : row.documentId();
+        }
+
+        private int compare(UserDTO user, SnapshotRow row) {
+            return key == ReconciliationKey.ID
+                    ? user.id().compareTo(row.id())
+                    : user.documentId().compareTo(row.documentId());
+        }
+
+        private int compareUsers(UserDTO first, UserDTO second) {
+            return key == ReconciliationKey.ID
+                    ? first.id().compareTo(second.id())
+                    : first.documentId().compareTo(second.documentId());
+        }
+
+        private int compareKeys(SnapshotRow first, SnapshotRow second) {
+            return keyOrder.compare(first, second);
+        }
+
+        private SnapshotRow reject(long line, String reason) {
+            rejectedRows++;
+            if (rejections.size() < maxRejections) {
+                rejections.add("Line " + line + ": " + reason);
+            }
+            return null;
+        }
+
+        private void insert(SnapshotRow row) {
+            // IDs are assigned by the database, so a snapshot ID the table does not know cannot be honored
+            if (key == ReconciliationKey.ID) {
+                snapshotRows--;
+                reject(row.line(), "no user with id " + row.id());
+                return;
+            }
+            inserts++;
+            if (!dryRun) {
+                delta.add(ChangeType.INSERT, null, row.name(), row.documentId());
+            }
+        }
+
+        private void update(UserDTO user, SnapshotRow row) {
+            updates++;
+            if (!dryRun) {
+                delta.add(ChangeType.UPDATE, user.id(), row.name(), row.documentId());
+            }
+        }
+
+        private void delete(UserDTO user) {
+            deletes++;
+            if (!dryRun) {
+                delta.add(ChangeType.DELETE, user.id(), user.name(), user.documentId());
+            }
+        }
+
+        /**
+         * Applies the whole delta, once the merge has completed, in chunks of applyChunkSize.
+         */
+        private void apply(Iterator<Change> changes) {
+            while (changes.hasNext()) {
+                Change change = changes.next();
+                switch (change.type()) {
+                    case INSERT -> pendingInserts.add(new SnapshotRow(null, change.name(), change.documentId(), 0));
+                    case UPDATE -> pendingUpdates.put(change.id(), new SnapshotRow(change.id(), change.name(), change.documentId(), 0));
+                    case DELETE -> pendingDeletes.add(new UserDTO(change.id(), change.name(), change.documentId()));
+                }
+                applyIfFull();
+            }
+            applyPending();
+        }
+
+        private void applyIfFull() {
+            if (pendingInserts.size() + pendingUpdates.size() + pendingDeletes.size() >= applyChunkSize) {
+                applyPending();
+            }
+        }
+
+        /**
+         * Applies the current chunk in its own transaction, one batched statement group per change type.
+         */
+        private void applyPending() {
+            if (pendingInserts.isEmpty() && pendingUpdates.isEmpty() && pendingDeletes.isEmpty()) {
+                return;
+            }
+            chunkTransaction.executeWithoutResult(status -> {
+                if (!pendingDeletes.isEmpty()) {
+                    userRepository.deleteAllByIdInBatch(pendingDeletes.stream().map(UserDTO::id).toList());
+                    pendingDeletes.forEach(user -> eventPublisher.publishEvent(UserChangeEvent.deleted(user.id(), user)));
+                }
+                if (!pendingUpdates.isEmpty()) {
+                    for (User user : userRepository.findAllById(pendingUpdates.keySet())) {
+                        SnapshotRow row = pendingUpdates.get(user.getId());
+                        UserDTO before = userMapper.toDTO(user);
+                        user.setName(row.name());
+                        user.setDocumentId(row.documentId());
+                        eventPublisher.publishEvent(UserChangeEvent.updated(user.getId(), before, userMapper.toDTO(user)));
+                    }
+                }
+                if (!pendingInserts.isEmpty()) {
+                    List<User> created = pendingInserts.stream()
+                            .map(row -> userMapper.toNewEntity(new UserDTO(null, row.name(), row.documentId())))
+                            .toList();
+                    for (User user : userRepository.saveAll(created)) {
+                        eventPublisher.publishEvent(UserChangeEvent.created(userMapper.toDTO(user)));
+                    }
+                }
+            });
+            pendingInserts.clear();
+            pendingUpdates.clear();
+            pendingDeletes.clear();
+        }
+
+        private ReconciliationResultDTO result() {
+            return ReconciliationResultDTO.builder()
+                    .dryRun(!applied)
+                    .key(key)
+                    .snapshotRows(snapshotRows)
+                    .existingUsers(existingUsers)
+                    .inserts(inserts)
+                    .updates(updates)
+                    .deletes(deletes)
+                    .unchanged(unchanged)
+                    .rejectedRows(rejectedRows)
+                    .keptUsers(keptUsers)
+                    .rejections(List.copyOf(rejections))
+                    .build();
+        }
+    }
+}
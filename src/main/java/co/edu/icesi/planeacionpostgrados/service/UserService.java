@@ -3,6 +3,7 @@ package co.edu.icesi.planeacionpostgrados.service;
 import co.edu.icesi.planeacionpostgrados.dto.LoginInDTO;
 import co.edu.icesi.planeacionpostgrados.dto.LoginOutDTO;
 import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserPageDTO;
 
 import java.util.List;
 
@@ -26,6 +27,13 @@ public interface UserService {
      */
     UserDTO getUserById(Long id);
     
+    /**
+     * Retrieves several users by their IDs with a single batched lookup
+     * @param ids User IDs
+     * @return Found users in the order requested; unknown IDs are skipped
+     */
+    List<UserDTO> getUsersByIds(List<Long> ids);
+    
     /**
      * Creates a new user
      * @param userDTO User creation data
@@ -52,4 +60,14 @@ public interface UserService {
      * @return List of user DTOs
      */
     List<UserDTO> getAllUsers();
+    
+    /**
+     * Retrieves one page of users ordered by ID, optionally filtered
+     * @param name Case-insensitive substring of the name, or null
+     * @param documentId Exact document ID, or null
+     * @param page Zero-based page number
+     * @param size Users per page
+     * @return Requested page and total number of matching users
+     */
+    UserPageDTO searchUsers(String name, String documentId, int page, int size);
 }
@@ -3,16 +3,33 @@ package co.edu.icesi.planeacionpostgrados.service;
 import co.edu.icesi.planeacionpostgrados.dto.LoginInDTO;
 import co.edu.icesi.planeacionpostgrados.dto.LoginOutDTO;
 import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserPageDTO;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeEvent;
+import co.edu.icesi.planeacionpostgrados.exception.DataLayerUnavailableException;
 import co.edu.icesi.planeacionpostgrados.exception.UserNotFoundException;
 import co.edu.icesi.planeacionpostgrados.mapper.UserMapper;
 import co.edu.icesi.planeacionpostgrados.model.User;
 import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import co.edu.icesi.planeacionpostgrados.repository.UserShardRouter;
+import co.edu.icesi.planeacionpostgrados.util.StaleReads;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -20,12 +37,51 @@ import java.util.stream.Collectors;
  * Handles all user-related business logic and data operations.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class UserServiceImpl implements UserService {
     
+    static final int MAX_IDS_PER_REQUEST = 100;
+    static final int MAX_PAGE_SIZE = 500;
+    // Every shard returns the rows up to the end of the page before the merge
+    static final int MAX_SHARDED_SEARCH_WINDOW = 10_000;
+
+    private static final Sort BY_ID = Sort.by("id");
+    private static final Comparator<User> USER_ID_ORDER = Comparator.comparing(User::getId);
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserLookupLoader userLookupLoader;
+    private final UserReadModel userReadModel;
+    private final DataLayerCircuitBreaker circuitBreaker;
+    private final UserStaleCache userStaleCache;
+    private final UserWriteBehindBuffer userWriteBehindBuffer;
+    private final UserShardRouter userShardRouter;
+    // Writes open their transaction inside the breaker, so an open circuit rejects them
+    // before a connection is taken and a failed flush or commit counts against it
+    private final TransactionTemplate writeTransaction;
+
+    public UserServiceImpl(UserRepository userRepository,
+                           UserMapper userMapper,
+                           ApplicationEventPublisher eventPublisher,
+                           UserLookupLoader userLookupLoader,
+                           UserReadModel userReadModel,
+                           DataLayerCircuitBreaker circuitBreaker,
+                           UserStaleCache userStaleCache,
+                           UserWriteBehindBuffer userWriteBehindBuffer,
+                           UserShardRouter userShardRouter,
+                           PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.eventPublisher = eventPublisher;
+        this.userLookupLoader = userLookupLoader;
+        this.userReadModel = userReadModel;
+        this.circuitBreaker = circuitBreaker;
+        this.userStaleCache = userStaleCache;
+        this.userWriteBehindBuffer = userWriteBehindBuffer;
+        this.userShardRouter = userShardRouter;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
 
     @Transactional
     @Override
@@ -39,49 +95,116 @@ public class UserServiceImpl implements UserService {
     public UserDTO getUserById(Long id) {
         log.info("Fetching user with ID: {}", id);
         
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException(id));
+        if (userWriteBehindBuffer.hasPending()) {
+            Optional<UserDTO> buffered = userWriteBehindBuffer.get(id);
+            if (buffered.isPresent()) {
+                return buffered.get();
+            }
+        }
+        // Concurrent lookups are coalesced and batched by the loader
+        Optional<User> found;
+        try {
+            found = circuitBreaker.execute(() -> userLookupLoader.load(id));
+        } catch (DataLayerUnavailableException | DataAccessException | TransactionException e) {
+            UserDTO cached = userStaleCache.get(id).orElseThrow(() -> e);
+            return stale(cached, e);
+        }
+        User user = found.orElseThrow(() -> new UserNotFoundException(id));
         
-        return userMapper.toDTO(user);
+        UserDTO result = userMapper.toDTO(user);
+        userStaleCache.put(result);
+        return result;
+    }
+
+    @Override
+    public List<UserDTO> getUsersByIds(List<Long> ids) {
+        log.info("Fetching {} users by ID", ids.size());
+        
+        if (ids.size() > MAX_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_IDS_PER_REQUEST + " IDs can be requested at once");
+        }
+        // An empty entry such as ?ids=1,,2 binds to null
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("IDs must not be empty");
+        }
+        
+        List<UserDTO> users;
+        try {
+            users = circuitBreaker.execute(() -> userLookupLoader.loadAll(ids))
+                    .values()
+                    .stream()
+                    .map(userMapper::toDTO)
+                    .collect(Collectors.toList());
+        } catch (DataLayerUnavailableException | DataAccessException | TransactionException e) {
+            // Partial answer: only the users read before the database became unavailable
+            List<UserDTO> cached = ids.stream()
+                    .distinct()
+                    .map(userStaleCache::get)
+                    .flatMap(Optional::stream)
+                    .collect(Collectors.toList());
+            return stale(cached, e);
+        }
+        userStaleCache.putAll(users);
+        return withBufferedUpdates(users);
     }
 
-    @Transactional
     @Override
     public UserDTO createUser(UserDTO userDTO) {
         log.info("Creating new user with name: {}", userDTO.name());
         
-        User user = userMapper.toEntity(userDTO);
-        User savedUser = userRepository.save(user);
+        UserDTO createdUser = circuitBreaker.execute(() -> writeTransaction.execute(status -> {
+            User savedUser = userRepository.save(userMapper.toNewEntity(userDTO));
+            // The ID is assigned without a statement and the insert waits for the flush, so
+            // the shard can still be chosen from it
+            userShardRouter.bindToTransaction(userShardRouter.shardOf(savedUser.getId()));
+            UserDTO result = userMapper.toDTO(savedUser);
+            eventPublisher.publishEvent(UserChangeEvent.created(result));
+            return result;
+        }));
         
-        log.info("User created successfully with ID: {}", savedUser.getId());
-        return userMapper.toDTO(savedUser);
+        log.info("User created successfully with ID: {}", createdUser.id());
+        return createdUser;
     }
 
-    @Transactional
     @Override
     public UserDTO updateUser(Long id, UserDTO userDTO) {
         log.info("Updating user with ID: {}", id);
         
-        User existingUser = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException(id));
-        
-        userMapper.updateEntityFromDTO(userDTO, existingUser);
-        User updatedUser = userRepository.save(existingUser);
-        
-        log.info("User updated successfully with ID: {}", updatedUser.getId());
-        return userMapper.toDTO(updatedUser);
+        // Buffered updates are written by the flusher in its own transaction
+        if (userWriteBehindBuffer.isEnabled()) {
+            return bufferUpdate(id, userDTO);
+        }
+        return circuitBreaker.execute(() -> writeTransaction.execute(status -> {
+            userShardRouter.bindToTransaction(userShardRouter.shardOf(id));
+            User existingUser = userRepository.findById(id)
+                    .orElseThrow(() -> new UserNotFoundException(id));
+            UserDTO previousUser = userMapper.toDTO(existingUser);
+            
+            userMapper.updateEntityFromDTO(userDTO, existingUser);
+            User updatedUser = userRepository.save(existingUser);
+            UserDTO result = userMapper.toDTO(updatedUser);
+            eventPublisher.publishEvent(UserChangeEvent.updated(id, previousUser, result));
+            
+            log.info("User updated successfully with ID: {}", updatedUser.getId());
+            return result;
+        }));
     }
 
-    @Transactional
     @Override
     public void deleteUser(Long id) {
         log.info("Deleting user with ID: {}", id);
         
-        if (!userRepository.existsById(id)) {
-            throw new UserNotFoundException(id);
-        }
-        
-        userRepository.deleteById(id);
+        circuitBreaker.execute(() -> writeTransaction.execute(status -> {
+            userShardRouter.bindToTransaction(userShardRouter.shardOf(id));
+            // Load once instead of existsById + deleteById, which queried the row twice
+            User existingUser = userRepository.findById(id)
+                    .orElseThrow(() -> new UserNotFoundException(id));
+            
+            userRepository.delete(existingUser);
+            discardBufferedUpdateAfterCommit(id);
+            eventPublisher.publishEvent(UserChangeEvent.deleted(id, userMapper.toDTO(existingUser)));
+            return null;
+        }));
         log.info("User deleted successfully with ID: {}", id);
     }
 
@@ -89,9 +212,141 @@ public class UserServiceImpl implements UserService {
     public List<UserDTO> getAllUsers() {
         log.info("Fetching all users");
         
-        return userRepository.findAll()
-                .stream()
-                .map(userMapper::toDTO)
-                .collect(Collectors.toList());
+        if (userReadModel.isReady()) {
+            return withBufferedUpdates(userReadModel.findAll());
+        }
+        List<UserDTO> users;
+        try {
+            users = circuitBreaker.execute(this::findAllUsers)
+                    .stream()
+                    .map(userMapper::toDTO)
+                    .collect(Collectors.toList());
+        } catch (DataLayerUnavailableException | DataAccessException | TransactionException e) {
+            List<UserDTO> cached = userStaleCache.allUsers().orElseThrow(() -> e);
+            return stale(cached, e);
+        }
+        userStaleCache.putAllUsers(users);
+        return withBufferedUpdates(users);
+    }
+
+    @Override
+    public UserPageDTO searchUsers(String name, String documentId, int page, int size) {
+        log.info("Searching users (name: {}, documentId: {}, page: {}, size: {})", name, documentId, page, size);
+        
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (userShardRouter.isSharded() && (long) (page + 1) * size > MAX_SHARDED_SEARCH_WINDOW) {
+            throw new IllegalArgumentException("Only the first " + MAX_SHARDED_SEARCH_WINDOW
+                    + " results can be paged through while users are sharded; narrow the search");
+        }
+        String nameFilter = name == null || name.isBlank() ? null : name;
+        String documentFilter = documentId == null || documentId.isBlank() ? null : documentId;
+        
+        if (userReadModel.isReady()) {
+            return withBufferedUpdates(userReadModel.search(nameFilter, documentFilter, page, size));
+        }
+        Page<User> users;
+        try {
+            users = circuitBreaker.execute(() -> searchShards(nameFilter, documentFilter, page, size));
+        } catch (DataLayerUnavailableException | DataAccessException | TransactionException e) {
+            UserPageDTO cached = userStaleCache.search(nameFilter, documentFilter, page, size).orElseThrow(() -> e);
+            return stale(cached, e);
+        }
+        return withBufferedUpdates(UserPageDTO.builder()
+                .users(users.map(userMapper::toDTO).getContent())
+                .page(page)
+                .size(size)
+                .totalElements(users.getTotalElements())
+                .build());
+    }
+
+    private List<User> findAllUsers() {
+        if (!userShardRouter.isSharded()) {
+            return userRepository.findAll();
+        }
+        List<List<User>> perShard = userShardRouter.scatter(shard -> userRepository.findAll(BY_ID));
+        return UserShardRouter.mergeOrdered(perShard, USER_ID_ORDER, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * With sharded users every shard returns its matches up to the end of the requested page,
+     * and the page is cut from their merge by ID.
+     */
+    private Page<User> searchShards(String nameContains, String documentId, int page, int size) {
+        String name = UserRepository.escapeLike(nameContains);
+        if (!userShardRouter.isSharded()) {
+            return userRepository.search(name, documentId, PageRequest.of(page, size, BY_ID));
+        }
+        PageRequest window = PageRequest.of(0, (page + 1) * size, BY_ID);
+        List<Page<User>> perShard = userShardRouter.scatter(shard -> userRepository.search(name, documentId, window));
+        long total = perShard.stream().mapToLong(Page::getTotalElements).sum();
+        List<User> content = UserShardRouter.mergeOrdered(perShard.stream().map(Page::getContent).toList(),
+                USER_ID_ORDER, (long) page * size, size);
+        return new PageImpl<>(content, PageRequest.of(page, size, BY_ID), total);
+    }
+
+    /**
+     * Write-behind mode: the update is buffered and written later in a batch, so bursts of
+     * updates of one user cost a single write.
+     */
+    private UserDTO bufferUpdate(Long id, UserDTO userDTO) {
+        UserDTO previousUser = userWriteBehindBuffer.get(id)
+                .orElseGet(() -> circuitBreaker.execute(() -> userLookupLoader.load(id))
+                        .map(userMapper::toDTO)
+                        .orElseThrow(() -> new UserNotFoundException(id)));
+        UserDTO updatedUser = UserDTO.builder()
+                .id(id)
+                .name(userDTO.name())
+                .documentId(userDTO.documentId())
+                .build();
+        
+        log.info("User update buffered for ID: {}", id);
+        return userWriteBehindBuffer.buffer(previousUser, updatedUser);
+    }
+
+    /**
+     * A pending update of a deleted user must not be flushed or overlaid on reads. It is only
+     * dropped once the delete commits; if the delete rolls back the update is still written.
+     */
+    private void discardBufferedUpdateAfterCommit(Long id) {
+        if (!userWriteBehindBuffer.hasPending() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userWriteBehindBuffer.discard(id);
+            }
+        });
+    }
+
+    /**
+     * Buffered updates are not in the database or the read model yet; reads must still see them.
+     * Filters of a search were evaluated on the stored values.
+     */
+    private List<UserDTO> withBufferedUpdates(List<UserDTO> users) {
+        return userWriteBehindBuffer.hasPending() ? userWriteBehindBuffer.overlay(users) : users;
+    }
+
+    private UserPageDTO withBufferedUpdates(UserPageDTO page) {
+        if (!userWriteBehindBuffer.hasPending()) {
+            return page;
+        }
+        return UserPageDTO.builder()
+                .users(userWriteBehindBuffer.overlay(page.users()))
+                .page(page.page())
+                .size(page.size())
+                .totalElements(page.totalElements())
+                .build();
+    }
+
+    /**
+     * Flags the current response as served from last-known values.
+     */
+    private static <T> T stale(T cached, RuntimeException cause) {
+        log.warn("Database unavailable, serving last-known values: {}", cause.getMessage());
+        StaleReads.mark();
+        return cached;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,121 @@
+package co.edu.icesi.planeacionpostgrados.service;
+
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserPageDTO;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeEvent;
+import co.edu.icesi.planeacionpostgrados.event.UserInvalidationEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Last-known user values, served only when the database cannot be reached.
+ *
+ * Keeps the most recently read users in a bounded LRU map and the last full list
+ * read from the database. Committed writes update the map; the list is kept as read,
+ * which is why everything served from here is flagged as stale.
+ */
+@Component
+public class UserStaleCache {
+
+    private final Map<Long, UserDTO> users;
+    private volatile List<UserDTO> allUsers;
+
+    public UserStaleCache(@Value("${user.stale-cache.max-entries:10000}") int maxEntries) {
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserDTO> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public void put(UserDTO user) {
+        synchronized (users) {
+            users.put(user.id(), user);
+        }
+    }
+
+    public void putAll(Collection<UserDTO> values) {
+        synchronized (users) {
+            for (UserDTO user : values) {
+                users.put(user.id(), user);
+            }
+        }
+    }
+
+    /**
+     * Replaces the snapshot of the full user list.
+     */
+    public void putAllUsers(List<UserDTO> values) {
+        allUsers = values;
+    }
+
+    public Optional<UserDTO> get(Long id) {
+        synchronized (users) {
+            return Optional.ofNullable(users.get(id));
+        }
+    }
+
+    public Optional<List<UserDTO>> allUsers() {
+        return Optional.ofNullable(allUsers);
+    }
+
+    /**
+     * Applies the search filters of the repository to the list snapshot.
+     *
+     * @param name Case-insensitive fragment of the name, or null
+     * @param documentId Exact document ID, or null
+     */
+    public Optional<UserPageDTO> search(String name, String documentId, int page, int size) {
+        List<UserDTO> snapshot = allUsers;
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        String fragment = name == null ? null : name.toLowerCase(Locale.ROOT);
+        List<UserDTO> matches = snapshot.stream()
+                .filter(user -> fragment == null || user.name().toLowerCase(Locale.ROOT).contains(fragment))
+                .filter(user -> documentId == null || documentId.equals(user.documentId()))
+                .toList();
+        int from = (int) Math.min((long) page * size, matches.size());
+        return Optional.of(UserPageDTO.builder()
+                .users(matches.subList(from, Math.min(from + size, matches.size())))
+                .page(page)
+                .size(size)
+                .totalElements(matches.size())
+                .build());
+    }
+
+    @TransactionalEventListener
+    public void onUserChange(UserChangeEvent event) {
+        synchronized (users) {
+            if (event.after() != null) {
+                users.put(event.userId(), event.after());
+            } else {
+                users.remove(event.userId());
+            }
+        }
+    }
+
+    /**
+     * A user changed on another instance is dropped rather than served in its old state.
+     */
+    @EventListener
+    public void onUserInvalidation(UserInvalidationEvent event) {
+        synchronized (users) {
+            if (event.all()) {
+                users.clear();
+            } else {
+                users.keySet().removeAll(event.userIds());
+            }
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package co.edu.icesi.planeacionpostgrados.service;
+
+import co.edu.icesi.planeacionpostgrados.dto.RestResponse;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserPageDTO;
+import co.edu.icesi.planeacionpostgrados.dto.WarmupStatsDTO;
+import co.edu.icesi.planeacionpostgrados.mapper.UserMapper;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Warms up the read paths before the application reports ready.
+ *
+ * Runs as an ApplicationRunner: Spring Boot only moves readiness to ACCEPTING_TRAFFIC
+ * once every runner returned, so instances receive traffic with compiled code, cached
+ * query plans and Jackson serializers already in place.
+ *
+ * Every round maps synthetic users with UserMapper and serializes RestResponse envelopes
+ * in process, and sends read-only requests to the UserController endpoints over the
+ * loopback interface, which also exercises the filters and the repository queries
+ * against the data already stored. Rounds repeat until JIT compilation settles (little
+ * compilation time added for several rounds in a row) or the time limit is reached.
+ */
+@Component
+@Slf4j
+public class UserWarmup implements ApplicationRunner {
+
+    private static final int SYNTHETIC_USERS = 50;
+    private static final int PAGE_SIZE = 20;
+    private static final int IDS_PER_REQUEST = 10;
+    private static final String USERS_PATH = "/api/v1/users";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext applicationContext;
+    private final boolean enabled;
+    private final long maxDurationMs;
+    private final int minRounds;
+    private final int settleRounds;
+    private final long settleThresholdMs;
+    private final int threads;
+    private final int passesPerRound;
+    private final long maxListUsers;
+    private final String contextPath;
+
+    private final List<User> syntheticUsers = new ArrayList<>(SYNTHETIC_USERS);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failedRequests = new LongAdder();
+    // Keeps the serialized output observable so the work cannot be optimized away
+    private final LongAdder serializedBytes = new LongAdder();
+
+    private volatile WarmupStatsDTO stats;
+
+    public UserWarmup(UserMapper userMapper,
+                      ObjectMapper objectMapper,
+                      ApplicationContext applicationContext,
+                      @Value("${user.warmup.enabled:false}") boolean enabled,
+                      @Value("${user.warmup.max-duration-ms:30000}") long maxDurationMs,
+                      @Value("${user.warmup.min-rounds:3}") int minRounds,
+                      @Value("${user.warmup.settle-rounds:3}") int settleRounds,
+                      @Value("${user.warmup.settle-threshold-ms:10}") long settleThresholdMs,
+                      @Value("${user.warmup.threads:2}") int threads,
+                      @Value("${user.warmup.passes-per-round:20}") int passesPerRound,
+                      @Value("${user.warmup.max-list-users:1000}") long maxListUsers,
+                      @Value("${server.servlet.context-path:}") String contextPath) {
+        this.userMapper = userMapper;
+        this.objectMapper = objectMapper;
+        this.applicationContext = applicationContext;
+        this.enabled = enabled;
+        this.maxDurationMs = maxDurationMs;
+        this.minRounds = Math.max(1, minRounds);
+        this.settleRounds = Math.max(1, settleRounds);
+        this.settleThresholdMs = settleThresholdMs;
+        this.threads = Math.max(1, threads);
+        this.passesPerRound = Math.max(1, passesPerRound);
+        this.maxListUsers = maxListUsers;
+        this.contextPath = contextPath.endsWith("/") ? contextPath.substring(0, contextPath.length() - 1) : contextPath;
+        for (long id = 1; id <= SYNTHETIC_USERS; id++) {
+            syntheticUsers.add(User.builder().id(id).name("Warmup User " + id).documentId(String.format("WARM%06d", id)).build());
+        }
+        this.stats = WarmupStatsDTO.builder().enabled(enabled).compilationMs(-1).build();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean measurable = jit != null && jit.isCompilationTimeMonitoringSupported();
+        long compilationAtStart = measurable ? jit.getTotalCompilationTime() : 0;
+        int rounds = 0;
+        boolean settled = false;
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads, new WarmupThreadFactory());
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        try {
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxDurationMs);
+            List<URI> endpoints = discoverEndpoints(client);
+            long lastCompilation = compilationAtStart;
+            int quietRounds = 0;
+            while (System.nanoTime() < deadline && !settled) {
+                runRound(workers, client, endpoints, deadline);
+                rounds++;
+                if (measurable) {
+                    long compilation = jit.getTotalCompilationTime();
+                    quietRounds = compilation - lastCompilation <= settleThresholdMs ? quietRounds + 1 : 0;
+                    lastCompilation = compilation;
+                    settled = rounds >= minRounds && quietRounds >= settleRounds;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // A failed warm-up only costs latency; it must never keep the instance from starting
+            log.warn("Warm-up stopped early: {}", e.getMessage());
+        } finally {
+            workers.shutdownNow();
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long compilationMs = measurable ? jit.getTotalCompilationTime() - compilationAtStart : -1;
+        stats = WarmupStatsDTO.builder()
+                .enabled(true)
+                .completed(true)
+                .settled(settled)
+                .durationMs(durationMs)
+                .rounds(rounds)
+                .requests(requests.sum())
+                .failedRequests(failedRequests.sum())
+                .compilationMs(compilationMs)
+                .build();
+        log.info("Warm-up finished in {} ms after {} rounds and {} requests ({} failed), {} ms of JIT compilation; {}",
+                durationMs, rounds, requests.sum(), failedRequests.sum(), compilationMs,
+                settled ? "compilation settled" : "time limit reached");
+    }
+
+    public WarmupStatsDTO stats() {
+        return stats;
+    }
+
+    private void runRound(ExecutorService workers, HttpClient client, List<URI> endpoints, long deadline)
+            throws InterruptedException {
+        List<Future<?>> tasks = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            tasks.add(workers.submit(() -> {
+                for (int pass = 0; pass < passesPerRound && System.nanoTime() < deadline; pass++) {
+                    exerciseInProcess();
+                    for (URI endpoint : endpoints) {
+                        send(client, endpoint);
+                    }
+                }
+            }));
+        }
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Warm-up round failed", e.getCause());
+            }
+        }
+    }
+
+    private void exerciseInProcess() {
+        List<UserDTO> users = new ArrayList<>(syntheticUsers.size());
+        for (User user : syntheticUsers) {
+            users.add(userMapper.toDTO(user));
+        }
+        UserPageDTO page = UserPageDTO.builder()
+                .users(users.subList(0, Math.min(PAGE_SIZE, users.size())))
+                .page(0)
+                .size(PAGE_SIZE)
+                .totalElements(users.size())
+                .build();
+        try {
+            serializedBytes.add(objectMapper.writeValueAsBytes(RestResponse.success("Users retrieved successfully", users)).length);
+            serializedBytes.add(objectMapper.writeValueAsBytes(RestResponse.success("Users found", page)).length);
+            serializedBytes.add(objectMapper.writeValueAsBytes(RestResponse.success("User found", users.get(0))).length);
+            serializedBytes.add(objectMapper.writeValueAsBytes(RestResponse.error("User not found", "User with ID 0 not found")).length);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Warm-up serialization failed", e);
+        }
+    }
+
+    /**
+     * Builds the read requests from the first page of stored users. Without users the ID
+     * lookups take the not-found path, which is also served in production.
+     */
+    private List<URI> discoverEndpoints(HttpClient client) throws InterruptedException {
+        if (!(applicationContext instanceof WebServerApplicationContext web) || web.getWebServer() == null
+                || web.getWebServer().getPort() <= 0) {
+            return List.of();
+        }
+        String base = "http://127.0.0.1:" + web.getWebServer().getPort() + contextPath + USERS_PATH;
+        URI firstPage = URI.create(base + "/search?page=0&size=" + PAGE_SIZE);
+
+        List<Long> ids = new ArrayList<>();
+        String name = "a";
+        long total = Long.MAX_VALUE;
+        try {
+            HttpResponse<byte[]> response = client.send(request(firstPage), HttpResponse.BodyHandlers.ofByteArray());
+            JsonNode data = objectMapper.readTree(response.body()).path("data");
+            total = data.path("totalElements").asLong(Long.MAX_VALUE);
+            for (JsonNode user : data.path("users")) {
+                ids.add(user.path("id").asLong());
+            }
+            String firstName = data.path("users").path(0).path("name").asText("");
+            if (firstName.length() >= 2) {
+                name = firstName.substring(0, 2);
+            }
+        } catch (IOException e) {
+            log.warn("Warm-up could not read the first page of users: {}", e.getMessage());
+        }
+        if (ids.isEmpty()) {
+            ids.add(0L);
+        }
+
+        List<URI> endpoints = new ArrayList<>();
+        endpoints.add(firstPage);
+        endpoints.add(URI.create(base + "/search?name=" + URLEncoder.encode(name, StandardCharsets.UTF_8)
+                + "&page=0&size=" + PAGE_SIZE));
+        endpoints.add(URI.create(base + "/" + ids.get(0)));
+        endpoints.add(URI.create(base + "/" + ids.get(ids.size() - 1)));
+        endpoints.add(URI.create(base + "?ids=" + ids.stream()
+                .limit(IDS_PER_REQUEST)
+                .map(String::valueOf)
+                .collect(Collectors.joining(","))));
+        // The full list is only worth repeating while it is small
+        if (total <= maxListUsers) {
+            endpoints.add(URI.create(base));
+        }
+        return endpoints;
+    }
+
+    private void send(HttpClient client, URI endpoint) {
+        requests.increment();
+        try {
+            HttpResponse<Void> response = client.send(request(endpoint), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 500) {
+                failedRequests.increment();
+            }
+        } catch (IOException e) {
+            failedRequests.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during warm-up", e);
+        }
+    }
+
+    private static HttpRequest request(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private static final class WarmupThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "user-warmup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
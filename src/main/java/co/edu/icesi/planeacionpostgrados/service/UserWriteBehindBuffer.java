@@ -0,0 +1,445 @@
+package co.edu.icesi.planeacionpostgrados.service;
+
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.dto.WriteBehindStatsDTO;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeEvent;
+import co.edu.icesi.planeacionpostgrados.exception.DataLayerUnavailableException;
+import co.edu.icesi.planeacionpostgrados.mapper.UserMapper;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Opt-in write-behind buffer for user updates.
+ *
+ * Updates are held in memory, in stripes locked by user ID, and a later update of the
+ * same user replaces the buffered one (last write wins). The buffer is flushed every
+ * flush interval, or as soon as it holds a full batch, with one transaction per batch
+ * that publishes the usual UserChangeEvents, carrying the image before the first
+ * buffered update and after the last one.
+ *
+ * Entries stay visible to reads until the flush that wrote them has committed. A flush
+ * that fails leaves everything buffered for the next one. A batch the database rejects
+ * for integrity or concurrent deletion is retried one user per transaction, and only the
+ * users still rejected are dropped.
+ *
+ * Batches are always written in a transaction of their own (REQUIRES_NEW) on the flusher
+ * thread: a caller that finds the buffer full waits for that flush instead of running it
+ * inside its own transaction, whose rollback would otherwise lose a batch already released.
+ * On shutdown the buffer is drained before the data source closes.
+ */
+@Component
+@Slf4j
+public class UserWriteBehindBuffer {
+
+    private static final int SHUTDOWN_FLUSH_ATTEMPTS = 3;
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final int maxBuffered;
+    private final long backpressureTimeoutMs;
+
+    private final Stripe[] stripes;
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher;
+
+    private final AtomicLong receivedUpdates = new AtomicLong();
+    private final AtomicLong writtenUpdates = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failedUpdates = new AtomicLong();
+    private volatile long lastFlushLagMs;
+    private volatile long maxFlushLagMs;
+
+    public UserWriteBehindBuffer(UserRepository userRepository,
+                                 UserMapper userMapper,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${user.write-behind.enabled:false}") boolean enabled,
+                                 @Value("${user.write-behind.stripes:16}") int stripeCount,
+                                 @Value("${user.write-behind.max-batch-size:500}") int maxBatchSize,
+                                 @Value("${user.write-behind.flush-interval-ms:100}") long flushIntervalMs,
+                                 @Value("${user.write-behind.max-buffered:10000}") int maxBuffered,
+                                 @Value("${user.write-behind.backpressure-timeout-ms:5000}") long backpressureTimeoutMs) {
+        if (stripeCount <= 0 || maxBatchSize <= 0 || flushIntervalMs <= 0 || maxBuffered <= 0) {
+            throw new IllegalArgumentException("User write-behind sizes and interval must be positive");
+        }
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBuffered = maxBuffered;
+        this.backpressureTimeoutMs = backpressureTimeoutMs;
+        this.stripes = new Stripe[Integer.highestOneBit(stripeCount * 2 - 1)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        if (enabled) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "user-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return True if some update has not been written yet
+     */
+    public boolean hasPending() {
+        return buffered.get() > 0;
+    }
+
+    /**
+     * Buffers an update. With a full buffer the caller first waits for a flush.
+     *
+     * @param before State of the user as last known, kept if the user is already buffered
+     * @param after New state of the user
+     * @return The buffered state
+     */
+    public UserDTO buffer(UserDTO before, UserDTO after) {
+        if (buffered.get() >= maxBuffered) {
+            awaitFlush();
+        }
+        Stripe stripe = stripeFor(after.id());
+        stripe.lock.lock();
+        try {
+            PendingUpdate pending = stripe.updates.get(after.id());
+            if (pending == null) {
+                stripe.updates.put(after.id(), new PendingUpdate(before, after, System.nanoTime()));
+                buffered.incrementAndGet();
+            } else {
+                pending.after = after;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        receivedUpdates.incrementAndGet();
+        if (flusher != null && buffered.get() >= maxBatchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false);
+            }
+        }
+        return after;
+    }
+
+    /**
+     * @return Buffered state of the user, if it has an update not written yet
+     */
+    public Optional<UserDTO> get(Long id) {
+        Stripe stripe = stripeFor(id);
+        stripe.lock.lock();
+        try {
+            PendingUpdate pending = stripe.updates.get(id);
+            return pending == null ? Optional.empty() : Optional.of(pending.after);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the users that have a buffered update with their buffered state.
+     */
+    public List<UserDTO> overlay(List<UserDTO> users) {
+        if (!hasPending()) {
+            return users;
+        }
+        Map<Long, UserDTO> pending = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.updates.forEach((id, update) -> pending.put(id, update.after));
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        if (pending.isEmpty()) {
+            return users;
+        }
+        List<UserDTO> result = new ArrayList<>(users.size());
+        for (UserDTO user : users) {
+            result.add(pending.getOrDefault(user.id(), user));
+        }
+        return result;
+    }
+
+    /**
+     * Drops the buffered update of a user whose delete has committed.
+     */
+    public void discard(Long id) {
+        Stripe stripe = stripeFor(id);
+        stripe.lock.lock();
+        try {
+            if (stripe.updates.remove(id) != null) {
+                buffered.decrementAndGet();
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Writes every buffered update. Only one flush runs at a time.
+     *
+     * @return Rows written
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            List<Flushed> snapshot = snapshot();
+            int written = 0;
+            for (int from = 0; from < snapshot.size(); from += maxBatchSize) {
+                written += writeBatch(snapshot.subList(from, Math.min(from + maxBatchSize, snapshot.size())));
+            }
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public WriteBehindStatsDTO stats() {
+        long written = writtenUpdates.get();
+        long received = receivedUpdates.get();
+        return WriteBehindStatsDTO.builder()
+                .enabled(enabled)
+                .bufferedUsers(buffered.get())
+                .receivedUpdates(received)
+                .writtenUpdates(written)
+                .coalescingRatio(written == 0 ? 0 : (double) received / written)
+                .flushes(flushes.get())
+                .failedUpdates(failedUpdates.get())
+                .lastFlushLagMs(lastFlushLagMs)
+                .maxFlushLagMs(maxFlushLagMs)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (int attempt = 1; attempt <= SHUTDOWN_FLUSH_ATTEMPTS && hasPending(); attempt++) {
+            flushQuietly();
+        }
+        if (hasPending()) {
+            // Last resort: leave the lost updates in the log so they can be replayed by hand
+            for (Flushed update : snapshot()) {
+                log.error("Buffered user update lost on shutdown: {}", update.after());
+            }
+        }
+    }
+
+    /**
+     * Backpressure for a full buffer: runs a flush on the flusher thread and waits for it,
+     * so the batch never joins a transaction the caller still has open.
+     */
+    private void awaitFlush() {
+        if (flusher == null) {
+            flush();
+            return;
+        }
+        Future<Integer> flushed;
+        try {
+            flushed = flusher.submit(this::flush);
+        } catch (RejectedExecutionException e) {
+            throw new DataLayerUnavailableException("User write-behind buffer is full and shutting down");
+        }
+        try {
+            flushed.get(backpressureTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("User write-behind flush failed", e.getCause());
+        } catch (TimeoutException e) {
+            // The flush keeps running; only this update gives up
+            throw new QueryTimeoutException("User write-behind buffer still full after " + backpressureTimeoutMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the user write-behind flush", e);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("User write-behind flush failed, {} users stay buffered: {}", buffered.get(), e.getMessage());
+        }
+    }
+
+    private List<Flushed> snapshot() {
+        List<Flushed> snapshot = new ArrayList<>(buffered.get());
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.updates.forEach((id, update) ->
+                        snapshot.add(new Flushed(id, update.before, update.after, update.bufferedAt)));
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    private int writeBatch(List<Flushed> batch) {
+        try {
+            transaction.executeWithoutResult(status -> write(batch));
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            if (batch.size() == 1) {
+                throw e;
+            }
+            // One bad row must not hold back the rest
+            log.warn("User write-behind batch of {} failed, retrying one by one: {}", batch.size(), e.getMessage());
+            int written = 0;
+            for (Flushed update : batch) {
+                try {
+                    written += writeBatch(List.of(update));
+                } catch (DataIntegrityViolationException | OptimisticLockingFailureException rejected) {
+                    log.error("Dropping buffered update of user {}: {}", update.id(), rejected.getMessage());
+                    failedUpdates.incrementAndGet();
+                    release(update, false);
+                }
+            }
+            return written;
+        }
+        long now = System.nanoTime();
+        long oldest = now;
+        for (Flushed update : batch) {
+            release(update, true);
+            oldest = Math.min(oldest, update.bufferedAt());
+        }
+        long lagMs = TimeUnit.NANOSECONDS.toMillis(now - oldest);
+        lastFlushLagMs = lagMs;
+        maxFlushLagMs = Math.max(maxFlushLagMs, lagMs);
+        writtenUpdates.addAndGet(batch.size());
+        flushes.incrementAndGet();
+        return batch.size();
+    }
+
+    private void write(List<Flushed> batch) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Flushed update : batch) {
+            ids.add(update.id());
+        }
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(ids)) {
+            users.put(user.getId(), user);
+        }
+        List<User> changed = new ArrayList<>(users.size());
+        for (Flushed update : batch) {
+            User user = users.get(update.id());
+            if (user == null) {
+                // Deleted since it was buffered
+                continue;
+            }
+            userMapper.updateEntityFromDTO(update.after(), user);
+            changed.add(user);
+            eventPublisher.publishEvent(UserChangeEvent.updated(update.id(), update.before(), userMapper.toDTO(user)));
+        }
+        userRepository.saveAll(changed);
+    }
+
+    /**
+     * Removes a written or dropped update from the buffer, unless a newer one replaced it
+     * meanwhile; then a written state becomes the before image of the newer one.
+     */
+    private void release(Flushed update, boolean written) {
+        Stripe stripe = stripeFor(update.id());
+        stripe.lock.lock();
+        try {
+            PendingUpdate pending = stripe.updates.get(update.id());
+            if (pending == null) {
+                return;
+            }
+            if (pending.after == update.after()) {
+                stripe.updates.remove(update.id());
+                buffered.decrementAndGet();
+            } else if (written) {
+                pending.before = update.after();
+                pending.bufferedAt = System.nanoTime();
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripeFor(Long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (hash >>> 32) & (stripes.length - 1)];
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, PendingUpdate> updates = new LinkedHashMap<>();
+    }
+
+    private static final class PendingUpdate {
+
+        private UserDTO before;
+        private UserDTO after;
+        private long bufferedAt;
+
+        private PendingUpdate(UserDTO before, UserDTO after, long bufferedAt) {
+            this.before = before;
+            this.after = after;
+            this.bufferedAt = bufferedAt;
+        }
+    }
+
+    private record Flushed(Long id, UserDTO before, UserDTO after, long bufferedAt) {
+    }
+}
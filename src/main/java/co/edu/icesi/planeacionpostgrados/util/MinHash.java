@@ -0,0 +1,105 @@
+package co.edu.icesi.planeacionpostgrados.util;
+
+/**
+ * MinHash signatures over character trigrams, for estimating Jaccard similarity
+ * of short strings such as names without comparing them directly.
+ */
+public final class MinHash {
+
+    private static final int SHINGLE_SIZE = 3;
+    private static final double COMPACT_COLLISION_RATE = 1.0 / 256;
+
+    private MinHash() {
+    }
+
+    /**
+     * Writes the signature of a normalized string into target[offset, offset + hashes).
+     * Allocation-free: shingles are hashed in place.
+     */
+    public static void signature(String normalized, int hashes, int[] target, int offset) {
+        for (int h = 0; h < hashes; h++) {
+            target[offset + h] = Integer.MAX_VALUE;
+        }
+        // Pad with spaces so word boundaries form shingles of their own
+        int length = normalized.length() + 2;
+        int shingles = Math.max(1, length - SHINGLE_SIZE + 1);
+        for (int start = 0; start < shingles; start++) {
+            int shingleHash = 0;
+            for (int i = start; i < Math.min(start + SHINGLE_SIZE, length); i++) {
+                char c = (i == 0 || i == length - 1) ? ' ' : normalized.charAt(i - 1);
+                shingleHash = 31 * shingleHash + c;
+            }
+            for (int h = 0; h < hashes; h++) {
+                int value = mix32(shingleHash * (2 * h + 1) + 0x9E3779B9 * h) & Integer.MAX_VALUE;
+                if (value < target[offset + h]) {
+                    target[offset + h] = value;
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps the lowest 8 bits of each signature position (b-bit MinHash), a quarter of the
+     * memory of the full signature.
+     */
+    public static void compact(int[] signature, int offset, int hashes, byte[] target, int targetOffset) {
+        for (int h = 0; h < hashes; h++) {
+            target[targetOffset + h] = (byte) signature[offset + h];
+        }
+    }
+
+    /**
+     * Estimates the Jaccard similarity from compact signatures. Two different minima still
+     * agree on their lowest 8 bits once in 256, which is subtracted from the agreement rate.
+     */
+    public static double estimatedSimilarity(byte[] signatures, int first, int second, int hashes) {
+        int matches = 0;
+        for (int h = 0; h < hashes; h++) {
+            if (signatures[first + h] == signatures[second + h]) {
+                matches++;
+            }
+        }
+        double agreement = (double) matches / hashes;
+        return Math.max(0.0, (agreement - COMPACT_COLLISION_RATE) / (1.0 - COMPACT_COLLISION_RATE));
+    }
+
+    /**
+     * Hashes the rows of one LSH band into a single bucket key.
+     */
+    public static int bandKey(int[] signatures, int offset, int rows, int band) {
+        int key = band;
+        for (int r = 0; r < rows; r++) {
+            key = 31 * key + signatures[offset + r];
+        }
+        return mix32(key);
+    }
+
+    /**
+     * Murmur3 32-bit finalizer.
+     */
+    public static int mix32(int value) {
+        value ^= value >>> 16;
+        value *= 0x85EBCA6B;
+        value ^= value >>> 13;
+        value *= 0xC2B2AE35;
+        value ^= value >>> 16;
+        return value;
+    }
+
+    /**
+     * 64-bit FNV-1a hash with a Murmur3 finalizer, used as a compact stand-in for a string.
+     */
+    public static long hash64(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
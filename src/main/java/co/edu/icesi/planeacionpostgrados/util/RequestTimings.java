@@ -0,0 +1,150 @@
+package co.edu.icesi.planeacionpostgrados.util;
+
+import co.edu.icesi.planeacionpostgrados.enums.TimingPhase;
+
+/**
+ * Self time per TimingPhase of the request running on the current thread.
+ *
+ * Phases nest like a call stack: entering a phase pauses the enclosing one, so every
+ * nanosecond is attributed to exactly one phase. One instance per thread is reset and
+ * reused for every request, and recording never allocates.
+ */
+public final class RequestTimings {
+
+    private static final TimingPhase[] PHASES = TimingPhase.values();
+    private static final int MAX_DEPTH = 32;
+    private static final ThreadLocal<RequestTimings> CURRENT = ThreadLocal.withInitial(RequestTimings::new);
+
+    private final long[] selfNanos = new long[PHASES.length];
+    private final int[] stack = new int[MAX_DEPTH];
+    private int depth;
+    // Nesting beyond MAX_DEPTH is not recorded, only counted so exits stay balanced
+    private int overflow;
+    private long startedAt;
+    private long lastSwitch;
+    private long totalNanos;
+    private boolean active;
+
+    private RequestTimings() {
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Clears the previous request and starts timing in the given phase.
+     */
+    public void start(TimingPhase phase) {
+        for (int i = 0; i < selfNanos.length; i++) {
+            selfNanos[i] = 0;
+        }
+        depth = 0;
+        overflow = 0;
+        totalNanos = 0;
+        startedAt = System.nanoTime();
+        lastSwitch = startedAt;
+        stack[depth++] = phase.ordinal();
+        active = true;
+    }
+
+    public void enter(TimingPhase phase) {
+        if (!active) {
+            return;
+        }
+        if (depth == MAX_DEPTH) {
+            overflow++;
+            return;
+        }
+        account();
+        stack[depth++] = phase.ordinal();
+    }
+
+    public void exit() {
+        if (!active) {
+            return;
+        }
+        if (overflow > 0) {
+            overflow--;
+            return;
+        }
+        // The outermost phase is only ended by finish()
+        if (depth > 1) {
+            account();
+            depth--;
+        }
+    }
+
+    /**
+     * Replaces the current phase, e.g. when the controller returns and serialization begins.
+     */
+    public void switchTo(TimingPhase phase) {
+        if (!active || overflow > 0) {
+            return;
+        }
+        account();
+        stack[depth - 1] = phase.ordinal();
+    }
+
+    /**
+     * Stops timing.
+     *
+     * @return Total nanoseconds since start
+     */
+    public long finish() {
+        if (active) {
+            account();
+            totalNanos = lastSwitch - startedAt;
+            active = false;
+        }
+        return totalNanos;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public long nanos(TimingPhase phase) {
+        return selfNanos[phase.ordinal()];
+    }
+
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Appends the finished timings as a Server-Timing header value, e.g.
+     * {@code security;dur=0.412, controller;dur=0.051, total;dur=1.204}. Phases that
+     * took no time are left out.
+     */
+    public StringBuilder appendServerTiming(StringBuilder target) {
+        for (TimingPhase phase : PHASES) {
+            long nanos = selfNanos[phase.ordinal()];
+            if (nanos > 0) {
+                appendMetric(target, phase.getMetricName(), nanos);
+                target.append(", ");
+            }
+        }
+        return appendMetric(target, "total", totalNanos);
+    }
+
+    private static StringBuilder appendMetric(StringBuilder target, String name, long nanos) {
+        // Milliseconds with microsecond precision, without going through String.format
+        long micros = nanos / 1000;
+        long fraction = micros % 1000;
+        target.append(name).append(";dur=").append(micros / 1000).append('.');
+        if (fraction < 100) {
+            target.append('0');
+        }
+        if (fraction < 10) {
+            target.append('0');
+        }
+        return target.append(fraction);
+    }
+
+    private void account() {
+        long now = System.nanoTime();
+        selfNanos[stack[depth - 1]] += now - lastSwitch;
+        lastSwitch = now;
+    }
+}
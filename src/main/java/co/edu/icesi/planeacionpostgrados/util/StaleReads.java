@@ -0,0 +1,30 @@
+package co.edu.icesi.planeacionpostgrados.util;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Marks the current web request as answered from cached data instead of the database.
+ */
+public final class StaleReads {
+
+    private static final String ATTRIBUTE = StaleReads.class.getName() + ".stale";
+
+    private StaleReads() {
+    }
+
+    /**
+     * Flags the current request; does nothing outside a web request.
+     */
+    public static void mark() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public static boolean isMarked() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+}
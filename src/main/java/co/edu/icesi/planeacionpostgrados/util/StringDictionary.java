@@ -0,0 +1,247 @@
+package co.edu.icesi.planeacionpostgrados.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Locale;
+
+/**
+ * Deduplicated store of strings packed as UTF-8 in one byte array.
+ *
+ * Every distinct string is kept once and referred to by an int code. Codes are
+ * reference counted; a string nobody refers to any more stays in the pool as garbage
+ * until the owner copies the live codes into a fresh dictionary. A case-folding dictionary
+ * also keeps a lowercased copy of every string, so substring searches compare bytes
+ * without decoding a string per entry. Not thread-safe.
+ */
+public final class StringDictionary {
+
+    private static final int INITIAL_ENTRIES = 1024;
+
+    private byte[] pool;
+    private int poolSize;
+    private int[] offsets;
+    private int[] refCounts;
+    private int size;
+    // Open addressing table of code + 1, 0 marks an empty slot
+    private int[] slots;
+    private long garbageBytes;
+    // Lowercased copy of the pool, only kept by case-folding dictionaries
+    private final boolean foldCase;
+    private byte[] foldedPool;
+    private int foldedPoolSize;
+    private int[] foldedOffsets;
+
+    public StringDictionary() {
+        this(INITIAL_ENTRIES);
+    }
+
+    public StringDictionary(int expectedEntries) {
+        this(expectedEntries, false);
+    }
+
+    public StringDictionary(int expectedEntries, boolean foldCase) {
+        int entries = Math.max(16, expectedEntries);
+        this.pool = new byte[(int) Math.min(entries * 16L, 1 << 30)];
+        this.offsets = new int[entries + 1];
+        this.refCounts = new int[entries];
+        this.slots = new int[Integer.highestOneBit(entries * 2 - 1) << 1];
+        this.foldCase = foldCase;
+        if (foldCase) {
+            this.foldedPool = new byte[pool.length];
+            this.foldedOffsets = new int[entries + 1];
+        }
+    }
+
+    /**
+     * Returns the code of the string, adding it if it is new, and takes one reference to it.
+     */
+    public int intern(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return acquire(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Interns a string of another dictionary without decoding it.
+     */
+    public int transfer(StringDictionary source, int code) {
+        int start = source.offsets[code];
+        return acquire(source.pool, start, source.offsets[code + 1] - start);
+    }
+
+    /**
+     * Drops one reference; a string left without references becomes garbage.
+     */
+    public void release(int code) {
+        if (--refCounts[code] == 0) {
+            garbageBytes += length(code);
+        }
+    }
+
+    /**
+     * @return Code of the string, or -1 if it is not in the dictionary or no longer referenced
+     */
+    public int find(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int code = lookup(bytes, 0, bytes.length, hash(bytes, 0, bytes.length));
+        return code >= 0 && refCounts[code] > 0 ? code : -1;
+    }
+
+    public String get(int code) {
+        int start = offsets[code];
+        return new String(pool, start, offsets[code + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Finds the referenced strings that contain the needle, ignoring case as
+     * toLowerCase(Locale.ROOT) does. Compares the lowercased UTF-8 bytes, so no string is
+     * decoded; only available on a case-folding dictionary.
+     *
+     * @return Codes of the referenced strings that match
+     */
+    public BitSet containingIgnoreCase(String needle) {
+        if (!foldCase) {
+            throw new IllegalStateException("Dictionary does not keep lowercased strings");
+        }
+        byte[] pattern = needle.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        BitSet matches = new BitSet(size);
+        for (int code = 0; code < size; code++) {
+            if (refCounts[code] > 0 && contains(foldedPool, foldedOffsets[code], foldedOffsets[code + 1], pattern)) {
+                matches.set(code);
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int poolBytes() {
+        return poolSize;
+    }
+
+    public long garbageBytes() {
+        return garbageBytes;
+    }
+
+    /**
+     * @return Approximate heap used by the arrays of this dictionary
+     */
+    public long memoryBytes() {
+        long folded = foldCase ? foldedPool.length + 4L * foldedOffsets.length : 0;
+        return pool.length + 4L * offsets.length + 4L * refCounts.length + 4L * slots.length + folded;
+    }
+
+    private int acquire(byte[] bytes, int start, int length) {
+        int hash = hash(bytes, start, length);
+        int code = lookup(bytes, start, length, hash);
+        if (code < 0) {
+            code = append(bytes, start, length, hash);
+        } else if (refCounts[code] == 0) {
+            garbageBytes -= length;
+        }
+        refCounts[code]++;
+        return code;
+    }
+
+    private int lookup(byte[] bytes, int start, int length, int hash) {
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int code = slots[slot] - 1;
+            if (Arrays.equals(pool, offsets[code], offsets[code + 1], bytes, start, start + length)) {
+                return code;
+            }
+        }
+        return -1;
+    }
+
+    private int append(byte[] bytes, int start, int length, int hash) {
+        if (size + 1 >= offsets.length) {
+            int capacity = offsets.length + (offsets.length >> 1);
+            offsets = Arrays.copyOf(offsets, capacity + 1);
+            refCounts = Arrays.copyOf(refCounts, capacity);
+            if (foldCase) {
+                foldedOffsets = Arrays.copyOf(foldedOffsets, capacity + 1);
+            }
+        }
+        pool = ensureRoom(pool, poolSize, length);
+        System.arraycopy(bytes, start, pool, poolSize, length);
+        poolSize += length;
+        int code = size++;
+        offsets[size] = poolSize;
+        if (foldCase) {
+            // Lowercasing can change the byte length, so the folded copy has its own offsets
+            byte[] folded = new String(bytes, start, length, StandardCharsets.UTF_8)
+                    .toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+            foldedPool = ensureRoom(foldedPool, foldedPoolSize, folded.length);
+            System.arraycopy(folded, 0, foldedPool, foldedPoolSize, folded.length);
+            foldedPoolSize += folded.length;
+            foldedOffsets[size] = foldedPoolSize;
+        }
+        if (size * 2 > slots.length) {
+            rehash(slots.length << 1);
+        } else {
+            insertSlot(code, hash);
+        }
+        return code;
+    }
+
+    private void rehash(int capacity) {
+        slots = new int[capacity];
+        for (int code = 0; code < size; code++) {
+            int start = offsets[code];
+            insertSlot(code, hash(pool, start, offsets[code + 1] - start));
+        }
+    }
+
+    private void insertSlot(int code, int hash) {
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = code + 1;
+    }
+
+    private static byte[] ensureRoom(byte[] pool, int used, int length) {
+        if (used + length <= pool.length) {
+            return pool;
+        }
+        long capacity = Math.max(used + length, pool.length + ((long) pool.length >> 1));
+        if (capacity > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("String dictionary exceeds 2 GB");
+        }
+        return Arrays.copyOf(pool, (int) capacity);
+    }
+
+    /**
+     * Byte substring search; on UTF-8 it matches exactly where the decoded strings would.
+     */
+    private static boolean contains(byte[] bytes, int start, int end, byte[] pattern) {
+        int last = end - pattern.length;
+        for (int i = start; i <= last; i++) {
+            int j = 0;
+            while (j < pattern.length && bytes[i + j] == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int length(int code) {
+        return offsets[code + 1] - offsets[code];
+    }
+
+    private static int hash(byte[] bytes, int start, int length) {
+        int hash = 1;
+        for (int i = start; i < start + length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        // Spread the low bits, the table is indexed by mask
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,61 @@
+package co.edu.icesi.planeacionpostgrados.util;
+
+/**
+ * Node-aware, time-ordered 64-bit IDs (Snowflake layout), generated without any database round trip.
+ *
+ * Layout from the most significant bit: 1 unused sign bit, 41 bits of milliseconds since
+ * 2024-01-01T00:00:00Z (about 69 years), 10 bits of node ID and 12 bits of per-millisecond
+ * sequence. IDs from one node are strictly increasing; IDs from different nodes never collide
+ * as long as every instance has a distinct node ID.
+ */
+public final class TimeOrderedIdGenerator {
+
+    public static final int MAX_NODE_ID = 1023;
+
+    private static final long EPOCH_MILLIS = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_CLOCK_BACKWARDS_MILLIS = 5000;
+
+    private final long nodeBits;
+    private long lastMillis = -1;
+    private long sequence;
+
+    public TimeOrderedIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + " but was " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    public synchronized long nextId() {
+        long now = System.currentTimeMillis();
+        if (now < lastMillis) {
+            // Clock moved backwards (e.g. NTP step): keep issuing from the last timestamp
+            if (lastMillis - now > MAX_CLOCK_BACKWARDS_MILLIS) {
+                throw new IllegalStateException("Clock moved backwards by " + (lastMillis - now) + " ms");
+            }
+            now = lastMillis;
+        }
+        if (now == lastMillis) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            if (sequence == 0) {
+                now = waitForNextMillis(lastMillis);
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMillis = now;
+        return ((now - EPOCH_MILLIS) << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+    }
+
+    private long waitForNextMillis(long current) {
+        long now = System.currentTimeMillis();
+        while (now <= current) {
+            Thread.onSpinWait();
+            now = System.currentTimeMillis();
+        }
+        return now;
+    }
+}
@@ -0,0 +1,47 @@
+package co.edu.icesi.planeacionpostgrados.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical forms of user fields used to compare users that were typed differently.
+ */
+public final class UserNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private UserNormalizer() {
+    }
+
+    /**
+     * Lowercases, removes accents and collapses punctuation and whitespace:
+     * "  José  PÉREZ-Gómez " becomes "jose perez gomez".
+     */
+    public static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        String withoutAccents = DIACRITICS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Keeps letters and digits only, uppercased and without leading zeros:
+     * "0.123.456-7" becomes "1234567".
+     */
+    public static String normalizeDocumentId(String documentId) {
+        if (documentId == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(documentId.length());
+        for (int i = 0; i < documentId.length(); i++) {
+            char c = documentId.charAt(i);
+            if (Character.isLetterOrDigit(c) && !(c == '0' && normalized.isEmpty())) {
+                normalized.append(Character.toUpperCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,9 @@
+-- User IDs come from user_id_seq (pooled-lo, 50 IDs per call, see GeneratedUserId).
+-- Runs on every start before Hibernate validates the schema: creates the sequence when
+-- it is missing and moves it past the IDs of rows inserted without it. The guard skips
+-- every block the sequence already handed out, so it never moves backwards.
+CREATE SEQUENCE IF NOT EXISTS user_id_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('user_id_seq', (SELECT MAX(id) + 1 FROM "user"), false)
+WHERE (SELECT MAX(id) FROM "user") >=
+      (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM user_id_seq);
@@ -0,0 +1,86 @@
+package co.edu.icesi.planeacionpostgrados.benchmark;
+
+import co.edu.icesi.planeacionpostgrados.dto.RestResponse;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.serializer.UserSerializationModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the reflective Jackson serializer with the hand-written
+ * serializers of UserSerializationModule on the payload of GET /api/v1/users.
+ * Each serializer is warmed up, then measured over several one-second rounds.
+ *
+ * Usage: SerializationBenchmark [users per response]
+ * Normally run through the serializationBenchmark Gradle task.
+ */
+public final class SerializationBenchmark {
+
+    private static final int ROUNDS = 5;
+    private static final long WARM_UP_NANOS = TimeUnit.SECONDS.toNanos(3);
+    private static final long ROUND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private SerializationBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        List<UserDTO> list = new ArrayList<>(users);
+        for (long id = 1; id <= users; id++) {
+            list.add(UserDTO.builder().id(id).name("Usuario Número " + id).documentId("CC" + (10_000_000 + id)).build());
+        }
+        RestResponse<List<UserDTO>> response = RestResponse.success("Users retrieved successfully", list);
+
+        ObjectWriter reflective = new ObjectMapper().writer();
+        ObjectWriter handWritten = new ObjectMapper().registerModule(new UserSerializationModule()).writer();
+        if (!Arrays.equals(reflective.writeValueAsBytes(response), handWritten.writeValueAsBytes(response))) {
+            throw new IllegalStateException("Serializers produce different JSON");
+        }
+
+        double reflectiveOps = measure(reflective, response);
+        double handWrittenOps = measure(handWritten, response);
+        report("reflective", reflectiveOps, users);
+        report("hand-written", handWrittenOps, users);
+        System.out.printf("speedup: %.2fx%n", handWrittenOps / reflectiveOps);
+    }
+
+    /**
+     * @return Median responses serialized per second
+     */
+    private static double measure(ObjectWriter writer, Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+        run(writer, value, out, WARM_UP_NANOS);
+        double[] rounds = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            long operations = run(writer, value, out, ROUND_NANOS);
+            rounds[round] = operations * 1e9 / (System.nanoTime() - start);
+        }
+        Arrays.sort(rounds);
+        return rounds[ROUNDS / 2];
+    }
+
+    private static long run(ObjectWriter writer, Object value, ByteArrayOutputStream out, long durationNanos)
+            throws IOException {
+        long deadline = System.nanoTime() + durationNanos;
+        long operations = 0;
+        while (System.nanoTime() < deadline) {
+            out.reset();
+            writer.writeValue(out, value);
+            operations++;
+        }
+        return operations;
+    }
+
+    private static void report(String name, double operationsPerSecond, int users) {
+        System.out.printf("%-12s %,10.0f responses/s (%,.0f users/s)%n",
+                name, operationsPerSecond, operationsPerSecond * users);
+    }
+}
@@ -0,0 +1,108 @@
+package co.edu.icesi.planeacionpostgrados.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures time-to-first-successful-request of the packaged application.
+ * Each configuration is started several times as a separate JVM; the clock runs from
+ * process launch until GET /api/v1/users first answers 200.
+ *
+ * Usage: StartupBenchmark <java> <app jar> <cds archive> [jvm options...]
+ * Normally run through the startupBenchmark Gradle task.
+ */
+public final class StartupBenchmark {
+
+    private static final int RUNS = 5;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final String PROBE_PATH = "/planeacionpostgrados/api/v1/users";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Usage: StartupBenchmark <java> <app jar> <cds archive> [jvm options...]");
+        }
+        String java = args[0];
+        String jar = args[1];
+        String archive = args[2];
+        List<String> jvmOptions = Arrays.asList(args).subList(3, args.length);
+
+        report("default", measure(java, jar, jvmOptions));
+        List<String> cdsOptions = new ArrayList<>(jvmOptions);
+        cdsOptions.add("-XX:SharedArchiveFile=" + archive);
+        report("appcds", measure(java, jar, cdsOptions));
+    }
+
+    private static long[] measure(String java, String jar, List<String> jvmOptions) throws Exception {
+        long[] millis = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            millis[run] = timeToFirstRequest(java, jar, jvmOptions);
+        }
+        Arrays.sort(millis);
+        return millis;
+    }
+
+    private static long timeToFirstRequest(String java, String jar, List<String> jvmOptions) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmOptions);
+        command.add("-Dserver.port=" + port);
+        command.add("-jar");
+        command.add(jar);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PROBE_PATH))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with code " + process.exitValue());
+                }
+                try {
+                    if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Application was not ready within " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void report(String name, long[] sortedMillis) {
+        System.out.printf("%-8s time-to-first-request: min=%d ms, median=%d ms, max=%d ms (%d runs)%n",
+                name, sortedMillis[0], sortedMillis[sortedMillis.length / 2], sortedMillis[sortedMillis.length - 1],
+                sortedMillis.length);
+    }
+}
@@ -0,0 +1,248 @@
+package co.edu.icesi.planeacionpostgrados.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of the first minute of traffic of a fresh instance, with the
+ * startup warm-up enabled and disabled.
+ *
+ * Each configuration is started several times as a separate JVM over a seeded H2
+ * database. Once the readiness probe answers 200, a few clients send a mix of read
+ * requests for one minute; the report has the time to readiness, the warm-up duration
+ * and the p50/p99 latency of the first five seconds and of the whole minute.
+ *
+ * Usage: WarmupBenchmark <java> <app jar> [jvm options...]
+ * Normally run through the warmupBenchmark Gradle task.
+ */
+public final class WarmupBenchmark {
+
+    private static final int RUNS = 3;
+    private static final int USERS = 1000;
+    private static final int CLIENTS = 4;
+    private static final Duration MEASUREMENT = Duration.ofMinutes(1);
+    private static final Duration FIRST_SECONDS = Duration.ofSeconds(5);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final String BASE_PATH = "/planeacionpostgrados/api/v1";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private WarmupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: WarmupBenchmark <java> <app jar> [jvm options...]");
+        }
+        String java = args[0];
+        String jar = args[1];
+        List<String> jvmOptions = new ArrayList<>(Arrays.asList(args).subList(2, args.length));
+
+        Path seed = writeSeed();
+        // The schema is pre-created from the entity mappings; the seed replaces the PostgreSQL sequence script
+        jvmOptions.add("-Dspring.sql.init.mode=always");
+        jvmOptions.add("-Dspring.sql.init.schema-locations=");
+        jvmOptions.add("-Dspring.sql.init.data-locations=file:" + seed.toAbsolutePath());
+        try {
+            for (boolean warmup : new boolean[] {false, true}) {
+                List<String> options = new ArrayList<>(jvmOptions);
+                options.add("-Duser.warmup.enabled=" + warmup);
+                List<Run> runs = new ArrayList<>();
+                for (int i = 0; i < RUNS; i++) {
+                    runs.add(run(java, jar, options));
+                }
+                report(warmup ? "warmup" : "cold", runs);
+            }
+        } finally {
+            Files.deleteIfExists(seed);
+        }
+    }
+
+    private static Run run(String java, String jar, List<String> jvmOptions) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmOptions);
+        command.add("-Dserver.port=" + port);
+        command.add("-jar");
+        command.add(jar);
+        String base = "http://localhost:" + port + BASE_PATH;
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(200))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            awaitReady(client, URI.create(base + "/health/readiness"), process, start);
+            long readyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            JsonNode warmup = OBJECT_MAPPER.readTree(get(client, URI.create(base + "/users/warmup")).body()).path("data");
+            long[][] latencies = measure(client, base);
+            return new Run(readyMs, warmup.path("durationMs").asLong(), latencies[0], latencies[1]);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static void awaitReady(HttpClient client, URI readiness, Process process, long start) throws Exception {
+        long deadline = start + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue());
+            }
+            try {
+                if (get(client, readiness).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Application was not ready within " + STARTUP_TIMEOUT);
+    }
+
+    /**
+     * @return Latencies in microseconds of the first seconds and of the whole measurement, sorted
+     */
+    private static long[][] measure(HttpClient client, String base) throws Exception {
+        long start = System.nanoTime();
+        long firstSecondsEnd = start + FIRST_SECONDS.toNanos();
+        long end = start + MEASUREMENT.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<long[][]>> results = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            results.add(clients.submit(() -> {
+                LatencyLog first = new LatencyLog();
+                LatencyLog all = new LatencyLog();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < end) {
+                    URI uri = switch (random.nextInt(4)) {
+                        case 0 -> URI.create(base + "/users/" + (1 + random.nextInt(USERS)));
+                        case 1 -> URI.create(base + "/users?ids=" + (1 + random.nextInt(USERS)) + "," + (1 + random.nextInt(USERS)));
+                        case 2 -> URI.create(base + "/users/search?name=User%20" + random.nextInt(10) + "&page=0&size=20");
+                        default -> URI.create(base + "/users/search?page=" + random.nextInt(50) + "&size=20");
+                    };
+                    long sent = System.nanoTime();
+                    get(client, uri);
+                    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent);
+                    all.add(micros);
+                    if (sent < firstSecondsEnd) {
+                        first.add(micros);
+                    }
+                }
+                return new long[][] {first.toArray(), all.toArray()};
+            }));
+        }
+        LatencyLog first = new LatencyLog();
+        LatencyLog all = new LatencyLog();
+        try {
+            for (Future<long[][]> result : results) {
+                long[][] latencies = result.get();
+                first.addAll(latencies[0]);
+                all.addAll(latencies[1]);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        long[] firstSorted = first.toArray();
+        long[] allSorted = all.toArray();
+        Arrays.sort(firstSorted);
+        Arrays.sort(allSorted);
+        return new long[][] {firstSorted, allSorted};
+    }
+
+    private static HttpResponse<byte[]> get(HttpClient client, URI uri) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static Path writeSeed() throws IOException {
+        Path seed = Files.createTempFile("warmup-benchmark-users", ".sql");
+        try (Writer writer = Files.newBufferedWriter(seed, StandardCharsets.UTF_8)) {
+            for (int id = 1; id <= USERS; id++) {
+                writer.write(String.format("insert into \"user\" (id, name, document_id) values (%d, 'User %d', 'BENCH%08d');%n",
+                        id, id, id));
+            }
+        }
+        return seed;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void report(String name, List<Run> runs) {
+        for (Run run : runs) {
+            System.out.printf("%-6s ready=%d ms, warm-up=%d ms, first %ds p50=%.1f ms p99=%.1f ms, "
+                            + "first minute p50=%.1f ms p99=%.1f ms (%d requests)%n",
+                    name, run.readyMs(), run.warmupMs(), FIRST_SECONDS.toSeconds(),
+                    percentile(run.firstSeconds(), 0.50), percentile(run.firstSeconds(), 0.99),
+                    percentile(run.firstMinute(), 0.50), percentile(run.firstMinute(), 0.99),
+                    run.firstMinute().length);
+        }
+        double[] p99s = runs.stream().mapToDouble(run -> percentile(run.firstMinute(), 0.99)).sorted().toArray();
+        System.out.printf("%-6s median first-minute p99=%.1f ms over %d runs%n", name, p99s[p99s.length / 2], p99s.length);
+    }
+
+    private static double percentile(long[] sortedMicros, double quantile) {
+        if (sortedMicros.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(quantile * sortedMicros.length) - 1;
+        return sortedMicros[Math.max(0, index)] / 1000.0;
+    }
+
+    private record Run(long readyMs, long warmupMs, long[] firstSeconds, long[] firstMinute) {
+    }
+
+    private static final class LatencyLog {
+
+        private long[] values = new long[4096];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(long[] more) {
+            for (long value : more) {
+                add(value);
+            }
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
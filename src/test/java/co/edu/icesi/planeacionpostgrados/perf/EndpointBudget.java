@@ -0,0 +1,18 @@
+package co.edu.icesi.planeacionpostgrados.perf;
+
+import java.time.Duration;
+
+/**
+ * Performance budget of one endpoint, checked per request.
+ *
+ * @param endpoint          Label used in failure messages, e.g. "GET /api/v1/users/{id}"
+ * @param maxStatements     Most JDBC statements a single request may prepare
+ * @param maxAllocatedBytes Most bytes the request thread may allocate (95th percentile of the measured requests)
+ * @param maxLatency        Upper bound of the 95th percentile latency
+ */
+public record EndpointBudget(String endpoint, int maxStatements, long maxAllocatedBytes, Duration maxLatency) {
+
+    public static EndpointBudget of(String endpoint, int maxStatements, long maxAllocatedKb, long maxLatencyMs) {
+        return new EndpointBudget(endpoint, maxStatements, maxAllocatedKb * 1024, Duration.ofMillis(maxLatencyMs));
+    }
+}
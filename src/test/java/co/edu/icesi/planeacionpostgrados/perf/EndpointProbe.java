@@ -0,0 +1,117 @@
+package co.edu.icesi.planeacionpostgrados.perf;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs an endpoint through MockMvc and checks it against its EndpointBudget.
+ *
+ * Requests run in-process on the calling thread, so ThreadMXBean reports what the
+ * request itself allocates. Each measured request is preceded by warm-up requests so
+ * the budget reflects JIT-compiled code rather than interpreter and class-loading cost.
+ * Allocations and latency are checked at the 95th percentile, so an occasional slow
+ * request is tolerated but a regression in a twentieth of the requests is not. Latency
+ * depends on the machine, so by default it only has to stay within LOOSE_LATENCY_FACTOR
+ * times its budget, which still catches an order-of-magnitude regression; with the
+ * perf.tight-latency system property it has to stay within the budget itself.
+ *
+ * Statements are counted on the request thread and on the UserLookupLoader threads,
+ * which resolve lookups on behalf of the request; other background threads are ignored.
+ */
+public class EndpointProbe {
+
+    private static final int WARMUP_REQUESTS = 200;
+    private static final int MEASURED_REQUESTS = 200;
+    private static final double PERCENTILE = 0.95;
+    private static final String LOADER_THREAD_PREFIX = "user-lookup-loader-";
+    private static final int LOOSE_LATENCY_FACTOR = 10;
+    private static final boolean TIGHT_LATENCY = Boolean.getBoolean("perf.tight-latency");
+    private static final Logger log = LoggerFactory.getLogger(EndpointProbe.class);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final MockMvc mockMvc;
+
+    public EndpointProbe(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+        if (!THREADS.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM does not report per-thread allocations");
+        }
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /**
+     * Sends the request repeatedly and fails if any measurement exceeds the budget.
+     *
+     * @param budget         Budget of the endpoint
+     * @param expectedStatus HTTP status every request must return
+     * @param request        Builds one request; any setup it does (e.g. inserting a row to delete) is not measured
+     */
+    public void assertWithinBudget(EndpointBudget budget, int expectedStatus, Supplier<RequestBuilder> request) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            perform(budget, expectedStatus, request.get());
+        }
+
+        Thread requestThread = Thread.currentThread();
+        Predicate<Thread> servingThreads = thread -> thread == requestThread
+                || thread.getName().startsWith(LOADER_THREAD_PREFIX);
+        long maxStatements = 0;
+        long[] allocatedBytes = new long[MEASURED_REQUESTS];
+        long[] latencyNanos = new long[MEASURED_REQUESTS];
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            RequestBuilder builder = request.get();
+            long statementsBefore = StatementCounter.count(servingThreads);
+            long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+
+            perform(budget, expectedStatus, builder);
+
+            latencyNanos[i] = System.nanoTime() - start;
+            allocatedBytes[i] = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            maxStatements = Math.max(maxStatements, StatementCounter.count(servingThreads) - statementsBefore);
+        }
+
+        long allocated = percentile(allocatedBytes);
+        long latency = percentile(latencyNanos);
+        long latencyBound = budget.maxLatency().toNanos() * (TIGHT_LATENCY ? 1 : LOOSE_LATENCY_FACTOR);
+        log.info("{}: statements={}, allocated={} KB, latency={} ms (p{} of {})", budget.endpoint(), maxStatements,
+                allocated / 1024, String.format("%.2f", latency / 1e6), Math.round(PERCENTILE * 100), MEASURED_REQUESTS);
+
+        assertTrue(maxStatements <= budget.maxStatements(),
+                budget.endpoint() + " prepared " + maxStatements + " JDBC statements in one request, budget is "
+                        + budget.maxStatements());
+        assertTrue(allocated <= budget.maxAllocatedBytes(),
+                budget.endpoint() + " allocated " + allocated / 1024 + " KB per request at p95, budget is "
+                        + budget.maxAllocatedBytes() / 1024 + " KB");
+        assertTrue(latency <= latencyBound,
+                String.format("%s took %.2f ms per request at p95, limit is %d ms (budget %d ms%s)",
+                        budget.endpoint(), latency / 1e6, latencyBound / 1_000_000, budget.maxLatency().toMillis(),
+                        TIGHT_LATENCY ? "" : " x" + LOOSE_LATENCY_FACTOR));
+    }
+
+    private void perform(EndpointBudget budget, int expectedStatus, RequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder).andReturn();
+        int status = result.getResponse().getStatus();
+        if (status != expectedStatus) {
+            fail(budget.endpoint() + " returned " + status + " instead of " + expectedStatus);
+        }
+    }
+
+    private static long percentile(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(PERCENTILE * sorted.length) - 1];
+    }
+}
@@ -0,0 +1,36 @@
+package co.edu.icesi.planeacionpostgrados.perf;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Counts the SQL statements Hibernate prepares, per thread.
+ *
+ * Registered through hibernate.session_factory.statement_inspector, so Hibernate creates
+ * the instance; the counts are static so tests can read them. Counting per thread keeps
+ * the statements of background jobs out of the count of a request.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final Map<Thread, AtomicLong> STATEMENTS = new ConcurrentHashMap<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.computeIfAbsent(Thread.currentThread(), thread -> new AtomicLong()).incrementAndGet();
+        return sql;
+    }
+
+    /**
+     * @return Statements prepared so far on the threads that match
+     */
+    public static long count(Predicate<Thread> threads) {
+        return STATEMENTS.entrySet().stream()
+                .filter(entry -> threads.test(entry.getKey()))
+                .mapToLong(entry -> entry.getValue().get())
+                .sum();
+    }
+}
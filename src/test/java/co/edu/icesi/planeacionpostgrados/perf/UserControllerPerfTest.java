@@ -0,0 +1,159 @@
+package co.edu.icesi.planeacionpostgrados.perf;
+
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Performance regression tests for UserController, run with ./gradlew perfTest (part of check;
+ * add -PperfTightLatency=true to enforce the latency budgets instead of a loose multiple).
+ *
+ * Every endpoint runs in-process against H2 with a fixed dataset and must stay within the
+ * budget declared below. Raise a budget only together with the change that justifies it.
+ */
+@Tag("perf")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:planeacionpostgrados-perf",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=co.edu.icesi.planeacionpostgrados.perf.StatementCounter"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserControllerPerfTest {
+
+    private static final int DATASET_SIZE = 1000;
+    private static final int IDS_PER_BATCH_REQUEST = 20;
+    private static final int SEARCH_PAGE_SIZE = 20;
+
+    // Budgets: endpoint, max JDBC statements, max allocated KB and max latency in ms at p95.
+    // Allocation budgets are about 1.5x the measured p95, so doubling the work of a layer fails.
+    private static final EndpointBudget GET_ALL = EndpointBudget.of("GET /api/v1/users", 1, 1392, 150);
+    private static final EndpointBudget GET_BY_ID = EndpointBudget.of("GET /api/v1/users/{id}", 1, 126, 30);
+    private static final EndpointBudget GET_BY_IDS = EndpointBudget.of("GET /api/v1/users?ids=", 1, 156, 30);
+    // Two statements for search: the page and its count (the read model is off in this tier)
+    private static final EndpointBudget SEARCH = EndpointBudget.of("GET /api/v1/users/search", 2, 240, 40);
+    // Two statements for create: the pooled-lo sequence is read once every 50 inserts
+    private static final EndpointBudget CREATE = EndpointBudget.of("POST /api/v1/users", 2, 172, 40);
+    private static final EndpointBudget UPDATE = EndpointBudget.of("PUT /api/v1/users/{id}", 2, 204, 40);
+    private static final EndpointBudget DELETE = EndpointBudget.of("DELETE /api/v1/users/{id}", 2, 172, 40);
+    private static final EndpointBudget LOGIN = EndpointBudget.of("POST /api/v1/users/login", 0, 135, 30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private EndpointProbe probe;
+    private List<Long> datasetIds;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @BeforeAll
+    public void seedDataset() {
+        probe = new EndpointProbe(mockMvc);
+        List<User> users = new ArrayList<>(DATASET_SIZE);
+        for (int i = 0; i < DATASET_SIZE; i++) {
+            users.add(User.builder().name("Perf User " + i).documentId(String.format("PERF%08d", i)).build());
+        }
+        datasetIds = userRepository.saveAll(users).stream().map(User::getId).collect(Collectors.toList());
+    }
+
+    @AfterEach
+    public void restoreDataset() {
+        // Keep the dataset size fixed for the next endpoint
+        Set<Long> seeded = new HashSet<>(datasetIds);
+        List<User> added = userRepository.findAll().stream()
+                .filter(user -> !seeded.contains(user.getId()))
+                .collect(Collectors.toList());
+        userRepository.deleteAllInBatch(added);
+    }
+
+    @Test
+    public void getAllUsersShouldStayWithinBudget() throws Exception {
+        probe.assertWithinBudget(GET_ALL, 200, () -> get("/api/v1/users"));
+    }
+
+    @Test
+    public void getUserByIdShouldStayWithinBudget() throws Exception {
+        probe.assertWithinBudget(GET_BY_ID, 200, () -> get("/api/v1/users/{id}", nextDatasetId()));
+    }
+
+    @Test
+    public void getUsersByIdsShouldStayWithinBudget() throws Exception {
+        probe.assertWithinBudget(GET_BY_IDS, 200, () -> {
+            List<String> ids = new ArrayList<>(IDS_PER_BATCH_REQUEST);
+            for (int i = 0; i < IDS_PER_BATCH_REQUEST; i++) {
+                ids.add(nextDatasetId().toString());
+            }
+            return get("/api/v1/users").param("ids", String.join(",", ids));
+        });
+    }
+
+    @Test
+    public void searchUsersShouldStayWithinBudget() throws Exception {
+        // Every seeded name matches, so each page is full and the total needs the count query
+        probe.assertWithinBudget(SEARCH, 200, () -> get("/api/v1/users/search")
+                .param("name", "perf user")
+                .param("page", Long.toString(sequence.incrementAndGet() % (DATASET_SIZE / SEARCH_PAGE_SIZE)))
+                .param("size", Integer.toString(SEARCH_PAGE_SIZE)));
+    }
+
+    @Test
+    public void createUserShouldStayWithinBudget() throws Exception {
+        probe.assertWithinBudget(CREATE, 201, () -> post("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson("Created User " + sequence.incrementAndGet(), "NEW" + sequence.get())));
+    }
+
+    @Test
+    public void updateUserShouldStayWithinBudget() throws Exception {
+        // A new name on every request, otherwise dirty checking skips the UPDATE
+        probe.assertWithinBudget(UPDATE, 200, () -> put("/api/v1/users/{id}", nextDatasetId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson("Updated User " + sequence.incrementAndGet(), "UPD" + sequence.get())));
+    }
+
+    @Test
+    public void deleteUserShouldStayWithinBudget() throws Exception {
+        probe.assertWithinBudget(DELETE, 200, () -> {
+            User victim = userRepository.save(User.builder()
+                    .name("Deleted User " + sequence.incrementAndGet())
+                    .documentId("DEL" + sequence.get())
+                    .build());
+            return delete("/api/v1/users/{id}", victim.getId());
+        });
+    }
+
+    @Test
+    public void loginShouldStayWithinBudget() throws Exception {
+        probe.assertWithinBudget(LOGIN, 200, () -> post("/api/v1/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"perf\",\"password\":\"perf\"}"));
+    }
+
+    private Long nextDatasetId() {
+        return datasetIds.get((int) (sequence.incrementAndGet() % DATASET_SIZE));
+    }
+
+    private static String userJson(String name, String documentId) {
+        return "{\"name\":\"" + name + "\",\"documentId\":\"" + documentId + "\"}";
+    }
+}
@@ -0,0 +1,160 @@
+package co.edu.icesi.planeacionpostgrados.unit.config;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.config.AuthenticationResultCache;
+import co.edu.icesi.planeacionpostgrados.config.CachingAuthenticationProvider;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeEvent;
+import co.edu.icesi.planeacionpostgrados.event.UserInvalidationEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.Set;
+
+public class AuthenticationResultCacheTest {
+
+    @Test
+    public void shouldExpireEntriesAfterTheTtl() throws Exception {
+        // Arrange
+        AuthenticationResultCache cache = new AuthenticationResultCache(true, 1, 100);
+        cache.put("ana", "secret", authenticated("ana"));
+
+        // Act
+        Authentication fresh = cache.get("ana", "secret");
+        Thread.sleep(1100);
+        Authentication expired = cache.get("ana", "secret");
+
+        // Assert
+        assertNotNull(fresh);
+        assertNull(expired);
+    }
+
+    @Test
+    public void shouldEvictTheOldestEntriesBeyondTheLimit() {
+        // Arrange
+        AuthenticationResultCache cache = new AuthenticationResultCache(true, 30, 2);
+
+        // Act
+        cache.put("ana", "one", authenticated("ana"));
+        cache.put("bob", "two", authenticated("bob"));
+        cache.put("ana", "one", authenticated("ana"));
+        cache.put("carl", "three", authenticated("carl"));
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertNull(cache.get("ana", "one"));
+        assertNotNull(cache.get("bob", "two"));
+        assertNotNull(cache.get("carl", "three"));
+    }
+
+    @Test
+    public void shouldEvictEveryLoginOfAPrincipal() {
+        // Arrange
+        AuthenticationResultCache cache = new AuthenticationResultCache(true, 30, 100);
+        cache.put("ana", "old", authenticated("ana"));
+        cache.put("ana", "new", authenticated("ana"));
+        cache.put("bob", "two", authenticated("bob"));
+
+        // Act
+        cache.evictUser("ana");
+
+        // Assert
+        assertNull(cache.get("ana", "old"));
+        assertNull(cache.get("ana", "new"));
+        assertNotNull(cache.get("bob", "two"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldOnlyEvictTheChangedPrincipalWhenAUserIsUpdatedOrDeleted() {
+        // Arrange
+        AuthenticationResultCache cache = new AuthenticationResultCache(true, 30, 100);
+        UserDTO before = UserDTO.builder().id(1L).name("Ana").documentId("A001").build();
+        UserDTO after = UserDTO.builder().id(1L).name("Ana").documentId("A002").build();
+        cache.put("A001", "one", authenticated("A001"));
+        cache.put("B001", "two", authenticated("B001"));
+
+        // Act & Assert
+        cache.onUserChange(UserChangeEvent.created(after));
+        assertEquals(2, cache.size());
+        cache.onUserChange(UserChangeEvent.updated(1L, before, after));
+        assertNull(cache.get("A001", "one"));
+        assertNotNull(cache.get("B001", "two"));
+
+        cache.put("A002", "one", authenticated("A002"));
+        cache.onUserChange(UserChangeEvent.deleted(1L, after));
+        assertNull(cache.get("A002", "one"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldEvictEverythingOnInvalidationsFromOtherInstances() {
+        // Arrange
+        AuthenticationResultCache cache = new AuthenticationResultCache(true, 30, 100);
+        cache.put("ana", "one", authenticated("ana"));
+        cache.put("bob", "two", authenticated("bob"));
+
+        // Act
+        cache.onUserInvalidation(UserInvalidationEvent.of(Set.of(7L)));
+
+        // Assert
+        assertEquals(0, cache.size());
+        assertNull(cache.get("bob", "two"));
+    }
+
+    @Test
+    public void shouldOnlyMatchTheSameCredentials() {
+        // Arrange
+        AuthenticationResultCache cache = new AuthenticationResultCache(true, 30, 100);
+        cache.put("ana", "secret", authenticated("ana"));
+
+        // Act & Assert
+        assertNull(cache.get("ana", "Secret"));
+        assertNull(cache.get("an", "asecret"));
+        assertNotNull(cache.get("ana", "secret"));
+    }
+
+    @Test
+    public void shouldAuthenticateOnceAndCacheWithoutThePassword() {
+        // Arrange
+        AuthenticationProvider delegate = mock(AuthenticationProvider.class);
+        when(delegate.authenticate(any())).thenAnswer(invocation -> authenticated("ana"));
+        AuthenticationResultCache cache = new AuthenticationResultCache(true, 30, 100);
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, cache);
+
+        // Act
+        Authentication first = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("ana", "secret"));
+        Authentication second = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("ana", "secret"));
+
+        // Assert
+        verify(delegate, times(1)).authenticate(any());
+        assertSame(first, second);
+        assertNull(cache.get("ana", "secret").getCredentials());
+    }
+
+    @Test
+    public void shouldNotCacheFailedAuthentications() {
+        // Arrange
+        AuthenticationProvider delegate = mock(AuthenticationProvider.class);
+        when(delegate.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+        AuthenticationResultCache cache = new AuthenticationResultCache(true, 30, 100);
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, cache);
+        Authentication attempt = UsernamePasswordAuthenticationToken.unauthenticated("ana", "wrong");
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(attempt));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(attempt));
+        verify(delegate, times(2)).authenticate(any());
+        assertEquals(0, cache.size());
+    }
+
+    private static Authentication authenticated(String username) {
+        return UsernamePasswordAuthenticationToken.authenticated(username, "secret", AuthorityUtils.createAuthorityList("ROLE_USER"));
+    }
+}
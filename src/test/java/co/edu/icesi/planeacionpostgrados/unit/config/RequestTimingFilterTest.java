@@ -0,0 +1,78 @@
+package co.edu.icesi.planeacionpostgrados.unit.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.config.RequestTimingFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class RequestTimingFilterTest {
+
+    private static final String[] STREAMING_PATHS = {"/api/v1/users/changes"};
+
+    private final AtomicReference<ServletResponse> passedResponse = new AtomicReference<>();
+    private final FilterChain chain = (request, response) -> {
+        passedResponse.set(response);
+        response.getWriter().write("[]");
+    };
+
+    @Test
+    public void shouldIgnoreTheClientHeaderUnlessOptInIsEnabled() throws Exception {
+        // Arrange
+        RequestTimingFilter filter = new RequestTimingFilter(0, false, STREAMING_PATHS, 1000);
+        MockHttpServletRequest request = request("/api/v1/users");
+        request.addHeader("X-Server-Timing", "true");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertNull(response.getHeader("Server-Timing"));
+        assertSame(response, passedResponse.get());
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    public void shouldEmitTheHeaderWhenTheClientOptsIn() throws Exception {
+        // Arrange
+        RequestTimingFilter filter = new RequestTimingFilter(0, true, STREAMING_PATHS, 1000);
+        MockHttpServletRequest request = request("/api/v1/users");
+        request.addHeader("X-Server-Timing", "true");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertNotNull(response.getHeader("Server-Timing"));
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    public void shouldNeverBufferStreamingPaths() throws Exception {
+        // Arrange: sampled and opted in, but no Accept header naming the event stream
+        RequestTimingFilter filter = new RequestTimingFilter(1, true, STREAMING_PATHS, 1000);
+        MockHttpServletRequest request = request("/api/v1/users/changes");
+        request.addHeader("X-Server-Timing", "true");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertFalse(passedResponse.get() instanceof ContentCachingResponseWrapper);
+        assertNull(response.getHeader("Server-Timing"));
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/planeacionpostgrados" + path);
+        request.setContextPath("/planeacionpostgrados");
+        return request;
+    }
+}
@@ -0,0 +1,98 @@
+package co.edu.icesi.planeacionpostgrados.unit.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import co.edu.icesi.planeacionpostgrados.config.AuthenticationResultCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Path;
+
+@SpringBootTest(properties = {
+        "spring.security.user.name=tester",
+        "spring.security.user.password=secret",
+        "springdoc.api-docs.enabled=true",
+        "user.audit.enabled=true"
+})
+@AutoConfigureMockMvc
+public class SecurityConfigurationTest {
+
+    @TempDir
+    static Path auditDirectory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void auditProperties(DynamicPropertyRegistry registry) {
+        registry.add("user.audit.directory", () -> auditDirectory.toString());
+    }
+
+    @Autowired
+    private AuthenticationResultCache authenticationResultCache;
+
+    @Test
+    public void shouldServePublicResourcesWithoutAuthenticationOrSession() throws Exception {
+        // Act: the public chain ignores the credentials, even wrong ones
+        MvcResult result = mockMvc.perform(get("/v3/api-docs").with(httpBasic("tester", "wrong")))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert
+        assertNull(result.getRequest().getSession(false));
+        assertNull(authenticationResultCache.get("tester", "wrong"));
+    }
+
+    @Test
+    public void shouldServeThePublicApiWithoutAuthenticationOrSession() throws Exception {
+        // Act: the public API skips authentication, so wrong credentials are never checked
+        MvcResult result = mockMvc.perform(get("/api/v1/health/liveness").with(httpBasic("tester", "wrong")))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert
+        assertNull(result.getRequest().getSession(false));
+        assertNull(authenticationResultCache.get("tester", "wrong"));
+    }
+
+    @Test
+    public void shouldRejectWrongCredentialsOnTheAuthenticatedChain() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users/audit").with(httpBasic("tester", "wrong")))
+                .andExpect(status().isUnauthorized());
+        assertNull(authenticationResultCache.get("tester", "wrong"));
+    }
+
+    @Test
+    public void shouldCacheValidCredentialsOnTheAuthenticatedChain() throws Exception {
+        // Act
+        mockMvc.perform(get("/api/v1/users/audit").with(httpBasic("tester", "secret")))
+                .andExpect(status().isForbidden());
+
+        // Assert
+        assertNotNull(authenticationResultCache.get("tester", "secret"));
+    }
+
+    @Test
+    public void shouldServeTheAuditJournalOnlyToAuditors() throws Exception {
+        // Act & Assert: anonymous callers get the 404 entry point, users without the role 403
+        mockMvc.perform(get("/api/v1/users/audit"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/users/audit").with(httpBasic("tester", "secret")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/users/audit").with(user("auditor").roles("AUDITOR")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/users"))
+                .andExpect(status().isOk());
+    }
+}
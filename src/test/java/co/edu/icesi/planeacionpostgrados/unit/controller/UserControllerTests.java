@@ -1,5 +1,71 @@
 package co.edu.icesi.planeacionpostgrados.unit.controller;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@SpringBootTest
+@AutoConfigureMockMvc
 public class UserControllerTests {
-    //ToDo
-}
\ No newline at end of file
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private long first;
+    private long second;
+
+    @BeforeEach
+    public void setUp() {
+        first = userRepository.save(User.builder().name("Multi One").documentId("MULTI1").build()).getId();
+        second = userRepository.save(User.builder().name("Multi Two").documentId("MULTI2").build()).getId();
+    }
+
+    @Test
+    public void shouldReturnFoundUsersOnceAndSkipUnknownIds() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users").param("ids", second + "," + first + "," + second + ",999999999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[*].name", contains("Multi Two", "Multi One")));
+    }
+
+    @Test
+    public void shouldRejectEmptyIds() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users").param("ids", first + ",," + second))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void shouldRejectNonNumericIds() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users").param("ids", first + ",x"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void shouldRejectMoreThanOneHundredIds() throws Exception {
+        // Arrange
+        String ids = LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users").param("ids", ids))
+                .andExpect(status().isBadRequest());
+    }
+}
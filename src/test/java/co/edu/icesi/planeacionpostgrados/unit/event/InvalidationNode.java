@@ -0,0 +1,65 @@
+package co.edu.icesi.planeacionpostgrados.unit.event;
+
+import co.edu.icesi.planeacionpostgrados.event.InvalidationTransport;
+import co.edu.icesi.planeacionpostgrados.event.TcpInvalidationTransport;
+import co.edu.icesi.planeacionpostgrados.event.UdpInvalidationTransport;
+import co.edu.icesi.planeacionpostgrados.event.UserInvalidationBus;
+import co.edu.icesi.planeacionpostgrados.event.UserInvalidationEvent;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Receiving instance for UserInvalidationBusMultiJvmTest, run as a separate JVM.
+ * Prints "READY" once listening, then one line per invalidation event:
+ * "INVALIDATED <epoch millis> <comma-separated IDs, or * for everything>".
+ * Exits when its standard input is closed.
+ *
+ * Usage: InvalidationNode <tcp|udp> <port> <host:port>...
+ */
+public final class InvalidationNode {
+
+    static final String READY = "READY";
+    static final String INVALIDATED = "INVALIDATED";
+    static final String SHARED_KEY = "multi-jvm-invalidation-key";
+
+    private InvalidationNode() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = Integer.parseInt(args[1]);
+        List<InetSocketAddress> peers = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            String[] hostAndPort = args[i].split(":");
+            peers.add(new InetSocketAddress(hostAndPort[0], Integer.parseInt(hostAndPort[1])));
+        }
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        InvalidationTransport transport = "udp".equals(args[0])
+                ? new UdpInvalidationTransport(loopback, port, peers)
+                : new TcpInvalidationTransport(loopback, port, peers, 500, 100, 1024);
+
+        UserInvalidationBus bus = new UserInvalidationBus(transport, event -> {
+            if (event instanceof UserInvalidationEvent invalidation) {
+                String ids = invalidation.all() ? "*" : invalidation.userIds().stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(","));
+                print(INVALIDATED + " " + System.currentTimeMillis() + " " + ids);
+            }
+        }, "node-" + port, SHARED_KEY, 10, 1000, 200);
+        bus.start();
+        print(READY);
+
+        while (System.in.read() != -1) {
+            // Parent still running
+        }
+        bus.shutdown();
+    }
+
+    private static synchronized void print(String line) {
+        System.out.println(line);
+        System.out.flush();
+    }
+}
@@ -0,0 +1,76 @@
+package co.edu.icesi.planeacionpostgrados.unit.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.event.TcpInvalidationTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TcpInvalidationTransportTest {
+
+    private static final int MESSAGES = 100;
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    @Test
+    public void shouldKeepDeliveringToOtherPeersWhenOnePeerStopsReading() throws Exception {
+        // Arrange: one peer accepts connections but never reads, so its socket buffers fill up
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        ServerSocket stalled = new ServerSocket(0, 50, loopback);
+        resources.add(stalled);
+        List<Socket> stalledConnections = new CopyOnWriteArrayList<>();
+        Thread acceptor = new Thread(() -> {
+            try {
+                while (true) {
+                    stalledConnections.add(stalled.accept());
+                }
+            } catch (Exception e) {
+                // Closed
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        CountDownLatch delivered = new CountDownLatch(MESSAGES);
+        TcpInvalidationTransport healthy = new TcpInvalidationTransport(loopback, 0, List.of(), 500, 100, 16);
+        healthy.start(message -> delivered.countDown());
+        resources.add(healthy::close);
+
+        TcpInvalidationTransport sender = new TcpInvalidationTransport(loopback, 0, List.of(
+                new InetSocketAddress(loopback, stalled.getLocalPort()),
+                new InetSocketAddress(loopback, healthy.localPort())), 500, 100, MESSAGES);
+        sender.start(message -> { });
+        resources.add(sender::close);
+
+        // Act: far more than the stalled peer's socket buffers can take
+        byte[] message = new byte[256 * 1024];
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            for (int i = 0; i < MESSAGES; i++) {
+                sender.send(message);
+            }
+        }, "send waited for the stalled peer");
+
+        // Assert
+        assertTrue(delivered.await(10, TimeUnit.SECONDS), delivered.getCount() + " messages not delivered");
+        for (Socket socket : stalledConnections) {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package co.edu.icesi.planeacionpostgrados.unit.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeEvent;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@SpringBootTest(properties = "user.changes.subscriber-queue-size=1000")
+public class UserChangeFeedOrderingTest {
+
+    private static final int WRITERS = 4;
+    private static final int CHANGES_PER_WRITER = 200;
+    // Idle subscribers lengthen the fan-out, so a commit is often preempted halfway through it
+    private static final int IDLE_SUBSCRIBERS = 200;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserChangeFeed userChangeFeed;
+
+    @Test
+    public void shouldDeliverConcurrentCommitsOnceAndInOrderToASubscriberJoiningMidway() throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        List<SseEmitter> idle = new ArrayList<>();
+        for (int i = 0; i < IDLE_SUBSCRIBERS; i++) {
+            idle.add(userChangeFeed.subscribe(null));
+        }
+        long base = userChangeFeed.currentSequence();
+        long last = base + WRITERS * CHANGES_PER_WRITER;
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> commits = new ArrayList<>();
+        for (int writer = 0; writer < WRITERS; writer++) {
+            int offset = writer * CHANGES_PER_WRITER;
+            commits.add(writers.submit(() -> {
+                start.await();
+                for (int i = 0; i < CHANGES_PER_WRITER; i++) {
+                    userChangeFeed.onUserChange(UserChangeEvent.created(UserDTO.builder()
+                            .id(5000L + offset + i).name("Ordered " + i).documentId("ORD" + (offset + i)).build()));
+                    // Paced, so the commits interleave with each other and with the subscription
+                    LockSupport.parkNanos(200_000);
+                }
+                return null;
+            }));
+        }
+
+        MvcResult result;
+        try {
+            // Act: subscribe while the commits are running, resuming from before the first one
+            start.countDown();
+            while (userChangeFeed.currentSequence() < base + CHANGES_PER_WRITER) {
+                Thread.onSpinWait();
+            }
+            result = mockMvc.perform(get("/api/v1/users/changes")
+                            .accept(MediaType.TEXT_EVENT_STREAM)
+                            .header("Last-Event-ID", userChangeFeed.eventId(base)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            for (Future<?> commit : commits) {
+                commit.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            writers.shutdownNow();
+            idle.forEach(SseEmitter::complete);
+        }
+
+        // Assert: every sequence number exactly once, strictly increasing
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!result.getResponse().getContentAsString().contains("id:" + userChangeFeed.eventId(last) + "\n")) {
+            assertTrue(System.nanoTime() < deadline, "Last change not delivered within 5 s");
+            Thread.sleep(10);
+        }
+        List<Long> expected = new ArrayList<>();
+        for (long sequence = base + 1; sequence <= last; sequence++) {
+            expected.add(sequence);
+        }
+        assertEquals(expected, deliveredIds(result.getResponse().getContentAsString()));
+    }
+
+    private static List<Long> deliveredIds(String content) {
+        List<Long> ids = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            if (line.startsWith("id:")) {
+                ids.add(Long.parseLong(line.substring(line.indexOf('-') + 1)));
+            }
+        }
+        return ids;
+    }
+}
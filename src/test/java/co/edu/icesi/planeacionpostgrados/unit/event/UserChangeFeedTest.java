@@ -0,0 +1,218 @@
+package co.edu.icesi.planeacionpostgrados.unit.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeEvent;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeFeed;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+@SpringBootTest(properties = {
+        "user.changes.buffer-size=4",
+        "user.changes.subscriber-queue-size=3"
+})
+public class UserChangeFeedTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserChangeFeed userChangeFeed;
+
+    private final WriteGate gate = new WriteGate();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(gate).build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        gate.open();
+    }
+
+    @Test
+    public void shouldResumeAfterTheLastEventId() throws Exception {
+        // Arrange
+        long base = userChangeFeed.currentSequence();
+        publish(3);
+
+        // Act
+        MvcResult result = subscribe(userChangeFeed.eventId(base + 1));
+
+        // Assert
+        awaitTrue(() -> content(result).contains("id:" + userChangeFeed.eventId(base + 3)));
+        assertTrue(content(result).contains("id:" + userChangeFeed.eventId(base + 2)));
+        assertFalse(content(result).contains("id:" + userChangeFeed.eventId(base + 1) + "\n"));
+        assertFalse(content(result).contains("event:reset"));
+    }
+
+    @Test
+    public void shouldSendResetWhenTheMissedChangesWereEvicted() throws Exception {
+        // Arrange: the ring buffer keeps 4 changes
+        long base = userChangeFeed.currentSequence();
+        publish(6);
+
+        // Act
+        MvcResult result = subscribe(userChangeFeed.eventId(base));
+
+        // Assert
+        awaitTrue(() -> content(result).contains("event:reset"));
+        assertTrue(content(result).contains("id:" + userChangeFeed.eventId(base + 6)));
+        assertFalse(content(result).contains("event:created"));
+    }
+
+    @Test
+    public void shouldSendResetWhenTheLastEventIdComesFromAnotherIncarnation() throws Exception {
+        // Arrange: a client that saw sequence base + 1 of a feed that has since restarted
+        long base = userChangeFeed.currentSequence();
+        publish(2);
+
+        // Act
+        MvcResult result = subscribe("previousrun-" + (base + 1));
+
+        // Assert
+        awaitTrue(() -> content(result).contains("event:reset"));
+        assertTrue(content(result).contains("id:" + userChangeFeed.eventId(base + 2)));
+        assertFalse(content(result).contains("event:created"));
+    }
+
+    @Test
+    public void shouldDropASlowSubscriberOnceItsSendReturns() throws Exception {
+        // Arrange: the first send blocks, as on a client that stopped reading
+        gate.close();
+        MvcResult result = subscribe(null);
+        int subscribers = userChangeFeed.subscriberCount();
+        publish(1);
+        assertTrue(gate.writeStarted.await(5, TimeUnit.SECONDS));
+
+        // Act: 3 changes fill the queue and the next one overflows it
+        publish(4);
+
+        // Assert: dropped at once, but not completed while its send is in progress
+        assertTrue(userChangeFeed.subscriberCount() < subscribers);
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        assertNull(asyncContext.getDispatchedPath());
+        gate.open();
+        awaitTrue(() -> asyncContext.getDispatchedPath() != null);
+        assertEquals(1, content(result).split("event:created", -1).length - 1);
+    }
+
+    private MvcResult subscribe(String lastEventId) throws Exception {
+        var request = get("/api/v1/users/changes").accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private void publish(int changes) {
+        for (int i = 0; i < changes; i++) {
+            userChangeFeed.onUserChange(UserChangeEvent.created(
+                    UserDTO.builder().id(1000L + i).name("Feed " + i).documentId("FEED" + i).build()));
+        }
+    }
+
+    private static String content(MvcResult result) {
+        try {
+            return result.getResponse().getContentAsString();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 5 s");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Holds every response write while closed, like a client whose socket buffer is full.
+     */
+    private static final class WriteGate implements Filter {
+
+        private final CountDownLatch writeStarted = new CountDownLatch(1);
+        private volatile CountDownLatch opened = new CountDownLatch(0);
+
+        void close() {
+            opened = new CountDownLatch(1);
+        }
+
+        void open() {
+            opened.countDown();
+        }
+
+        @Override
+        public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response,
+                             jakarta.servlet.FilterChain chain) throws IOException, jakarta.servlet.ServletException {
+            chain.doFilter(request, new HttpServletResponseWrapper((HttpServletResponse) response) {
+                @Override
+                public ServletOutputStream getOutputStream() throws IOException {
+                    ServletOutputStream target = super.getOutputStream();
+                    return new ServletOutputStream() {
+                        @Override
+                        public void write(int b) throws IOException {
+                            awaitOpen();
+                            target.write(b);
+                        }
+
+                        @Override
+                        public void write(byte[] bytes, int offset, int length) throws IOException {
+                            awaitOpen();
+                            target.write(bytes, offset, length);
+                        }
+
+                        @Override
+                        public void flush() throws IOException {
+                            target.flush();
+                        }
+
+                        @Override
+                        public boolean isReady() {
+                            return true;
+                        }
+
+                        @Override
+                        public void setWriteListener(WriteListener listener) {
+                        }
+                    };
+                }
+            });
+        }
+
+        private void awaitOpen() throws IOException {
+            writeStarted.countDown();
+            try {
+                opened.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package co.edu.icesi.planeacionpostgrados.unit.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.event.InvalidationTransport;
+import co.edu.icesi.planeacionpostgrados.event.TcpInvalidationTransport;
+import co.edu.icesi.planeacionpostgrados.event.UdpInvalidationTransport;
+import co.edu.icesi.planeacionpostgrados.event.UserInvalidationBus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs two receiving instances as separate JVMs and checks that every invalidation
+ * published here reaches both of them within the staleness bound of the bus.
+ * Spawns JVMs and asserts wall-clock bounds, so it runs with the perf tests.
+ */
+@Tag("perf")
+public class UserInvalidationBusMultiJvmTest {
+
+    private static final int USERS = 500;
+    private static final long FLUSH_INTERVAL_MS = 10;
+    private static final long HEARTBEAT_INTERVAL_MS = 200;
+    // Flush interval, or heartbeat interval if a datagram was lost, plus scheduling slack
+    private static final long STALENESS_BOUND_MS = FLUSH_INTERVAL_MS + HEARTBEAT_INTERVAL_MS + 500;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"tcp", "udp"})
+    public void shouldInvalidateOtherJvmsWithinBoundedStaleness(String transportName) throws Exception {
+        // Arrange
+        int publisherPort = freePort(transportName);
+        List<Node> nodes = List.of(new Node(transportName, freePort(transportName), publisherPort),
+                new Node(transportName, freePort(transportName), publisherPort));
+        List<InetSocketAddress> peers = new ArrayList<>();
+        for (Node node : nodes) {
+            peers.add(new InetSocketAddress("127.0.0.1", node.port));
+        }
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        InvalidationTransport transport = "udp".equals(transportName)
+                ? new UdpInvalidationTransport(loopback, publisherPort, peers)
+                : new TcpInvalidationTransport(loopback, publisherPort, peers, 500, 100, 1024);
+        UserInvalidationBus publisher = new UserInvalidationBus(transport, event -> { },
+                "publisher", InvalidationNode.SHARED_KEY, FLUSH_INTERVAL_MS, 1000, HEARTBEAT_INTERVAL_MS);
+
+        try {
+            for (Node node : nodes) {
+                assertTrue(node.ready.await(30, TimeUnit.SECONDS), "Node did not start");
+            }
+            publisher.start();
+
+            // Act: every user changes twice, in bursts
+            long[] publishedAt = new long[USERS + 1];
+            for (int id = 1; id <= USERS; id++) {
+                publishedAt[id] = System.currentTimeMillis();
+                publisher.invalidate((long) id);
+                publisher.invalidate((long) id);
+                if (id % 50 == 0) {
+                    Thread.sleep(5);
+                }
+            }
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (System.currentTimeMillis() < deadline && !nodes.stream().allMatch(node -> node.covers(publishedAt))) {
+                Thread.sleep(10);
+            }
+
+            // Assert
+            for (Node node : nodes) {
+                long maxStalenessMs = 0;
+                for (int id = 1; id <= USERS; id++) {
+                    long invalidatedAt = node.invalidatedAt((long) id, publishedAt[id]);
+                    assertTrue(invalidatedAt >= 0, "User " + id + " was never invalidated on node " + node.port);
+                    maxStalenessMs = Math.max(maxStalenessMs, invalidatedAt - publishedAt[id]);
+                }
+                assertTrue(maxStalenessMs <= STALENESS_BOUND_MS,
+                        "Staleness of " + maxStalenessMs + " ms exceeds " + STALENESS_BOUND_MS + " ms");
+                // Batching and coalescing: far fewer messages than invalidations
+                assertTrue(node.messages.get() < USERS);
+            }
+        } finally {
+            publisher.shutdown();
+            for (Node node : nodes) {
+                node.stop();
+            }
+        }
+    }
+
+    private static int freePort(String transportName) throws IOException {
+        if ("udp".equals(transportName)) {
+            try (DatagramSocket socket = new DatagramSocket(0)) {
+                return socket.getLocalPort();
+            }
+        }
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * A receiving JVM and the invalidations it reported.
+     */
+    private static final class Node {
+
+        private final int port;
+        private final Process process;
+        private final CountDownLatch ready = new CountDownLatch(1);
+        private final AtomicInteger messages = new AtomicInteger();
+        private final Map<Long, Long> receivedAt = new ConcurrentHashMap<>();
+        private final List<Long> invalidatedAllAt = new CopyOnWriteArrayList<>();
+
+        private Node(String transportName, int port, int publisherPort) throws IOException {
+            this.port = port;
+            String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+            this.process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    InvalidationNode.class.getName(), transportName, String.valueOf(port), "127.0.0.1:" + publisherPort)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            Thread reader = new Thread(this::readOutput, "invalidation-node-" + port);
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        private void readOutput() {
+            try (BufferedReader output = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = output.readLine()) != null) {
+                    if (line.equals(InvalidationNode.READY)) {
+                        ready.countDown();
+                    } else if (line.startsWith(InvalidationNode.INVALIDATED + " ")) {
+                        String[] fields = line.split(" ");
+                        long at = Long.parseLong(fields[1]);
+                        messages.incrementAndGet();
+                        if (fields[2].equals("*")) {
+                            invalidatedAllAt.add(at);
+                        } else {
+                            for (String id : fields[2].split(",")) {
+                                receivedAt.putIfAbsent(Long.parseLong(id), at);
+                            }
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // Process ended
+            }
+        }
+
+        private boolean covers(long[] publishedAt) {
+            for (int id = 1; id < publishedAt.length; id++) {
+                if (invalidatedAt((long) id, publishedAt[id]) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return First instant the user was invalidated on this node, by ID or by a full
+         * invalidation after it was published, or -1
+         */
+        private long invalidatedAt(Long id, long publishedAt) {
+            long at = receivedAt.getOrDefault(id, -1L);
+            for (long all : invalidatedAllAt) {
+                if (all >= publishedAt && (at < 0 || all < at)) {
+                    at = all;
+                }
+            }
+            return at;
+        }
+
+        private void stop() throws InterruptedException {
+            try {
+                process.getOutputStream().close();
+            } catch (IOException e) {
+                // Already gone
+            }
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+}
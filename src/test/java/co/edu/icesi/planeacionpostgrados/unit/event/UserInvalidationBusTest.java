@@ -0,0 +1,244 @@
+package co.edu.icesi.planeacionpostgrados.unit.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.event.InvalidationTransport;
+import co.edu.icesi.planeacionpostgrados.event.UserInvalidationBus;
+import co.edu.icesi.planeacionpostgrados.event.UserInvalidationEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+public class UserInvalidationBusTest {
+
+    private static final String KEY = "test-invalidation-key";
+
+    private final BlockingQueue<UserInvalidationEvent> received = new LinkedBlockingQueue<>();
+    private final BlockingQueue<String> applyThreads = new LinkedBlockingQueue<>();
+    private final List<UserInvalidationBus> buses = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        buses.forEach(UserInvalidationBus::shutdown);
+    }
+
+    @Test
+    public void shouldCoalesceRepeatedInvalidationsIntoOneMessage() throws Exception {
+        // Arrange
+        LinkedTransport sender = new LinkedTransport();
+        LinkedTransport receiver = new LinkedTransport();
+        sender.peer = receiver;
+        UserInvalidationBus publisher = bus(sender, "a", 200, 1000, 10000);
+        bus(receiver, "b", 200, 1000, 10000);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            publisher.invalidate((long) (i % 5 + 1));
+        }
+        UserInvalidationEvent event = received.poll(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertNotNull(event);
+        assertEquals(Set.of(1L, 2L, 3L, 4L, 5L), event.userIds());
+        assertFalse(event.all());
+        assertEquals(1, sender.sent.get());
+    }
+
+    @Test
+    public void shouldSplitBatchesLargerThanTheMaximum() throws Exception {
+        // Arrange
+        LinkedTransport sender = new LinkedTransport();
+        LinkedTransport receiver = new LinkedTransport();
+        sender.peer = receiver;
+        UserInvalidationBus publisher = bus(sender, "a", 10, 100, 10000);
+        bus(receiver, "b", 10, 100, 10000);
+
+        // Act
+        LongStream.rangeClosed(1, 250).forEach(publisher::invalidate);
+        Set<Long> ids = new HashSet<>();
+        while (ids.size() < 250) {
+            UserInvalidationEvent event = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "Missing invalidations, received " + ids.size());
+            assertTrue(event.userIds().size() <= 100);
+            ids.addAll(event.userIds());
+        }
+
+        // Assert
+        assertEquals(LongStream.rangeClosed(1, 250).boxed().collect(Collectors.toSet()), ids);
+        assertTrue(sender.sent.get() >= 3);
+    }
+
+    @Test
+    public void shouldInvalidateEverythingWhenAMessageIsLost() throws Exception {
+        // Arrange
+        LinkedTransport sender = new LinkedTransport();
+        LinkedTransport receiver = new LinkedTransport();
+        sender.peer = receiver;
+        UserInvalidationBus publisher = bus(sender, "a", 10, 100, 50);
+        bus(receiver, "b", 10, 100, 50);
+        // Let a heartbeat introduce the sender
+        while (sender.sent.get() == 0) {
+            Thread.sleep(10);
+        }
+
+        // Act
+        sender.dropNextLongerThan = sender.lastLength;
+        publisher.invalidate(1L);
+        UserInvalidationEvent event = received.poll(5, TimeUnit.SECONDS);
+
+        // Assert: the next heartbeat reveals the gap
+        assertNotNull(event);
+        assertTrue(event.all());
+    }
+
+    @Test
+    public void shouldInvalidateEverythingWhenASenderFallsSilent() throws Exception {
+        // Arrange
+        LinkedTransport sender = new LinkedTransport();
+        LinkedTransport receiver = new LinkedTransport();
+        sender.peer = receiver;
+        UserInvalidationBus publisher = bus(sender, "a", 10, 100, 50);
+        bus(receiver, "b", 10, 100, 50);
+        publisher.invalidate(1L);
+        assertEquals(Set.of(1L), received.poll(5, TimeUnit.SECONDS).userIds());
+
+        // Act: nothing reaches the receiver any more, not even heartbeats
+        sender.peer = null;
+        UserInvalidationEvent event = received.poll(5, TimeUnit.SECONDS);
+
+        // Assert: once, however long the silence lasts
+        assertNotNull(event);
+        assertTrue(event.all());
+        assertNull(received.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldDropMessagesNotSignedWithTheSharedKey() throws Exception {
+        // Arrange: the sender is introduced, then a forger with another key sends a gap
+        LinkedTransport sender = new LinkedTransport();
+        LinkedTransport forger = new LinkedTransport();
+        LinkedTransport receiver = new LinkedTransport();
+        sender.peer = receiver;
+        forger.peer = receiver;
+        UserInvalidationBus publisher = bus(sender, "a", KEY, 10, 100, 10000);
+        bus(receiver, "b", KEY, 10, 100, 10000);
+        UserInvalidationBus forged = bus(forger, "a", "some-other-invalidation-key", 10, 100, 10000);
+        publisher.invalidate(1L);
+        assertEquals(Set.of(1L), received.poll(5, TimeUnit.SECONDS).userIds());
+
+        // Act
+        for (long id = 2; id <= 5; id++) {
+            forged.invalidate(id);
+            Thread.sleep(20);
+        }
+
+        // Assert
+        assertNull(received.poll(200, TimeUnit.MILLISECONDS));
+        assertTrue(forger.sent.get() > 0);
+    }
+
+    @Test
+    public void shouldApplyInvalidationsOffTheReceiveThread() throws Exception {
+        // Arrange
+        LinkedTransport sender = new LinkedTransport();
+        LinkedTransport receiver = new LinkedTransport();
+        sender.peer = receiver;
+        UserInvalidationBus publisher = bus(sender, "a", 10, 100, 10000);
+        bus(receiver, "b", 10, 100, 10000);
+
+        // Act
+        publisher.invalidate(1L);
+
+        // Assert: the linked transport delivers on the sender's flush thread
+        assertNotNull(received.poll(5, TimeUnit.SECONDS));
+        assertEquals("user-invalidation-apply", applyThreads.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldRejectAShortSharedKey() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new UserInvalidationBus(new LinkedTransport(),
+                event -> { }, "a", "short", 10, 100, 1000));
+    }
+
+    @Test
+    public void shouldIgnoreItsOwnMessages() throws Exception {
+        // Arrange
+        LinkedTransport loopback = new LinkedTransport();
+        loopback.peer = loopback;
+        UserInvalidationBus publisher = bus(loopback, "a", 10, 100, 10000);
+
+        // Act
+        publisher.invalidate(1L);
+
+        // Assert
+        assertNull(received.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, loopback.sent.get());
+    }
+
+    private UserInvalidationBus bus(LinkedTransport transport, String nodeId, long flushIntervalMs,
+                                    int maxBatchSize, long heartbeatIntervalMs) throws Exception {
+        return bus(transport, nodeId, KEY, flushIntervalMs, maxBatchSize, heartbeatIntervalMs);
+    }
+
+    private UserInvalidationBus bus(LinkedTransport transport, String nodeId, String key, long flushIntervalMs,
+                                    int maxBatchSize, long heartbeatIntervalMs) throws Exception {
+        UserInvalidationBus bus = new UserInvalidationBus(transport, event -> {
+            applyThreads.add(Thread.currentThread().getName());
+            received.add((UserInvalidationEvent) event);
+        }, nodeId, key, flushIntervalMs, maxBatchSize, heartbeatIntervalMs);
+        bus.start();
+        buses.add(bus);
+        return bus;
+    }
+
+    /**
+     * Delivers every message straight to the receiver of its peer, optionally dropping the
+     * next message longer than a heartbeat.
+     */
+    private static final class LinkedTransport implements InvalidationTransport {
+
+        private final AtomicInteger sent = new AtomicInteger();
+        private volatile LinkedTransport peer;
+        private volatile Consumer<byte[]> receiver;
+        private volatile int lastLength;
+        private volatile int dropNextLongerThan = Integer.MAX_VALUE;
+
+        @Override
+        public void start(Consumer<byte[]> receiver) {
+            this.receiver = receiver;
+        }
+
+        @Override
+        public void send(byte[] message) {
+            lastLength = message.length;
+            sent.incrementAndGet();
+            if (message.length > dropNextLongerThan) {
+                dropNextLongerThan = Integer.MAX_VALUE;
+                return;
+            }
+            if (peer != null && peer.receiver != null) {
+                peer.receiver.accept(message);
+            }
+        }
+
+        @Override
+        public int maxMessageBytes() {
+            return 1 << 16;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
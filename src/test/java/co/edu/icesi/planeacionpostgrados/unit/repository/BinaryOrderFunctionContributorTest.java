@@ -0,0 +1,41 @@
+package co.edu.icesi.planeacionpostgrados.unit.repository;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import co.edu.icesi.planeacionpostgrados.repository.BinaryOrderFunctionContributor;
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.BasicType;
+import org.junit.jupiter.api.Test;
+
+public class BinaryOrderFunctionContributorTest {
+
+    @Test
+    public void shouldCollateAsCOnPostgreSQL() {
+        // Arrange
+        FunctionContributions contributions = mock(FunctionContributions.class, RETURNS_DEEP_STUBS);
+        when(contributions.getDialect()).thenReturn(new PostgreSQLDialect());
+
+        // Act
+        new BinaryOrderFunctionContributor().contributeFunctions(contributions);
+
+        // Assert
+        verify(contributions.getFunctionRegistry())
+                .registerPattern(eq("binary_order"), eq("(?1 collate \"C\")"), any(BasicType.class));
+    }
+
+    @Test
+    public void shouldKeepTheBareExpressionOnH2() {
+        // Arrange
+        FunctionContributions contributions = mock(FunctionContributions.class, RETURNS_DEEP_STUBS);
+        when(contributions.getDialect()).thenReturn(new H2Dialect());
+
+        // Act
+        new BinaryOrderFunctionContributor().contributeFunctions(contributions);
+
+        // Assert
+        verify(contributions.getFunctionRegistry()).registerPattern(eq("binary_order"), eq("(?1)"), any(BasicType.class));
+    }
+}
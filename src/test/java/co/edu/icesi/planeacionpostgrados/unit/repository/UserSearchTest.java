@@ -0,0 +1,58 @@
+package co.edu.icesi.planeacionpostgrados.unit.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+@SpringBootTest
+public class UserSearchTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<User> saved;
+
+    @BeforeEach
+    public void setUp() {
+        saved = userRepository.saveAll(List.of(
+                User.builder().name("Descuento 100%_Real").documentId("LIKE1").build(),
+                User.builder().name("Descuento 1000 Real").documentId("LIKE2").build(),
+                User.builder().name("Ana_Maria Like").documentId("LIKE3").build(),
+                User.builder().name("AnaXMaria Like").documentId("LIKE4").build(),
+                User.builder().name("Ruta C:\\Like").documentId("LIKE5").build()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userRepository.deleteAll(saved);
+    }
+
+    @Test
+    public void shouldMatchWildcardsInTheNameLiterally() {
+        // Act
+        List<String> percent = names("0%_r");
+        List<String> underscore = names("A_M");
+        List<String> backslash = names("c:\\l");
+
+        // Assert
+        assertEquals(List.of("Descuento 100%_Real"), percent);
+        assertEquals(List.of("Ana_Maria Like"), underscore);
+        assertEquals(List.of("Ruta C:\\Like"), backslash);
+    }
+
+    private List<String> names(String nameContains) {
+        return userRepository.search(UserRepository.escapeLike(nameContains), null,
+                        PageRequest.of(0, 10, Sort.by("id")))
+                .map(User::getName)
+                .getContent();
+    }
+}
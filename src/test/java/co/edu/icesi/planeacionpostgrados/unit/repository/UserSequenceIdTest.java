@@ -0,0 +1,48 @@
+package co.edu.icesi.planeacionpostgrados.unit.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import co.edu.icesi.planeacionpostgrados.util.SqlRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=co.edu.icesi.planeacionpostgrados.util.SqlRecorder"
+})
+public class UserSequenceIdTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void shouldBatchInsertsAndReserveIdsInBlocks() {
+        // Arrange
+        List<User> users = IntStream.rangeClosed(1, 120)
+                .mapToObj(i -> User.builder().name("Sequence " + i).documentId("SEQ" + i).build())
+                .toList();
+        SqlRecorder.watchCurrentThread();
+
+        // Act
+        List<User> saved = new TransactionTemplate(transactionManager).execute(status -> userRepository.saveAll(users));
+
+        // Assert: one sequence call per 50 IDs and one prepared INSERT for the whole batch
+        Set<Long> ids = saved.stream().map(User::getId).collect(Collectors.toSet());
+        assertEquals(120, ids.size());
+        assertFalse(ids.contains(null));
+        assertEquals(3, SqlRecorder.count("user_id_seq"));
+        assertEquals(1, SqlRecorder.count("insert into"));
+        assertEquals(120, userRepository.findAllById(ids).size());
+    }
+}
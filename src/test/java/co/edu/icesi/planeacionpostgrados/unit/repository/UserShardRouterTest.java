@@ -0,0 +1,96 @@
+package co.edu.icesi.planeacionpostgrados.unit.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.exception.ShardedOperationException;
+import co.edu.icesi.planeacionpostgrados.repository.UserShardRouter;
+import co.edu.icesi.planeacionpostgrados.util.TimeOrderedIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+public class UserShardRouterTest {
+
+    private static final String FOUR_SHARDS = "jdbc:h2:mem:a,jdbc:h2:mem:b,jdbc:h2:mem:c,jdbc:h2:mem:d";
+
+    private final UserShardRouter router = new UserShardRouter(true, FOUR_SHARDS, 4, 5000);
+
+    @AfterEach
+    public void tearDown() {
+        router.shutdown();
+    }
+
+    @Test
+    public void shouldSpreadTimeOrderedIdsEvenlyAcrossShards() {
+        // Arrange
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3);
+        int[] perShard = new int[router.shardCount()];
+
+        // Act
+        for (int i = 0; i < 40_000; i++) {
+            perShard[router.shardOf(generator.nextId())]++;
+        }
+
+        // Assert
+        for (int count : perShard) {
+            assertTrue(count > 9_000 && count < 11_000, "Unbalanced shard: " + count);
+        }
+    }
+
+    @Test
+    public void shouldOnlyMoveUsersToTheNewShardWhenAddingOne() {
+        // Arrange
+        UserShardRouter grown = new UserShardRouter(true, FOUR_SHARDS + ",jdbc:h2:mem:e", 5, 5000);
+        int moved = 0;
+
+        // Act & Assert
+        for (long id = 1; id <= 10_000; id++) {
+            int before = router.shardOf(id);
+            int after = grown.shardOf(id);
+            if (before != after) {
+                assertEquals(4, after);
+                moved++;
+            }
+        }
+        assertTrue(moved > 1_500 && moved < 2_500, "Moved " + moved);
+        grown.shutdown();
+    }
+
+    @Test
+    public void shouldRunEachScatterTaskWithItsShardBound() {
+        // Act
+        List<Integer> bound = router.scatter(shard -> router.currentShard());
+
+        // Assert
+        assertEquals(List.of(0, 1, 2, 3), bound);
+        assertNull(router.currentShard());
+    }
+
+    @Test
+    public void shouldMergeSortedRunsWithSkipAndLimit() {
+        // Arrange
+        List<List<Long>> runs = List.of(List.of(1L, 4L, 9L), List.of(), List.of(2L, 3L, 10L), List.of(5L));
+
+        // Act
+        List<Long> all = UserShardRouter.mergeOrdered(runs, Comparator.naturalOrder(), 0, Integer.MAX_VALUE);
+        List<Long> page = UserShardRouter.mergeOrdered(runs, Comparator.naturalOrder(), 2, 3);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 9L, 10L), all);
+        assertEquals(List.of(3L, 4L, 5L), page);
+    }
+
+    @Test
+    public void shouldIgnoreShardsWhenShardingIsDisabled() {
+        // Arrange
+        UserShardRouter single = new UserShardRouter(false, FOUR_SHARDS, 4, 5000);
+
+        // Act & Assert
+        assertFalse(single.isSharded());
+        assertEquals(0, single.shardOf(123_456L));
+        assertDoesNotThrow(() -> single.bindToTransaction(0));
+        assertDoesNotThrow(() -> single.requireSingleShard("Reconciliation"));
+        assertThrows(ShardedOperationException.class, () -> router.requireSingleShard("Reconciliation"));
+    }
+}
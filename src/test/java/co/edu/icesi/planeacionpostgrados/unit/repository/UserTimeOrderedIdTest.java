@@ -0,0 +1,53 @@
+package co.edu.icesi.planeacionpostgrados.unit.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import co.edu.icesi.planeacionpostgrados.util.SqlRecorder;
+import co.edu.icesi.planeacionpostgrados.util.TimeOrderedIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.user.id.mode=time-ordered",
+        "spring.jpa.properties.user.id.node=5",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=co.edu.icesi.planeacionpostgrados.util.SqlRecorder"
+})
+public class UserTimeOrderedIdTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void shouldIssueIncreasingIdsOfTheConfiguredNodeWithoutTheSequence() {
+        // Arrange
+        List<User> users = IntStream.rangeClosed(1, 20)
+                .mapToObj(i -> User.builder().name("Ordered " + i).documentId("ORD" + i).build())
+                .toList();
+        SqlRecorder.watchCurrentThread();
+
+        // Act
+        List<User> saved = new TransactionTemplate(transactionManager).execute(status -> userRepository.saveAll(users));
+
+        // Assert
+        assertEquals(0, SqlRecorder.count("user_id_seq"));
+        assertEquals(1, SqlRecorder.count("insert into"));
+        for (int i = 0; i < saved.size(); i++) {
+            long id = saved.get(i).getId();
+            assertEquals(5, (id >>> 12) & TimeOrderedIdGenerator.MAX_NODE_ID);
+            if (i > 0) {
+                assertTrue(id > saved.get(i - 1).getId());
+            }
+            assertTrue(userRepository.existsById(id));
+        }
+    }
+}
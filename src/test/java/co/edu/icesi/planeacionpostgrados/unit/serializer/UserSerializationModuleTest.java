@@ -0,0 +1,79 @@
+package co.edu.icesi.planeacionpostgrados.unit.serializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static co.edu.icesi.planeacionpostgrados.util.UserUtil.user;
+import co.edu.icesi.planeacionpostgrados.dto.LoginOutDTO;
+import co.edu.icesi.planeacionpostgrados.dto.RestResponse;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserPageDTO;
+import co.edu.icesi.planeacionpostgrados.serializer.UserSerializationModule;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class UserSerializationModuleTest {
+
+    private final ObjectMapper reflective = new ObjectMapper();
+    private final ObjectMapper handWritten = new ObjectMapper().registerModule(new UserSerializationModule());
+
+    @Test
+    public void shouldWriteUserListsLikeTheReflectiveSerializer() throws JsonProcessingException {
+        // Arrange
+        List<UserDTO> users = new ArrayList<>();
+        users.add(user(1L, "Ana María Pérez", "123"));
+        users.add(user(null, "Quote \" and \\ backslash\n", "\u0001"));
+        users.add(null);
+        RestResponse<List<UserDTO>> response = RestResponse.success("Users retrieved successfully", users);
+
+        // Act & Assert
+        assertSameJson(response);
+    }
+
+    @Test
+    public void shouldWriteSingleUsersAndErrorsLikeTheReflectiveSerializer() throws JsonProcessingException {
+        assertSameJson(RestResponse.success("User retrieved successfully", user(7L, "Luis", "DOC7")));
+        assertSameJson(RestResponse.error("Validation errors", List.of("name: must not be null", "documentId: size")));
+        assertSameJson(RestResponse.success("User deleted successfully"));
+        assertSameJson(new RestResponse<>(true, null, null, null));
+    }
+
+    @Test
+    public void shouldWriteLoginResponsesLikeTheReflectiveSerializer() throws JsonProcessingException {
+        // Arrange
+        LoginOutDTO login = LoginOutDTO.builder()
+                .userId(42L)
+                .userUsername("apérez")
+                .userName("Ana")
+                .userDocumentId("123")
+                .accessToken("token")
+                .tokenType("Bearer")
+                .build();
+
+        // Act & Assert
+        assertSameJson(RestResponse.success("Login successful", login));
+        assertSameJson(login);
+    }
+
+    @Test
+    public void shouldFallBackToTheMapperForOtherPayloads() throws JsonProcessingException {
+        // Arrange
+        UserPageDTO page = UserPageDTO.builder()
+                .users(List.of(user(1L, "Ana", "1"), user(2L, "Luis", "2")))
+                .page(0)
+                .size(2)
+                .totalElements(10)
+                .build();
+
+        // Act & Assert
+        assertSameJson(RestResponse.success("Users found", page));
+        assertSameJson(RestResponse.success("Ids", Arrays.asList(1L, null, 3L)));
+    }
+
+    private void assertSameJson(Object value) throws JsonProcessingException {
+        assertEquals(reflective.writeValueAsString(value), handWritten.writeValueAsString(value));
+    }
+}
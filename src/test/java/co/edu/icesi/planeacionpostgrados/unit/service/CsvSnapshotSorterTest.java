@@ -0,0 +1,65 @@
+package co.edu.icesi.planeacionpostgrados.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.service.CsvSnapshotSorter;
+import co.edu.icesi.planeacionpostgrados.service.CsvSnapshotSorter.SnapshotRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class CsvSnapshotSorterTest {
+
+    private static final Comparator<SnapshotRow> BY_DOCUMENT_ID = Comparator.comparing(SnapshotRow::documentId);
+
+    @Test
+    public void shouldMergeSpilledRunsInOrder() throws Exception {
+        // Arrange: 3 rows per chunk, so 10 rows are spilled into several runs
+        List<SnapshotRow> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(new SnapshotRow(i % 2 == 0 ? null : (long) i, "Name, \"" + i + "\"", String.format("DOC%02d", i % 7), i + 2));
+        }
+        Collections.shuffle(rows, new Random(42));
+
+        // Act
+        List<SnapshotRow> sorted;
+        try (CsvSnapshotSorter sorter = new CsvSnapshotSorter(BY_DOCUMENT_ID, 3)) {
+            sorted = drain(sorter.sort(rows.iterator()));
+        }
+
+        // Assert: every row survives the run files unchanged, duplicated keys included
+        assertEquals(rows.size(), sorted.size());
+        assertTrue(sorted.containsAll(rows));
+        for (int i = 1; i < sorted.size(); i++) {
+            assertTrue(BY_DOCUMENT_ID.compare(sorted.get(i - 1), sorted.get(i)) <= 0, "Out of order at " + i);
+        }
+    }
+
+    @Test
+    public void shouldSortASingleChunkInMemory() throws Exception {
+        // Arrange
+        List<SnapshotRow> rows = List.of(
+                new SnapshotRow(3L, "C", "DOC3", 2),
+                new SnapshotRow(1L, "A", "DOC1", 3),
+                new SnapshotRow(2L, "B", "DOC2", 4));
+
+        // Act
+        List<SnapshotRow> sorted;
+        try (CsvSnapshotSorter sorter = new CsvSnapshotSorter(BY_DOCUMENT_ID, 100)) {
+            sorted = drain(sorter.sort(rows.iterator()));
+        }
+
+        // Assert
+        assertEquals(List.of(rows.get(1), rows.get(2), rows.get(0)), sorted);
+    }
+
+    private static List<SnapshotRow> drain(Iterator<SnapshotRow> rows) {
+        List<SnapshotRow> drained = new ArrayList<>();
+        rows.forEachRemaining(drained::add);
+        return drained;
+    }
+}
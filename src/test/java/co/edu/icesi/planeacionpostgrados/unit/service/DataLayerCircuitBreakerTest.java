@@ -0,0 +1,100 @@
+package co.edu.icesi.planeacionpostgrados.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.enums.CircuitState;
+import co.edu.icesi.planeacionpostgrados.exception.DataLayerUnavailableException;
+import co.edu.icesi.planeacionpostgrados.exception.UserNotFoundException;
+import co.edu.icesi.planeacionpostgrados.service.DataLayerCircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DataLayerCircuitBreakerTest {
+
+    @Test
+    public void shouldOpenWhenFailureRateReachesThreshold() {
+        // Arrange
+        DataLayerCircuitBreaker breaker = new DataLayerCircuitBreaker(10, 4, 50, 100, 60000, 60000, 1);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        breaker.execute(() -> "ok");
+        breaker.execute(() -> "ok");
+        recordFailure(breaker);
+        recordFailure(breaker);
+
+        // Assert
+        assertEquals(CircuitState.OPEN, breaker.state());
+        assertThrows(DataLayerUnavailableException.class, () -> breaker.execute(calls::incrementAndGet));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void shouldNotCountBusinessExceptionsAsFailures() {
+        // Arrange
+        DataLayerCircuitBreaker breaker = new DataLayerCircuitBreaker(10, 2, 50, 100, 60000, 60000, 1);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThrows(UserNotFoundException.class, () -> breaker.execute(() -> {
+                throw new UserNotFoundException(1L);
+            }));
+        }
+
+        // Assert
+        assertEquals(CircuitState.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void shouldOpenWhenCallsAreSlow() {
+        // Arrange
+        DataLayerCircuitBreaker breaker = new DataLayerCircuitBreaker(10, 2, 100, 50, 0, 60000, 1);
+
+        // Act
+        breaker.execute(() -> "slow");
+        breaker.execute(() -> "slow");
+
+        // Assert
+        assertEquals(CircuitState.OPEN, breaker.state());
+    }
+
+    @Test
+    public void shouldCloseAfterSuccessfulTrialCalls() throws InterruptedException {
+        // Arrange
+        DataLayerCircuitBreaker breaker = new DataLayerCircuitBreaker(10, 2, 50, 100, 60000, 20, 2);
+        recordFailure(breaker);
+        recordFailure(breaker);
+        Thread.sleep(40);
+
+        // Act
+        assertEquals(CircuitState.HALF_OPEN, breaker.state());
+        breaker.execute(() -> "ok");
+        breaker.execute(() -> "ok");
+
+        // Assert
+        assertEquals(CircuitState.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void shouldReopenWhenTrialCallFails() throws InterruptedException {
+        // Arrange
+        DataLayerCircuitBreaker breaker = new DataLayerCircuitBreaker(10, 2, 50, 100, 60000, 20, 2);
+        recordFailure(breaker);
+        recordFailure(breaker);
+        Thread.sleep(40);
+
+        // Act
+        recordFailure(breaker);
+
+        // Assert
+        assertEquals(CircuitState.OPEN, breaker.state());
+        assertThrows(DataLayerUnavailableException.class, () -> breaker.execute(() -> "ok"));
+    }
+
+    private static void recordFailure(DataLayerCircuitBreaker breaker) {
+        assertThrows(QueryTimeoutException.class, () -> breaker.execute(() -> {
+            throw new QueryTimeoutException("timeout");
+        }));
+    }
+}
@@ -0,0 +1,118 @@
+package co.edu.icesi.planeacionpostgrados.unit.service;
+
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.dto.DuplicateClusterDTO;
+import co.edu.icesi.planeacionpostgrados.dto.DuplicateReportDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.enums.JobStatus;
+import co.edu.icesi.planeacionpostgrados.mapper.UserMapper;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import co.edu.icesi.planeacionpostgrados.repository.UserShardRouter;
+import co.edu.icesi.planeacionpostgrados.service.DuplicateDetectionServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class DuplicateDetectionServiceTest {
+
+    private static final List<UserDTO> USERS = List.of(
+            new UserDTO(1L, "José Pérez Gómez", "1.234.567"),
+            new UserDTO(2L, "Jose Perez-Gomez", "01234567"),
+            new UserDTO(3L, "Maria Lopez", "987654"),
+            new UserDTO(4L, "Carlos Ruiz", "555111"),
+            new UserDTO(5L, "MARIA  LÓPEZ", "987-654"),
+            new UserDTO(6L, "Ana Torres", "222333"));
+
+    private UserRepository userRepository;
+    private DuplicateDetectionServiceImpl duplicateDetectionService;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository = mock(UserRepository.class);
+        UserMapper userMapper = mock(UserMapper.class);
+        Map<Long, UserDTO> byId = USERS.stream().collect(Collectors.toMap(UserDTO::id, Function.identity()));
+
+        when(userRepository.count()).thenReturn((long) USERS.size());
+        when(userRepository.streamAllOrderedById()).thenAnswer(invocation -> USERS.stream());
+        when(userRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<User> users = new ArrayList<>();
+            for (Object id : (Iterable<?>) invocation.getArgument(0)) {
+                UserDTO user = byId.get((Long) id);
+                users.add(User.builder().id(user.id()).name(user.name()).documentId(user.documentId()).build());
+            }
+            return users;
+        });
+        when(userMapper.toDTO(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            return new UserDTO(user.getId(), user.getName(), user.getDocumentId());
+        });
+
+        duplicateDetectionService = new DuplicateDetectionServiceImpl(userRepository, userMapper,
+                mock(PlatformTransactionManager.class), new UserShardRouter(false, "", 1, 5000), 4, 4, 500, 0.9, 0.3, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        duplicateDetectionService.shutdown();
+    }
+
+    @Test
+    public void shouldGroupUsersWithDifferentSpellingAndDocumentFormat() throws Exception {
+        // Act
+        duplicateDetectionService.startDetection();
+        DuplicateReportDTO report = awaitCompletion();
+
+        // Assert
+        assertEquals(JobStatus.COMPLETED, report.status());
+        assertEquals(USERS.size(), report.usersScanned());
+        assertEquals(2, report.totalClusters());
+        Set<Set<Long>> clusters = report.clusters().stream()
+                .map(DuplicateClusterDTO::users)
+                .map(users -> users.stream().map(UserDTO::id).collect(Collectors.toSet()))
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(Set.of(1L, 2L), Set.of(3L, 5L)), clusters);
+        assertTrue(report.clusters().stream().allMatch(DuplicateClusterDTO::sameDocument));
+    }
+
+    @Test
+    public void shouldOnlyScanTheCountedUsers() throws Exception {
+        // Arrange: two users were created between the count and the stream
+        when(userRepository.count()).thenReturn((long) USERS.size() - 2);
+
+        // Act
+        duplicateDetectionService.startDetection();
+        DuplicateReportDTO report = awaitCompletion();
+
+        // Assert
+        assertEquals(JobStatus.COMPLETED, report.status());
+        assertEquals(USERS.size() - 2, report.usersScanned());
+    }
+
+    @Test
+    public void shouldRejectInvalidPageSize() {
+        assertThrows(IllegalArgumentException.class, () -> duplicateDetectionService.getReport(0, 0));
+    }
+
+    private DuplicateReportDTO awaitCompletion() throws InterruptedException {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            DuplicateReportDTO report = duplicateDetectionService.getReport(0, 20);
+            if (report.status() != JobStatus.RUNNING) {
+                return report;
+            }
+            Thread.sleep(10);
+        }
+        fail("Duplicate detection did not finish in time");
+        return null;
+    }
+}
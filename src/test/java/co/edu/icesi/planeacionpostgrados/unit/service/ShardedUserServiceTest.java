@@ -0,0 +1,138 @@
+package co.edu.icesi.planeacionpostgrados.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserPageDTO;
+import co.edu.icesi.planeacionpostgrados.exception.UserNotFoundException;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import co.edu.icesi.planeacionpostgrados.repository.UserShardRouter;
+import co.edu.icesi.planeacionpostgrados.service.UserService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Users sharded across three in-memory H2 databases.
+ */
+@SpringBootTest(properties = {
+        "user.sharding.enabled=true",
+        "user.sharding.urls=jdbc:h2:mem:users-shard0;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:users-shard1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:users-shard2;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.user.id.mode=time-ordered",
+        "spring.jpa.open-in-view=false",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ShardedUserServiceTest {
+
+    private static final int USERS = 60;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserShardRouter userShardRouter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final List<UserDTO> created = new ArrayList<>();
+
+    @BeforeAll
+    public void seedUsers() {
+        for (int i = 0; i < USERS; i++) {
+            created.add(userService.createUser(UserDTO.builder()
+                    .name(i % 2 == 0 ? "Sharded Even " + i : "Sharded Odd " + i)
+                    .documentId(String.format("SHARD%04d", i))
+                    .build()));
+        }
+    }
+
+    @Test
+    public void shouldStoreEachUserOnlyOnItsShard() {
+        // Arrange
+        List<Long> stored = new ArrayList<>();
+
+        // Act & Assert
+        for (int shard = 0; shard < userShardRouter.shardCount(); shard++) {
+            List<Long> ids = userShardRouter.onShard(shard, () -> userRepository.findAll().stream()
+                    .filter(user -> user.getDocumentId().startsWith("SHARD"))
+                    .map(User::getId)
+                    .toList());
+            assertFalse(ids.isEmpty(), "Shard " + shard + " holds no users");
+            for (Long id : ids) {
+                assertEquals(shard, userShardRouter.shardOf(id));
+            }
+            stored.addAll(ids);
+        }
+        assertEquals(sortedById(created).stream().map(UserDTO::id).toList(), stored.stream().sorted().toList());
+    }
+
+    @Test
+    public void shouldReadUpdateAndDeleteThroughTheUsersShard() {
+        // Arrange
+        UserDTO user = userService.createUser(UserDTO.builder().name("Point Lookup").documentId("POINT0001").build());
+
+        // Act
+        UserDTO read = userService.getUserById(user.id());
+        UserDTO updated = userService.updateUser(user.id(), UserDTO.builder().name("Point Renamed").documentId("POINT0001").build());
+        userService.deleteUser(user.id());
+
+        // Assert
+        assertEquals(user, read);
+        assertEquals("Point Renamed", updated.name());
+        assertThrows(UserNotFoundException.class, () -> userService.getUserById(user.id()));
+    }
+
+    @Test
+    public void shouldMergeAllShardsByIdWhenListing() {
+        // Act
+        List<UserDTO> users = userService.getAllUsers().stream()
+                .filter(user -> user.documentId().startsWith("SHARD"))
+                .toList();
+
+        // Assert
+        assertEquals(sortedById(created), users);
+    }
+
+    @Test
+    public void shouldPageThroughTheMergeOfAllShards() {
+        // Arrange
+        List<UserDTO> expected = sortedById(created).stream()
+                .filter(user -> user.name().startsWith("Sharded Even"))
+                .toList();
+
+        // Act
+        UserPageDTO page = userService.searchUsers("sharded even", null, 2, 7);
+
+        // Assert
+        assertEquals(expected.size(), page.totalElements());
+        assertEquals(expected.subList(14, 21), page.users());
+    }
+
+    @Test
+    public void shouldAnswerConflictForWholeTableJobs() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/users/duplicate-report"))
+                .andExpect(status().isConflict());
+    }
+
+    private static List<UserDTO> sortedById(List<UserDTO> users) {
+        return users.stream().sorted(Comparator.comparing(UserDTO::id)).toList();
+    }
+}
@@ -0,0 +1,216 @@
+package co.edu.icesi.planeacionpostgrados.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static co.edu.icesi.planeacionpostgrados.util.UserUtil.user;
+import co.edu.icesi.planeacionpostgrados.dto.AuditEntryDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.enums.AuditOutcome;
+import co.edu.icesi.planeacionpostgrados.enums.UserChangeType;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeEvent;
+import co.edu.icesi.planeacionpostgrados.service.UserAuditJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class UserAuditJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private UserAuditJournal journal;
+
+    @AfterEach
+    public void tearDown() {
+        if (journal != null) {
+            journal.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReadBackBeforeAndAfterImages() {
+        // Arrange
+        journal = open(1 << 20);
+        UserDTO before = user(7, "Ana Pérez", "123");
+        UserDTO after = user(7, "Ana María Pérez", "123");
+
+        // Act
+        journal.onUserChange(UserChangeEvent.created(before));
+        journal.onUserChange(UserChangeEvent.updated(7L, before, after));
+        journal.onUserChange(UserChangeEvent.deleted(7L, after));
+        List<AuditEntryDTO> entries = journal.scan(null, null, 7L, 10);
+
+        // Assert
+        assertEquals(3, entries.size());
+        assertEquals(List.of(1L, 2L, 3L), entries.stream().map(AuditEntryDTO::sequence).collect(Collectors.toList()));
+        assertEquals(UserChangeType.CREATED, entries.get(0).type());
+        assertNull(entries.get(0).before());
+        assertEquals(before, entries.get(1).before());
+        assertEquals(after, entries.get(1).after());
+        assertEquals(after, entries.get(2).before());
+        assertNull(entries.get(2).after());
+    }
+
+    @Test
+    public void shouldRollOverSegmentsAndScanAcrossThem() throws IOException {
+        // Arrange
+        journal = open(4096);
+
+        // Act
+        for (long id = 1; id <= 200; id++) {
+            journal.onUserChange(UserChangeEvent.created(user(id, "User " + id, "DOC" + id)));
+        }
+        List<AuditEntryDTO> entries = journal.scan(null, null, 150L, 10);
+
+        // Assert
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() > 1);
+        }
+        assertEquals(1, entries.size());
+        assertEquals(150L, entries.get(0).sequence());
+        assertEquals("User 150", entries.get(0).after().name());
+        assertEquals(200, journal.scan(null, null, null, 1000).size());
+    }
+
+    @Test
+    public void shouldFilterByTimeRange() {
+        // Arrange
+        journal = open(4096);
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < 100; i++) {
+            UserDTO user = user(i, "User " + i, "DOC" + i);
+            journal.append(new UserChangeEvent(UserChangeType.CREATED, (long) i, null, user, start.plusSeconds(i)));
+        }
+
+        // Act
+        List<AuditEntryDTO> entries = journal.scan(start.plusSeconds(40), start.plusSeconds(44), null, 100);
+
+        // Assert
+        assertEquals(List.of(41L, 42L, 43L, 44L, 45L), entries.stream().map(AuditEntryDTO::sequence).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldContinueAfterLastIntactEntryWhenReopened() throws IOException {
+        // Arrange
+        journal = open(1 << 16);
+        journal.onUserChange(UserChangeEvent.created(user(1, "Ana", "1")));
+        journal.onUserChange(UserChangeEvent.created(user(2, "Luis", "2")));
+        journal.shutdown();
+        // Simulate a torn write after the last entry
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long end = endOfEntries(channel);
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 64, 1, 2, 3, 4, 5}), end);
+        }
+
+        // Act
+        journal = open(1 << 16);
+        journal.onUserChange(UserChangeEvent.created(user(3, "Eva", "3")));
+        List<AuditEntryDTO> entries = journal.scan(null, null, null, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), entries.stream().map(AuditEntryDTO::sequence).collect(Collectors.toList()));
+        assertEquals("Eva", entries.get(2).after().name());
+    }
+
+    @Test
+    public void shouldShareSyncsBetweenConcurrentWriters() throws Exception {
+        // Arrange
+        journal = open(1 << 20);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> writes = new ArrayList<>();
+
+        // Act
+        for (long id = 1; id <= 400; id++) {
+            long userId = id;
+            writes.add(executor.submit(() -> journal.onUserChange(UserChangeEvent.created(user(userId, "User " + userId, "DOC" + userId)))));
+        }
+        for (Future<?> write : writes) {
+            write.get();
+        }
+        executor.shutdown();
+
+        // Assert: every writer returned only after its entry was synced
+        List<AuditEntryDTO> entries = journal.scan(null, null, null, 1000);
+        assertEquals(400, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(i + 1, entries.get(i).sequence());
+        }
+    }
+
+    @Test
+    public void shouldReportTheOutcomeOfTheWritingTransaction() {
+        // Arrange
+        journal = open(1 << 20);
+        List<TransactionSynchronization> committed = journalInTransaction(user(1, "Ana", "1"));
+        List<TransactionSynchronization> rolledBack = journalInTransaction(user(2, "Luis", "2"));
+        journalInTransaction(user(3, "Eva", "3"));
+
+        // Act: the first two transactions end after all three changes were journaled
+        committed.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        rolledBack.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        List<AuditEntryDTO> entries = journal.scan(null, null, null, 10);
+        List<AuditEntryDTO> first = journal.scan(null, null, null, 1);
+
+        // Assert: markers are not returned as entries, and a limited scan reads on for them
+        assertEquals(List.of(1L, 2L, 3L), entries.stream().map(AuditEntryDTO::sequence).collect(Collectors.toList()));
+        assertEquals(List.of(AuditOutcome.COMMITTED, AuditOutcome.ABORTED, AuditOutcome.PENDING),
+                entries.stream().map(AuditEntryDTO::outcome).collect(Collectors.toList()));
+        assertEquals(AuditOutcome.COMMITTED, first.get(0).outcome());
+    }
+
+    /**
+     * Journals a change the way the BEFORE_COMMIT listener does inside a transaction.
+     *
+     * @return Synchronizations the journal registered for the end of the transaction
+     */
+    private List<TransactionSynchronization> journalInTransaction(UserDTO user) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            journal.onUserChange(UserChangeEvent.created(user));
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private UserAuditJournal open(int segmentSize) {
+        return new UserAuditJournal(directory, segmentSize, 200, true, 5000);
+    }
+
+    /**
+     * Walks the entry lengths of a segment the same way the journal does.
+     */
+    private static long endOfEntries(FileChannel channel) throws IOException {
+        long position = 24;
+        ByteBuffer length = ByteBuffer.allocate(4);
+        while (true) {
+            length.clear();
+            channel.read(length, position);
+            int payload = length.getInt(0);
+            if (payload == 0) {
+                return position;
+            }
+            position += 8 + payload;
+        }
+    }
+}
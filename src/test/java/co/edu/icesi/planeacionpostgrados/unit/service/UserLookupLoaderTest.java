@@ -0,0 +1,149 @@
+package co.edu.icesi.planeacionpostgrados.unit.service;
+
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import co.edu.icesi.planeacionpostgrados.repository.UserShardRouter;
+import co.edu.icesi.planeacionpostgrados.service.UserLookupLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class UserLookupLoaderTest {
+
+    private UserRepository userRepository;
+    private UserLookupLoader userLookupLoader;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository = mock(UserRepository.class);
+        // A generous window so every concurrent lookup lands in the same batch
+        userLookupLoader = new UserLookupLoader(userRepository, new UserShardRouter(false, "", 1, 5000), 50_000, 100, 2, 5000);
+        when(userRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<User> users = new ArrayList<>();
+            for (Object id : (Iterable<?>) invocation.getArgument(0)) {
+                if ((Long) id < 100) {
+                    users.add(User.builder().id((Long) id).name("User " + id).documentId("DOC" + id).build());
+                }
+            }
+            return users;
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userLookupLoader.shutdown();
+    }
+
+    @Test
+    public void shouldCoalesceConcurrentLookupsIntoOneQuery() throws Exception {
+        // Arrange
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<User>>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            long id = 1 + i % 4;
+            results.add(executor.submit(() -> {
+                start.await();
+                return userLookupLoader.load(id);
+            }));
+        }
+
+        // Act
+        start.countDown();
+
+        // Assert
+        for (int i = 0; i < callers; i++) {
+            assertEquals(1 + i % 4, results.get(i).get().orElseThrow().getId());
+        }
+        verify(userRepository, times(1)).findAllById(anyIterable());
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldSkipUnknownIdsWhenLoadingMany() {
+        // Act
+        Map<Long, User> users = userLookupLoader.loadAll(List.of(3L, 500L, 1L, 3L));
+
+        // Assert
+        assertEquals(List.of(3L, 1L), new ArrayList<>(users.keySet()));
+        verify(userRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    public void shouldResolveTheIdsOfOneCallerWithOneQueryEvenWithoutAWindow() {
+        // Arrange: the window closes as soon as the first ID is queued, and the caller is slow
+        // to hand over the rest
+        UserLookupLoader immediateLoader = new UserLookupLoader(userRepository, new UserShardRouter(false, "", 1, 5000), 0, 100, 2, 5000);
+        List<Long> ids = new AbstractList<>() {
+            @Override
+            public Long get(int index) {
+                if (index > 0) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+                }
+                return index + 1L;
+            }
+
+            @Override
+            public int size() {
+                return 20;
+            }
+        };
+
+        try {
+            // Act
+            Map<Long, User> users = immediateLoader.loadAll(ids);
+
+            // Assert
+            assertEquals(new ArrayList<>(ids), new ArrayList<>(users.keySet()));
+            verify(userRepository, times(1)).findAllById(anyIterable());
+        } finally {
+            immediateLoader.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldResolveFullBatchesOnTheLoaderThreads() {
+        // Arrange: batches of 2, so loading 4 IDs fills two of them before any window closes
+        UserLookupLoader smallBatchLoader = new UserLookupLoader(userRepository, new UserShardRouter(false, "", 1, 5000), 50_000, 2, 2, 5000);
+        Set<String> queryThreads = ConcurrentHashMap.newKeySet();
+        when(userRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            queryThreads.add(Thread.currentThread().getName());
+            return List.of();
+        });
+
+        try {
+            // Act
+            smallBatchLoader.loadAll(List.of(1L, 2L, 3L, 4L));
+
+            // Assert
+            verify(userRepository, times(2)).findAllById(anyIterable());
+            assertFalse(queryThreads.contains(Thread.currentThread().getName()));
+            assertTrue(queryThreads.stream().allMatch(name -> name.startsWith("user-lookup-loader")));
+        } finally {
+            smallBatchLoader.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReturnEmptyWhenUserDoesNotExist() {
+        assertTrue(userLookupLoader.load(999L).isEmpty());
+    }
+}
@@ -0,0 +1,96 @@
+package co.edu.icesi.planeacionpostgrados.unit.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.enums.OutboxStatus;
+import co.edu.icesi.planeacionpostgrados.enums.UserChangeType;
+import co.edu.icesi.planeacionpostgrados.model.OutboxMessage;
+import co.edu.icesi.planeacionpostgrados.repository.OutboxMessageRepository;
+import co.edu.icesi.planeacionpostgrados.repository.UserShardRouter;
+import co.edu.icesi.planeacionpostgrados.service.UserNotificationDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest
+public class UserNotificationClaimTest {
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private UserShardRouter userShardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void tearDown() {
+        outboxMessageRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldSendEachMessageOnceWhenTwoInstancesPoll() throws Exception {
+        // Arrange: the first instance stalls inside the SMTP call while the second one polls
+        for (int i = 1; i <= 3; i++) {
+            outboxMessageRepository.save(message("Welcome " + i));
+        }
+        AtomicInteger sent = new AtomicInteger();
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JavaMailSender stalledSender = mock(JavaMailSender.class);
+        doAnswer(invocation -> {
+            sent.addAndGet(invocation.getArguments().length);
+            sending.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return null;
+        }).when(stalledSender).send(any(SimpleMailMessage[].class));
+        JavaMailSender otherSender = mock(JavaMailSender.class);
+        doAnswer(invocation -> sent.addAndGet(invocation.getArguments().length))
+                .when(otherSender).send(any(SimpleMailMessage[].class));
+
+        // Act
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> dispatcher(stalledSender).dispatchBatch());
+        assertTrue(sending.await(10, TimeUnit.SECONDS));
+        int second = dispatcher(otherSender).dispatchBatch();
+        release.countDown();
+
+        // Assert
+        assertEquals(3, first.get(10, TimeUnit.SECONDS));
+        assertEquals(0, second);
+        assertEquals(3, sent.get());
+        assertTrue(outboxMessageRepository.findAll().stream()
+                .allMatch(message -> message.getStatus() == OutboxStatus.SENT));
+    }
+
+    private UserNotificationDispatcher dispatcher(JavaMailSender mailSender) {
+        return new UserNotificationDispatcher(outboxMessageRepository, mailSender, userShardRouter, transactionManager,
+                "noreply@icesi.edu.co", 10, 3, 1000, 60000, 60000, 30000);
+    }
+
+    private static OutboxMessage message(String subject) {
+        Instant now = Instant.now();
+        return OutboxMessage.builder()
+                .changeType(UserChangeType.CREATED)
+                .userId(1L)
+                .recipient("hr@icesi.edu.co")
+                .subject(subject)
+                .body(subject + ", your account is ready.")
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,190 @@
+package co.edu.icesi.planeacionpostgrados.unit.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.enums.OutboxStatus;
+import co.edu.icesi.planeacionpostgrados.enums.UserChangeType;
+import co.edu.icesi.planeacionpostgrados.model.OutboxMessage;
+import co.edu.icesi.planeacionpostgrados.repository.OutboxMessageRepository;
+import co.edu.icesi.planeacionpostgrados.repository.UserShardRouter;
+import co.edu.icesi.planeacionpostgrados.service.UserNotificationDispatcher;
+import co.edu.icesi.planeacionpostgrados.util.LocalSmtpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+public class UserNotificationDispatcherTest {
+
+    private LocalSmtpServer smtpServer;
+    private OutboxMessageRepository outboxMessageRepository;
+    private PlatformTransactionManager transactionManager;
+    private JavaMailSenderImpl mailSender;
+    private UserNotificationDispatcher dispatcher;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        smtpServer = new LocalSmtpServer();
+        outboxMessageRepository = mock(OutboxMessageRepository.class);
+        when(outboxMessageRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.getPort());
+
+        dispatcher = dispatcher(30000);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        dispatcher.shutdown();
+        smtpServer.close();
+    }
+
+    @Test
+    public void shouldSendWholeBatchOverSingleConnection() {
+        // Arrange
+        List<OutboxMessage> batch = List.of(message(1L, "Welcome, Ana"), message(2L, "Welcome, Luis"), message(3L, "Welcome, Eva"));
+        when(outboxMessageRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(OutboxStatus.PENDING), any(), any()))
+                .thenReturn(batch);
+
+        // Act
+        int dispatched = dispatcher.dispatchBatch();
+
+        // Assert
+        assertEquals(3, dispatched);
+        assertEquals(3, smtpServer.getReceivedMessages().size());
+        assertEquals(1, smtpServer.getConnectionCount());
+        batch.forEach(message -> {
+            assertEquals(OutboxStatus.SENT, message.getStatus());
+            assertEquals(1, message.getAttempts());
+            assertNotNull(message.getSentAt());
+        });
+        verify(outboxMessageRepository, times(2)).saveAll(batch);
+    }
+
+    @Test
+    public void shouldKeepTheConnectionOpenAcrossPolls() {
+        // Arrange
+        when(outboxMessageRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(OutboxStatus.PENDING), any(), any()))
+                .thenReturn(List.of(message(1L, "Welcome, Ana")))
+                .thenReturn(List.of(message(2L, "Welcome, Luis")))
+                .thenReturn(List.of());
+
+        // Act
+        dispatcher.dispatchPending();
+        dispatcher.dispatchPending();
+
+        // Assert
+        assertEquals(2, smtpServer.getReceivedMessages().size());
+        assertEquals(1, smtpServer.getConnectionCount());
+    }
+
+    @Test
+    public void shouldCloseTheConnectionOnceIdle() throws Exception {
+        // Arrange
+        dispatcher.shutdown();
+        dispatcher = dispatcher(0);
+        when(outboxMessageRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(OutboxStatus.PENDING), any(), any()))
+                .thenReturn(List.of(message(1L, "Welcome, Ana")))
+                .thenReturn(List.of(message(2L, "Welcome, Luis")))
+                .thenReturn(List.of());
+
+        // Act
+        dispatcher.dispatchPending();
+        Thread.sleep(5);
+        dispatcher.dispatchPending();
+
+        // Assert
+        assertEquals(2, smtpServer.getReceivedMessages().size());
+        assertEquals(2, smtpServer.getConnectionCount());
+    }
+
+    @Test
+    public void shouldRejectOneMessageWithoutDroppingTheConnection() {
+        // Arrange
+        smtpServer.rejectMessagesContaining("Luis");
+        List<OutboxMessage> batch = List.of(message(1L, "Welcome, Ana"), message(2L, "Welcome, Luis"), message(3L, "Welcome, Eva"));
+        when(outboxMessageRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(OutboxStatus.PENDING), any(), any()))
+                .thenReturn(batch);
+
+        // Act
+        dispatcher.dispatchBatch();
+
+        // Assert
+        assertEquals(OutboxStatus.SENT, batch.get(0).getStatus());
+        assertEquals(OutboxStatus.PENDING, batch.get(1).getStatus());
+        assertEquals(OutboxStatus.SENT, batch.get(2).getStatus());
+        assertEquals(1, smtpServer.getConnectionCount());
+    }
+
+    @Test
+    public void shouldRetryWithBackoffWhenMessageIsRejected() {
+        // Arrange
+        smtpServer.rejectMessagesContaining("Luis");
+        OutboxMessage accepted = message(1L, "Welcome, Ana");
+        OutboxMessage rejected = message(2L, "Welcome, Luis");
+        when(outboxMessageRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(OutboxStatus.PENDING), any(), any()))
+                .thenReturn(List.of(accepted, rejected));
+        Instant before = Instant.now();
+
+        // Act
+        dispatcher.dispatchBatch();
+
+        // Assert
+        assertEquals(OutboxStatus.SENT, accepted.getStatus());
+        assertEquals(OutboxStatus.PENDING, rejected.getStatus());
+        assertEquals(1, rejected.getAttempts());
+        assertNotNull(rejected.getLastError());
+        assertTrue(rejected.getNextAttemptAt().isAfter(before.plusMillis(500)));
+        assertEquals(1, smtpServer.getReceivedMessages().size());
+    }
+
+    @Test
+    public void shouldMarkMessageFailedAfterMaxAttempts() {
+        // Arrange
+        smtpServer.rejectMessagesContaining("Luis");
+        OutboxMessage rejected = message(2L, "Welcome, Luis");
+        rejected.setAttempts(2);
+        when(outboxMessageRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(OutboxStatus.PENDING), any(), any()))
+                .thenReturn(List.of(rejected));
+
+        // Act
+        dispatcher.dispatchBatch();
+
+        // Assert
+        assertEquals(OutboxStatus.FAILED, rejected.getStatus());
+        assertEquals(3, rejected.getAttempts());
+    }
+
+    private UserNotificationDispatcher dispatcher(long smtpIdleTimeoutMs) {
+        return new UserNotificationDispatcher(outboxMessageRepository, mailSender,
+                new UserShardRouter(false, "", 1, 5000), transactionManager,
+                "noreply@icesi.edu.co", 10, 3, 1000, 60000, 60000, smtpIdleTimeoutMs);
+    }
+
+    private OutboxMessage message(Long id, String subject) {
+        Instant now = Instant.now();
+        return OutboxMessage.builder()
+                .id(id)
+                .changeType(UserChangeType.CREATED)
+                .userId(id)
+                .recipient("hr@icesi.edu.co")
+                .subject(subject)
+                .body(subject + ", your account is ready.")
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package co.edu.icesi.planeacionpostgrados.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import co.edu.icesi.planeacionpostgrados.model.OutboxMessage;
+import co.edu.icesi.planeacionpostgrados.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+@SpringBootTest(properties = {
+        "user.notifications.enabled=true",
+        "user.notifications.poll-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+public class UserNotificationOutboxTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @AfterEach
+    public void tearDown() {
+        outboxMessageRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldCreateAUserWhoseNameFillsTheColumn() throws Exception {
+        // Arrange
+        String name = "N".repeat(255);
+
+        // Act
+        mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"documentId\":\"LONGNAME1\"}"))
+                .andExpect(status().isCreated());
+
+        // Assert
+        List<OutboxMessage> messages = outboxMessageRepository.findAll();
+        assertEquals(1, messages.size());
+        assertEquals(255, messages.get(0).getSubject().length());
+        assertTrue(messages.get(0).getSubject().startsWith("Welcome, NNN"));
+        assertTrue(messages.get(0).getBody().contains(name));
+    }
+}
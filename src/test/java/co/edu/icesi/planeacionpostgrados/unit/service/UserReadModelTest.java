@@ -0,0 +1,150 @@
+package co.edu.icesi.planeacionpostgrados.unit.service;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static co.edu.icesi.planeacionpostgrados.util.UserUtil.user;
+import co.edu.icesi.planeacionpostgrados.dto.ReadModelStatsDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserPageDTO;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeEvent;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import co.edu.icesi.planeacionpostgrados.service.UserReadModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class UserReadModelTest {
+
+    private UserRepository userRepository;
+    private PlatformTransactionManager transactionManager;
+    private UserReadModel userReadModel;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository = mock(UserRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        userReadModel = new UserReadModel(userRepository, transactionManager, true);
+
+        List<UserDTO> users = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            users.add(user(id, id % 2 == 0 ? "Ana Pérez" : "Luis Gómez " + id, "DOC" + id));
+        }
+        when(userRepository.count()).thenReturn((long) users.size());
+        when(userRepository.streamAllOrderedById()).thenReturn(users.stream());
+    }
+
+    @Test
+    public void shouldServeAllUsersOrderedByIdAfterLoad() {
+        // Arrange
+        assertFalse(userReadModel.isReady());
+
+        // Act
+        userReadModel.load();
+        List<UserDTO> result = userReadModel.findAll();
+
+        // Assert
+        assertTrue(userReadModel.isReady());
+        assertEquals(10, result.size());
+        assertEquals(user(2, "Ana Pérez", "DOC2"), result.get(1));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L),
+                result.stream().map(UserDTO::id).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldLoadWithTheFullScanTimeoutInsteadOfTheDefault() {
+        // Act
+        userReadModel.load();
+
+        // Assert: TIMEOUT_DEFAULT would inherit spring.transaction.default-timeout
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertEquals(UserRepository.FULL_SCAN_TIMEOUT_SECONDS, definition.getValue().getTimeout());
+        assertTrue(definition.getValue().isReadOnly());
+        verify(userRepository).extendStatementTimeout();
+    }
+
+    @Test
+    public void shouldStoreRepeatedNamesOnce() {
+        // Act
+        userReadModel.load();
+        ReadModelStatsDTO stats = userReadModel.stats();
+
+        // Assert: five "Ana Pérez", five distinct "Luis Gómez n" and ten document IDs
+        assertEquals(10, stats.users());
+        assertEquals(16, stats.distinctStrings());
+        assertTrue(stats.bytesPerUser() > 0);
+    }
+
+    @Test
+    public void shouldApplyCommittedChanges() {
+        // Arrange
+        userReadModel.load();
+
+        // Act
+        userReadModel.onUserChange(UserChangeEvent.updated(2L, user(2, "Ana Pérez", "DOC2"), user(2, "Ana María Pérez", "DOC2")));
+        userReadModel.onUserChange(UserChangeEvent.deleted(3L, user(3, "Luis Gómez 3", "DOC3")));
+        userReadModel.onUserChange(UserChangeEvent.created(user(11, "Nueva Persona", "DOC11")));
+        List<UserDTO> result = userReadModel.findAll();
+
+        // Assert
+        assertEquals(10, result.size());
+        assertEquals("Ana María Pérez", result.get(1).name());
+        assertTrue(result.stream().noneMatch(user -> user.id() == 3L));
+        assertEquals(user(11, "Nueva Persona", "DOC11"), result.get(result.size() - 1));
+    }
+
+    @Test
+    public void shouldFilterAndPaginateByName() {
+        // Arrange
+        userReadModel.load();
+
+        // Act
+        UserPageDTO firstPage = userReadModel.search("ANA pé", null, 0, 2);
+        UserPageDTO lastPage = userReadModel.search("ana pé", null, 2, 2);
+
+        // Assert
+        assertEquals(5, firstPage.totalElements());
+        assertEquals(List.of(2L, 4L), firstPage.users().stream().map(UserDTO::id).collect(Collectors.toList()));
+        assertEquals(List.of(10L), lastPage.users().stream().map(UserDTO::id).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldMatchNamesLiterallyAndNotDocumentIds() {
+        // Arrange
+        userReadModel.load();
+        userReadModel.onUserChange(UserChangeEvent.created(user(11, "Ana_María Doc", "DOC11")));
+        userReadModel.onUserChange(UserChangeEvent.created(user(12, "AnaXMaría Doc", "DOC12")));
+
+        // Act
+        UserPageDTO underscore = userReadModel.search("A_MARÍA", null, 0, 10);
+        UserPageDTO documentOnly = userReadModel.search("doc1", null, 0, 10);
+
+        // Assert
+        assertEquals(List.of(11L), underscore.users().stream().map(UserDTO::id).collect(Collectors.toList()));
+        assertEquals(0, documentOnly.totalElements());
+    }
+
+    @Test
+    public void shouldFilterByExactDocumentId() {
+        // Arrange
+        userReadModel.load();
+
+        // Act
+        UserPageDTO found = userReadModel.search(null, "DOC7", 0, 10);
+        UserPageDTO missing = userReadModel.search(null, "DOC", 0, 10);
+
+        // Assert
+        assertEquals(1, found.totalElements());
+        assertEquals(7L, found.users().get(0).id());
+        assertEquals(0, missing.totalElements());
+        assertTrue(missing.users().isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+package co.edu.icesi.planeacionpostgrados.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.dto.ReconciliationResultDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.enums.ReconciliationKey;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import co.edu.icesi.planeacionpostgrados.service.UserReconciliationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@SpringBootTest
+public class UserReconciliationOrderTest {
+
+    // Orders that differ between a linguistic collation and String.compareTo
+    private static final List<String> DOCUMENT_IDS = List.of("abc", "ABD", "a-b", "a_b", "Zed", "a.c", "A-1", "a b");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserReconciliationService userReconciliationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<User> saved;
+
+    @BeforeEach
+    public void setUp() {
+        saved = userRepository.saveAll(DOCUMENT_IDS.stream()
+                .map(documentId -> User.builder().name("Order " + documentId).documentId(documentId).build())
+                .toList());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userRepository.deleteAll(saved);
+    }
+
+    @Test
+    public void shouldStreamDocumentIdsInTheOrderOfStringCompareTo() {
+        // Act
+        Set<String> ours = Set.copyOf(DOCUMENT_IDS);
+        List<String> streamed = new TransactionTemplate(transactionManager).execute(status -> {
+            try (Stream<UserDTO> users = userRepository.streamAllOrderedByDocumentId()) {
+                return users.map(UserDTO::documentId).filter(ours::contains).collect(Collectors.toList());
+            }
+        });
+
+        // Assert
+        assertEquals(DOCUMENT_IDS.stream().sorted().toList(), streamed);
+    }
+
+    @Test
+    public void shouldReconcileMixedCaseAndPunctuatedDocumentIds() throws Exception {
+        // Arrange: the table itself as the snapshot, in a different order
+        List<User> users = userRepository.findAll();
+        StringBuilder csv = new StringBuilder("id,name,documentId\n");
+        for (int i = users.size() - 1; i >= 0; i--) {
+            csv.append(",\"").append(users.get(i).getName()).append("\",\"").append(users.get(i).getDocumentId()).append("\"\n");
+        }
+
+        // Act
+        ReconciliationResultDTO result = userReconciliationService.reconcile(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), ReconciliationKey.DOCUMENT_ID, true);
+
+        // Assert
+        assertEquals(users.size(), result.unchanged());
+        assertEquals(0, result.inserts() + result.updates() + result.deletes() + result.rejectedRows());
+    }
+}
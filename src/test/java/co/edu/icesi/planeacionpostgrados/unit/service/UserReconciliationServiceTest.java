@@ -0,0 +1,266 @@
+package co.edu.icesi.planeacionpostgrados.unit.service;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.dto.ReconciliationResultDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.enums.ReconciliationKey;
+import co.edu.icesi.planeacionpostgrados.mapper.UserMapper;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import co.edu.icesi.planeacionpostgrados.repository.UserShardRouter;
+import co.edu.icesi.planeacionpostgrados.service.UserReconciliationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class UserReconciliationServiceTest {
+
+    private final Map<Long, User> stored = new HashMap<>();
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+    private final UserShardRouter userShardRouter = new UserShardRouter(false, "", 1, 5000);
+    private UserRepository userRepository;
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        userRepository = mock(UserRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        stored.put(1L, User.builder().id(1L).name("Ana").documentId("A001").build());
+        stored.put(2L, User.builder().id(2L).name("Bob").documentId("A002").build());
+        stored.put(3L, User.builder().id(3L).name("Carl").documentId("A003").build());
+        when(userRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<User> found = new ArrayList<>();
+            for (Long id : (Iterable<Long>) invocation.getArgument(0)) {
+                found.add(stored.get(id));
+            }
+            return found;
+        });
+        when(userRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userShardRouter.shutdown();
+    }
+
+    @Test
+    public void shouldApplyInsertsUpdatesAndDeletesFromTheMerge() throws Exception {
+        // Arrange
+        storedInDocumentIdOrder();
+        String csv = """
+                id,name,documentId
+                ,Dan,A004
+                ,Carla,A003
+                ,Bob,A002
+                """;
+
+        // Act
+        ReconciliationResultDTO result = service(2, 500).reconcile(csv(csv), ReconciliationKey.DOCUMENT_ID, false);
+
+        // Assert
+        assertFalse(result.dryRun());
+        assertEquals(3, result.snapshotRows());
+        assertEquals(3, result.existingUsers());
+        assertEquals(1, result.inserts());
+        assertEquals(1, result.updates());
+        assertEquals(1, result.deletes());
+        assertEquals(1, result.unchanged());
+        verify(userRepository).deleteAllByIdInBatch(List.of(1L));
+        assertEquals("Carla", stored.get(3L).getName());
+        ArgumentCaptor<Iterable<User>> created = ArgumentCaptor.captor();
+        verify(userRepository).saveAll(created.capture());
+        User dan = created.getValue().iterator().next();
+        assertNull(dan.getId());
+        assertEquals("A004", dan.getDocumentId());
+    }
+
+    @Test
+    public void shouldOnlyComputeTheDeltaOnDryRun() throws Exception {
+        // Arrange
+        storedInDocumentIdOrder();
+        String csv = """
+                id,name,documentId
+                ,Bob,A002
+                ,Carla,A003
+                ,Dan,A004
+                """;
+
+        // Act
+        ReconciliationResultDTO result = service(50_000, 500).reconcile(csv(csv), ReconciliationKey.DOCUMENT_ID, true);
+
+        // Assert
+        assertTrue(result.dryRun());
+        assertEquals(1, result.inserts());
+        assertEquals(1, result.updates());
+        assertEquals(1, result.deletes());
+        assertNoWrites();
+        assertEquals("Carl", stored.get(3L).getName());
+    }
+
+    @Test
+    public void shouldStreamTheTableWithTheFullScanTimeoutInsteadOfTheDefault() throws Exception {
+        // Arrange
+        storedInDocumentIdOrder();
+
+        // Act
+        service(50_000, 500).reconcile(csv("id,name,documentId\n,Ana,A001\n"), ReconciliationKey.DOCUMENT_ID, true);
+
+        // Assert: TIMEOUT_DEFAULT would inherit spring.transaction.default-timeout
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertEquals(UserRepository.FULL_SCAN_TIMEOUT_SECONDS, definition.getValue().getTimeout());
+        verify(userRepository).extendStatementTimeout();
+    }
+
+    @Test
+    public void shouldRejectInvalidAndDuplicateRows() throws Exception {
+        // Arrange
+        storedInDocumentIdOrder();
+        String csv = """
+                id,name,documentId
+                ,Ana,A001
+                ,,A002
+                ,Bob,A0000000000000000000000002
+                x,Carl,A003
+                ,Ana Again,A001
+                """;
+
+        // Act
+        ReconciliationResultDTO result = service(50_000, 500).reconcile(csv(csv), ReconciliationKey.DOCUMENT_ID, true);
+
+        // Assert
+        assertEquals(4, result.rejectedRows());
+        assertEquals(1, result.snapshotRows());
+        assertEquals(1, result.unchanged());
+        assertEquals(2, result.keptUsers());
+        assertEquals(0, result.deletes());
+        assertTrue(result.rejections().get(0).startsWith("Line 3: name is required"), result.rejections().toString());
+        assertTrue(result.rejections().get(1).startsWith("Line 4: documentId is required"), result.rejections().toString());
+        assertEquals("Line 5: id 'x' is not a number", result.rejections().get(2));
+        assertEquals("Line 6: duplicate DOCUMENT_ID A001", result.rejections().get(3));
+    }
+
+    @Test
+    public void shouldKeepTheUserOfARejectedRowWhenApplying() throws Exception {
+        // Arrange: Bob's row is rejected for its name, Carl's for its id
+        storedInDocumentIdOrder();
+        String csv = """
+                id,name,documentId
+                ,Ana,A001
+                ,%s,A002
+                x,Carla,A003
+                """.formatted("B".repeat(256));
+
+        // Act
+        ReconciliationResultDTO result = service(1, 500).reconcile(csv(csv), ReconciliationKey.DOCUMENT_ID, false);
+
+        // Assert
+        assertFalse(result.dryRun());
+        assertEquals(2, result.rejectedRows());
+        assertEquals(2, result.keptUsers());
+        assertEquals(0, result.deletes());
+        assertEquals(0, result.updates());
+        verify(userRepository, never()).deleteAllByIdInBatch(any());
+        assertEquals("Carl", stored.get(3L).getName());
+    }
+
+    @Test
+    public void shouldNotApplyWhenARejectedRowHasNoKey() throws Exception {
+        // Arrange: the second row could be anyone's
+        storedInDocumentIdOrder();
+        String csv = """
+                id,name,documentId
+                ,Ana,A001
+                ,Bob,
+                ,Carl,A003
+                """;
+
+        // Act
+        ReconciliationResultDTO result = service(50_000, 500).reconcile(csv(csv), ReconciliationKey.DOCUMENT_ID, false);
+
+        // Assert
+        assertTrue(result.dryRun());
+        assertEquals(1, result.rejectedRows());
+        assertEquals(1, result.deletes());
+        assertNoWrites();
+    }
+
+    @Test
+    public void shouldChangeNothingWhenTheDatabaseOrdersKeysDifferently() {
+        // Arrange: one change per chunk, so a chunk would be applied before the mismatch shows up
+        when(userRepository.streamAllOrderedByDocumentId()).thenReturn(Stream.of(
+                new UserDTO(2L, "Bob", "a002"), new UserDTO(1L, "Ana", "A001"), new UserDTO(3L, "Carl", "A003")));
+        String csv = """
+                id,name,documentId
+                ,Carl,A003
+                """;
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> service(50_000, 1).reconcile(csv(csv), ReconciliationKey.DOCUMENT_ID, false));
+        assertNoWrites();
+    }
+
+    @Test
+    public void shouldMergeASnapshotSortedInSeveralRuns() throws Exception {
+        // Arrange: 2 rows per sort chunk, rows in reverse order
+        List<UserDTO> users = new ArrayList<>();
+        StringBuilder csv = new StringBuilder("id,name,documentId\n");
+        for (long id = 1; id <= 7; id++) {
+            users.add(new UserDTO(id, "User " + id, "DOC" + id));
+        }
+        for (long id = 7; id >= 1; id--) {
+            csv.append(id).append(",User ").append(id).append(",DOC").append(id).append('\n');
+        }
+        when(userRepository.streamAllOrderedById()).thenReturn(users.stream());
+
+        // Act
+        ReconciliationResultDTO result = service(2, 500).reconcile(csv(csv.toString()), ReconciliationKey.ID, false);
+
+        // Assert
+        assertEquals(7, result.snapshotRows());
+        assertEquals(7, result.unchanged());
+        assertEquals(0, result.rejectedRows());
+        assertNoWrites();
+    }
+
+    private UserReconciliationServiceImpl service(int sortChunkSize, int applyChunkSize) {
+        return new UserReconciliationServiceImpl(userRepository, userMapper, mock(ApplicationEventPublisher.class),
+                transactionManager, userShardRouter, sortChunkSize, applyChunkSize, 20);
+    }
+
+    private void storedInDocumentIdOrder() {
+        when(userRepository.streamAllOrderedByDocumentId()).thenReturn(stored.values().stream()
+                .map(userMapper::toDTO)
+                .sorted((first, second) -> first.documentId().compareTo(second.documentId())));
+    }
+
+    private void assertNoWrites() {
+        verify(userRepository, never()).deleteAllByIdInBatch(any());
+        verify(userRepository, never()).findAllById(any());
+        verify(userRepository, never()).saveAll(any());
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -4,19 +4,43 @@ package co.edu.icesi.planeacionpostgrados.unit.service;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.dto.UserPageDTO;
+import co.edu.icesi.planeacionpostgrados.enums.CircuitState;
+import co.edu.icesi.planeacionpostgrados.exception.DataLayerUnavailableException;
 import co.edu.icesi.planeacionpostgrados.exception.UserNotFoundException;
 import co.edu.icesi.planeacionpostgrados.mapper.UserMapper;
 import co.edu.icesi.planeacionpostgrados.model.User;
 import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import co.edu.icesi.planeacionpostgrados.repository.UserShardRouter;
+import co.edu.icesi.planeacionpostgrados.service.DataLayerCircuitBreaker;
+import co.edu.icesi.planeacionpostgrados.service.UserLookupLoader;
+import co.edu.icesi.planeacionpostgrados.service.UserReadModel;
 import co.edu.icesi.planeacionpostgrados.service.UserServiceImpl;
+import co.edu.icesi.planeacionpostgrados.service.UserStaleCache;
+import co.edu.icesi.planeacionpostgrados.service.UserWriteBehindBuffer;
 import co.edu.icesi.planeacionpostgrados.util.UserUtil;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.stream.LongStream;
 
 @ExtendWith(MockitoExtension.class)
 public class UserServiceTest {
@@ -27,6 +51,30 @@ public class UserServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserLookupLoader userLookupLoader;
+
+    @Mock
+    private UserReadModel userReadModel;
+
+    @Spy
+    private DataLayerCircuitBreaker circuitBreaker = new DataLayerCircuitBreaker(50, 10, 50, 80, 1000, 10000, 3);
+
+    @Mock
+    private UserStaleCache userStaleCache;
+
+    @Mock
+    private UserWriteBehindBuffer userWriteBehindBuffer;
+
+    @Mock
+    private UserShardRouter userShardRouter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -41,7 +89,7 @@ public class UserServiceTest {
                 .documentId(user.getDocumentId())
                 .build();
         
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userLookupLoader.load(userId)).thenReturn(Optional.of(user));
         when(userMapper.toDTO(user)).thenReturn(expectedResponse);
 
         // Act
@@ -52,7 +100,7 @@ public class UserServiceTest {
         assertEquals(userId, result.id());
         assertEquals(user.getName(), result.name());
         assertEquals(user.getDocumentId(), result.documentId());
-        verify(userRepository, times(1)).findById(userId);
+        verify(userLookupLoader, times(1)).load(userId);
         verify(userMapper, times(1)).toDTO(user);
     }
 
@@ -60,7 +108,7 @@ public class UserServiceTest {
     public void shouldThrowExceptionWhenUserNotFound() {
         // Arrange
         Long userId = 999L;
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userLookupLoader.load(userId)).thenReturn(Optional.empty());
 
         // Act & Assert
         UserNotFoundException exception = assertThrows(
@@ -69,10 +117,140 @@ public class UserServiceTest {
         );
         
         assertEquals("User with ID " + userId + " not found", exception.getMessage());
-        verify(userRepository, times(1)).findById(userId);
+        verify(userLookupLoader, times(1)).load(userId);
+        verify(userMapper, never()).toDTO(any());
+    }
+
+    @Test
+    public void shouldReturnLastKnownUserWhenDatabaseTimesOut() {
+        // Arrange
+        Long userId = 1L;
+        UserDTO cachedUser = UserDTO.builder().id(userId).name("Ana").documentId("123").build();
+        when(userLookupLoader.load(userId)).thenThrow(new QueryTimeoutException("timeout"));
+        when(userStaleCache.get(userId)).thenReturn(Optional.of(cachedUser));
+
+        // Act
+        UserDTO result = userService.getUserById(userId);
+
+        // Assert
+        assertEquals(cachedUser, result);
         verify(userMapper, never()).toDTO(any());
     }
 
+    @Test
+    public void shouldRethrowWhenDatabaseFailsAndUserWasNeverRead() {
+        // Arrange
+        Long userId = 1L;
+        when(userLookupLoader.load(userId)).thenThrow(new QueryTimeoutException("timeout"));
+        when(userStaleCache.get(userId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(QueryTimeoutException.class, () -> userService.getUserById(userId));
+    }
+
+    @Test
+    public void shouldReturnEachFoundUserOnceWhenLoadingMany() {
+        // Arrange: the loader skips unknown IDs and collapses repeated ones
+        List<Long> ids = List.of(3L, 500L, 1L, 3L);
+        Map<Long, User> found = new LinkedHashMap<>();
+        found.put(3L, user(3L));
+        found.put(1L, user(1L));
+        when(userLookupLoader.loadAll(ids)).thenReturn(found);
+        when(userMapper.toDTO(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            return UserDTO.builder().id(user.getId()).name(user.getName()).documentId(user.getDocumentId()).build();
+        });
+
+        // Act
+        List<UserDTO> result = userService.getUsersByIds(ids);
+
+        // Assert
+        assertEquals(List.of(3L, 1L), result.stream().map(UserDTO::id).toList());
+        verify(userStaleCache).putAll(result);
+    }
+
+    @Test
+    public void shouldRejectMoreThanOneHundredIds() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> userService.getUsersByIds(ids));
+        verify(userLookupLoader, never()).loadAll(any());
+    }
+
+    @Test
+    public void shouldRejectEmptyIds() {
+        // Arrange
+        List<Long> ids = Arrays.asList(1L, null, 2L);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> userService.getUsersByIds(ids));
+        assertEquals("IDs must not be empty", exception.getMessage());
+        verify(userLookupLoader, never()).loadAll(any());
+    }
+
+    @Test
+    public void shouldMergeShardPagesByIdWhenUsersAreSharded() {
+        // Arrange
+        when(userShardRouter.isSharded()).thenReturn(true);
+        when(userShardRouter.scatter(any())).thenAnswer(invocation -> {
+            IntFunction<?> work = invocation.getArgument(0);
+            return List.of(work.apply(0), work.apply(1));
+        });
+        Pageable window = PageRequest.of(0, 4, Sort.by("id"));
+        when(userRepository.search(null, null, window))
+                .thenReturn(new PageImpl<>(List.of(user(1L), user(4L), user(5L)), window, 3))
+                .thenReturn(new PageImpl<>(List.of(user(2L), user(3L), user(6L), user(8L)), window, 6));
+        when(userMapper.toDTO(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            return UserDTO.builder().id(user.getId()).name(user.getName()).documentId(user.getDocumentId()).build();
+        });
+
+        // Act
+        UserPageDTO result = userService.searchUsers(null, null, 1, 2);
+
+        // Assert
+        assertEquals(List.of(3L, 4L), result.users().stream().map(UserDTO::id).toList());
+        assertEquals(9, result.totalElements());
+    }
+
+    @Test
+    public void shouldOpenCircuitWhenWriteCommitsFail() {
+        // Arrange
+        Long userId = 1L;
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user(userId)));
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(any());
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertThrows(TransactionSystemException.class, () -> userService.deleteUser(userId));
+        }
+
+        // Assert
+        assertEquals(CircuitState.OPEN, circuitBreaker.state());
+        assertThrows(DataLayerUnavailableException.class, () -> userService.deleteUser(userId));
+        verify(transactionManager, times(10)).getTransaction(any());
+    }
+
+    @Test
+    public void shouldBufferUpdateWithoutOpeningTransaction() {
+        // Arrange
+        Long userId = 1L;
+        UserDTO previousUser = UserDTO.builder().id(userId).name("Ana").documentId("123").build();
+        UserDTO updatedUser = UserDTO.builder().id(userId).name("Ana Maria").documentId("123").build();
+        when(userWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(userWriteBehindBuffer.get(userId)).thenReturn(Optional.of(previousUser));
+        when(userWriteBehindBuffer.buffer(previousUser, updatedUser)).thenReturn(updatedUser);
+
+        // Act
+        UserDTO result = userService.updateUser(userId, updatedUser);
+
+        // Assert
+        assertEquals(updatedUser, result);
+        verifyNoInteractions(transactionManager, userRepository);
+    }
+
     @Test
     public void testCreateUser() {
         //TODO: Implement when UserService has createUser method
@@ -87,4 +265,8 @@ public class UserServiceTest {
     public void testDeleteUser() {
         //TODO: Implement when UserService has deleteUser method
     }
-}
\ No newline at end of file
+
+    private static User user(Long id) {
+        return User.builder().id(id).name("User " + id).documentId("DOC" + id).build();
+    }
+}
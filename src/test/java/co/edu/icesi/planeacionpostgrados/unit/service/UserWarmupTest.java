@@ -0,0 +1,84 @@
+package co.edu.icesi.planeacionpostgrados.unit.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.dto.WarmupStatsDTO;
+import co.edu.icesi.planeacionpostgrados.mapper.UserMapper;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.service.UserWarmup;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ApplicationContext;
+
+public class UserWarmupTest {
+
+    private UserMapper userMapper;
+
+    @BeforeEach
+    public void setUp() {
+        userMapper = mock(UserMapper.class);
+        when(userMapper.toDTO(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            return UserDTO.builder().id(user.getId()).name(user.getName()).documentId(user.getDocumentId()).build();
+        });
+    }
+
+    @Test
+    public void shouldNotRunWhenDisabled() {
+        // Arrange
+        UserWarmup warmup = warmup(false, 10_000, 10);
+
+        // Act
+        warmup.run(new DefaultApplicationArguments());
+
+        // Assert
+        WarmupStatsDTO stats = warmup.stats();
+        assertFalse(stats.enabled());
+        assertFalse(stats.completed());
+        verifyNoInteractions(userMapper);
+    }
+
+    @Test
+    public void shouldStopAtTimeLimitWhenCompilationNeverSettles() {
+        // Arrange: no round can add less than -1 ms of compilation
+        UserWarmup warmup = warmup(true, 300, -1);
+
+        // Act
+        warmup.run(new DefaultApplicationArguments());
+
+        // Assert
+        WarmupStatsDTO stats = warmup.stats();
+        assertTrue(stats.completed());
+        assertFalse(stats.settled());
+        assertTrue(stats.durationMs() >= 300, "Stopped after " + stats.durationMs() + " ms");
+        assertTrue(stats.rounds() >= 1);
+        // Without a web server only the in-process exercises run
+        assertEquals(0, stats.requests());
+        verify(userMapper, atLeastOnce()).toDTO(any(User.class));
+    }
+
+    @Test
+    public void shouldStopOnceCompilationSettles() {
+        // Arrange: every round counts as quiet
+        UserWarmup warmup = warmup(true, 60_000, Long.MAX_VALUE);
+
+        // Act
+        warmup.run(new DefaultApplicationArguments());
+
+        // Assert
+        WarmupStatsDTO stats = warmup.stats();
+        assertTrue(stats.completed());
+        assertTrue(stats.settled());
+        assertEquals(3, stats.rounds());
+        assertTrue(stats.durationMs() < 60_000);
+    }
+
+    private UserWarmup warmup(boolean enabled, long maxDurationMs, long settleThresholdMs) {
+        return new UserWarmup(userMapper, new ObjectMapper(), mock(ApplicationContext.class), enabled,
+                maxDurationMs, 3, 3, settleThresholdMs, 2, 5, 1000, "/planeacionpostgrados/");
+    }
+}
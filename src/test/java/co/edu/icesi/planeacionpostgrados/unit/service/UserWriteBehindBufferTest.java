@@ -0,0 +1,221 @@
+package co.edu.icesi.planeacionpostgrados.unit.service;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static co.edu.icesi.planeacionpostgrados.util.UserUtil.user;
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
+import co.edu.icesi.planeacionpostgrados.dto.WriteBehindStatsDTO;
+import co.edu.icesi.planeacionpostgrados.event.UserChangeEvent;
+import co.edu.icesi.planeacionpostgrados.mapper.UserMapper;
+import co.edu.icesi.planeacionpostgrados.model.User;
+import co.edu.icesi.planeacionpostgrados.repository.UserRepository;
+import co.edu.icesi.planeacionpostgrados.service.UserWriteBehindBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class UserWriteBehindBufferTest {
+
+    private final Map<Long, User> stored = new HashMap<>();
+    private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private UserMapper userMapper;
+    private PlatformTransactionManager transactionManager;
+    private UserWriteBehindBuffer buffer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        userRepository = mock(UserRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        userMapper = mock(UserMapper.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        for (long id = 1; id <= 3; id++) {
+            stored.put(id, User.builder().id(id).name("User " + id).documentId("DOC" + id).build());
+        }
+        when(userRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<User> found = new ArrayList<>();
+            for (Long id : (Iterable<Long>) invocation.getArgument(0)) {
+                if (stored.containsKey(id)) {
+                    found.add(stored.get(id));
+                }
+            }
+            return found;
+        });
+        doAnswer(invocation -> {
+            UserDTO source = invocation.getArgument(0);
+            User target = invocation.getArgument(1);
+            target.setName(source.name());
+            target.setDocumentId(source.documentId());
+            return null;
+        }).when(userMapper).updateEntityFromDTO(any(), any());
+        when(userMapper.toDTO(any())).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            return user(user.getId(), user.getName(), user.getDocumentId());
+        });
+
+        // Long interval and large batches: flushes only happen when the test asks for them
+        buffer = new UserWriteBehindBuffer(userRepository, userMapper, eventPublisher, transactionManager,
+                true, 4, 100, 60_000, 1000, 5000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        buffer.shutdown();
+    }
+
+    @Test
+    public void shouldWriteOnlyTheLastOfManyUpdates() {
+        // Arrange
+        UserDTO original = user(1L, "User 1", "DOC1");
+        for (int i = 1; i <= 10; i++) {
+            buffer.buffer(original, user(1L, "Name " + i, "DOC1"));
+        }
+        buffer.buffer(user(2L, "User 2", "DOC2"), user(2L, "Other", "DOC2"));
+
+        // Act
+        int written = buffer.flush();
+
+        // Assert
+        assertEquals(2, written);
+        assertEquals("Name 10", stored.get(1L).getName());
+        ArgumentCaptor<UserChangeEvent> events = ArgumentCaptor.forClass(UserChangeEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        UserChangeEvent first = events.getAllValues().stream().filter(event -> event.userId() == 1L).findFirst().orElseThrow();
+        assertEquals(original, first.before());
+        assertEquals("Name 10", first.after().name());
+        WriteBehindStatsDTO stats = buffer.stats();
+        assertEquals(11, stats.receivedUpdates());
+        assertEquals(2, stats.writtenUpdates());
+        assertEquals(5.5, stats.coalescingRatio(), 1e-9);
+        assertFalse(buffer.hasPending());
+    }
+
+    @Test
+    public void shouldServeBufferedValuesToReads() {
+        // Arrange
+        buffer.buffer(user(2L, "User 2", "DOC2"), user(2L, "Buffered", "DOC2"));
+
+        // Act
+        List<UserDTO> users = buffer.overlay(List.of(user(1L, "User 1", "DOC1"), user(2L, "User 2", "DOC2")));
+
+        // Assert
+        assertEquals("Buffered", buffer.get(2L).orElseThrow().name());
+        assertTrue(buffer.get(1L).isEmpty());
+        assertEquals(List.of(user(1L, "User 1", "DOC1"), user(2L, "Buffered", "DOC2")), users);
+    }
+
+    @Test
+    public void shouldKeepUpdatesBufferedWhenTheDatabaseFails() {
+        // Arrange
+        buffer.buffer(user(1L, "User 1", "DOC1"), user(1L, "Changed", "DOC1"));
+        when(userRepository.saveAll(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act & Assert
+        assertThrows(DataAccessResourceFailureException.class, () -> buffer.flush());
+        assertTrue(buffer.hasPending());
+        assertEquals("Changed", buffer.get(1L).orElseThrow().name());
+    }
+
+    @Test
+    public void shouldDropOnlyTheUpdatesTheDatabaseRejects() {
+        // Arrange
+        buffer.buffer(user(1L, "User 1", "DOC1"), user(1L, "Changed", "DOC1"));
+        buffer.buffer(user(2L, "User 2", "DOC2"), user(2L, "Duplicate", "DOC1"));
+        when(userRepository.saveAll(any())).thenAnswer(invocation -> {
+            for (Object user : (Iterable<?>) invocation.getArgument(0)) {
+                if (((User) user).getId() == 2L) {
+                    throw new DataIntegrityViolationException("duplicate documentId");
+                }
+            }
+            return invocation.getArgument(0);
+        });
+
+        // Act
+        int written = buffer.flush();
+
+        // Assert
+        assertEquals(1, written);
+        assertEquals(1, buffer.stats().failedUpdates());
+        assertFalse(buffer.hasPending());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldFlushAFullBufferInItsOwnTransactionOnTheFlusherThread() {
+        // Arrange
+        UserWriteBehindBuffer full = new UserWriteBehindBuffer(userRepository, userMapper, eventPublisher,
+                transactionManager, true, 4, 100, 60_000, 2, 5000);
+        List<String> flushThreads = new ArrayList<>();
+        when(userRepository.saveAll(any())).thenAnswer(invocation -> {
+            flushThreads.add(Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
+        full.buffer(user(1L, "User 1", "DOC1"), user(1L, "First", "DOC1"));
+        full.buffer(user(2L, "User 2", "DOC2"), user(2L, "Second", "DOC2"));
+
+        try {
+            // Act
+            full.buffer(user(3L, "User 3", "DOC3"), user(3L, "Third", "DOC3"));
+
+            // Assert
+            assertEquals("First", stored.get(1L).getName());
+            assertEquals("Second", stored.get(2L).getName());
+            assertEquals(List.of("user-write-behind"), flushThreads);
+            ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+            verify(transactionManager).getTransaction(definition.capture());
+            assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+            assertEquals("Third", full.get(3L).orElseThrow().name());
+            assertEquals(1, full.stats().bufferedUsers());
+        } finally {
+            full.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldFailTheUpdateAndKeepTheBufferWhenTheBackpressureFlushFails() {
+        // Arrange
+        UserWriteBehindBuffer full = new UserWriteBehindBuffer(userRepository, userMapper, eventPublisher,
+                transactionManager, true, 4, 100, 60_000, 1, 5000);
+        full.buffer(user(1L, "User 1", "DOC1"), user(1L, "Changed", "DOC1"));
+        when(userRepository.saveAll(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        try {
+            // Act & Assert
+            assertThrows(DataAccessResourceFailureException.class,
+                    () -> full.buffer(user(2L, "User 2", "DOC2"), user(2L, "Rejected", "DOC2")));
+            assertEquals("Changed", full.get(1L).orElseThrow().name());
+            assertTrue(full.get(2L).isEmpty());
+        } finally {
+            reset(userRepository);
+            full.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldDrainTheBufferOnShutdown() {
+        // Arrange
+        buffer.buffer(user(3L, "User 3", "DOC3"), user(3L, "Before shutdown", "DOC3"));
+
+        // Act
+        buffer.shutdown();
+
+        // Assert
+        assertEquals("Before shutdown", stored.get(3L).getName());
+        assertFalse(buffer.hasPending());
+    }
+}
@@ -0,0 +1,79 @@
+package co.edu.icesi.planeacionpostgrados.unit.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.enums.TimingPhase;
+import co.edu.icesi.planeacionpostgrados.util.RequestTimings;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class RequestTimingsTest {
+
+    @Test
+    public void shouldAttributeNestedTimeToInnermostPhase() {
+        // Arrange
+        RequestTimings timings = RequestTimings.current();
+
+        // Act
+        timings.start(TimingPhase.SECURITY);
+        timings.switchTo(TimingPhase.CONTROLLER);
+        timings.enter(TimingPhase.SERVICE);
+        timings.enter(TimingPhase.SQL);
+        sleepMillis(20);
+        timings.exit();
+        timings.exit();
+        timings.switchTo(TimingPhase.SERIALIZATION);
+        long total = timings.finish();
+
+        // Assert
+        assertTrue(timings.nanos(TimingPhase.SQL) >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(timings.nanos(TimingPhase.SERVICE) < TimeUnit.MILLISECONDS.toNanos(20));
+        long sum = 0;
+        for (TimingPhase phase : TimingPhase.values()) {
+            sum += timings.nanos(phase);
+        }
+        assertEquals(total, sum);
+    }
+
+    @Test
+    public void shouldIgnoreCallsOutsideARequest() {
+        // Arrange
+        RequestTimings timings = RequestTimings.current();
+        timings.start(TimingPhase.SECURITY);
+        timings.finish();
+
+        // Act
+        timings.enter(TimingPhase.SQL);
+        timings.exit();
+
+        // Assert
+        assertFalse(timings.isActive());
+        assertEquals(0, timings.nanos(TimingPhase.SQL));
+    }
+
+    @Test
+    public void shouldFormatServerTimingInMilliseconds() {
+        // Arrange
+        RequestTimings timings = RequestTimings.current();
+        timings.start(TimingPhase.SECURITY);
+        timings.enter(TimingPhase.MAPPER);
+        sleepMillis(5);
+        timings.exit();
+        timings.finish();
+
+        // Act
+        String header = timings.appendServerTiming(new StringBuilder()).toString();
+
+        // Assert
+        assertTrue(header.matches("(security;dur=\\d+\\.\\d{3}, )?mapper;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}"), header);
+        assertFalse(header.contains("sql"));
+    }
+
+    private static void sleepMillis(long millis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(deadline - System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package co.edu.icesi.planeacionpostgrados.unit.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import co.edu.icesi.planeacionpostgrados.util.TimeOrderedIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class TimeOrderedIdGeneratorTest {
+
+    @Test
+    public void shouldGenerateStrictlyIncreasingIds() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7);
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    public void shouldNotCollideAcrossNodes() {
+        TimeOrderedIdGenerator first = new TimeOrderedIdGenerator(1);
+        TimeOrderedIdGenerator second = new TimeOrderedIdGenerator(2);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(ids.add(first.nextId()));
+            assertTrue(ids.add(second.nextId()));
+        }
+        assertEquals(1, (first.nextId() >>> 12) & TimeOrderedIdGenerator.MAX_NODE_ID);
+        assertEquals(2, (second.nextId() >>> 12) & TimeOrderedIdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    public void shouldRejectNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE_ID + 1));
+    }
+}
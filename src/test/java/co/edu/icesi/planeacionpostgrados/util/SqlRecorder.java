@@ -0,0 +1,38 @@
+package co.edu.icesi.planeacionpostgrados.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the SQL Hibernate prepares on the thread a test is watching.
+ *
+ * Registered through hibernate.session_factory.statement_inspector, so Hibernate creates
+ * the instance and the recording is static.
+ */
+public class SqlRecorder implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    private static volatile Thread watched;
+
+    @Override
+    public String inspect(String sql) {
+        if (Thread.currentThread() == watched) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Clears the recording and starts watching the calling thread.
+     */
+    public static void watchCurrentThread() {
+        STATEMENTS.clear();
+        watched = Thread.currentThread();
+    }
+
+    public static long count(String fragment) {
+        return STATEMENTS.stream().filter(sql -> sql.toLowerCase().contains(fragment)).count();
+    }
+}
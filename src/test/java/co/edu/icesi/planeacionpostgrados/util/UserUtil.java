@@ -1,5 +1,6 @@
 package co.edu.icesi.planeacionpostgrados.util;
 
+import co.edu.icesi.planeacionpostgrados.dto.UserDTO;
 import co.edu.icesi.planeacionpostgrados.model.User;
 
 public class UserUtil {
@@ -10,4 +11,8 @@ public class UserUtil {
                 .documentId("123456789")
                 .build();
     }
+
+    public static UserDTO user(long id, String name, String documentId) {
+        return UserDTO.builder().id(id).name(name).documentId(documentId).build();
+    }
 }